@@ -0,0 +1,334 @@
+package com.kunal.billingSoftware.analytics;
+
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Revenue and quantity sold per hour x item x category x payment method, and orders per hour x payment method.
+ * <p>
+ * Item and category ids are dictionary encoded to ints. Each hour with sales is one block of parallel primitive
+ * arrays (one entry per item, category and payment method combination sold in that hour) with an open
+ * addressing index over them, plus per payment method totals so unfiltered period queries never look at the
+ * cells. Hours are the local date-times orders are stored with, so there are no time zone or DST gaps.
+ * <p>
+ * Writers take a write lock for the length of one order; queries share a read lock.
+ */
+public class SalesCube {
+
+    private static final int PAYMENT_METHODS = PaymentMethod.values().length;
+    private static final int ANY = -1;
+    // A filter on an id the cube has never seen: matches no cell
+    private static final int NONE = -2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Keyed by hours since 1970-01-01T00:00
+    private final TreeMap<Long, HourBlock> hours = new TreeMap<>();
+    private final Dictionary items = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    // Category each item was last sold under, by item ordinal
+    private int[] itemCategories = new int[64];
+
+    /** One order line. {@code categoryId} is null for items no longer in the catalog. */
+    public record Line(String itemId, String name, String categoryId, String categoryName, double revenue, long quantity) {
+    }
+
+    /** {@code orders} is null when the totals are filtered by category, which orders are not tracked by. */
+    public record PeriodTotal(LocalDateTime start, double revenue, long quantity, Long orders) {
+    }
+
+    public record ItemTotal(String itemId, String name, String categoryId, String categoryName, double revenue, long quantity) {
+    }
+
+    /**
+     * Adds an order with {@code sign} 1, or takes a previously added one back out with -1.
+     */
+    public void add(LocalDateTime createdAt, PaymentMethod paymentMethod, List<Line> lines, int sign) {
+        long hour = hourOf(createdAt);
+        int method = paymentMethod.ordinal();
+        lock.writeLock().lock();
+        try {
+            HourBlock block = hours.computeIfAbsent(hour, key -> new HourBlock());
+            block.orders[method] += sign;
+            for (Line line : lines) {
+                int item = items.ordinal(line.itemId(), line.name());
+                int category = categories.ordinal(line.categoryId(), line.categoryName());
+                if (item == itemCategories.length) {
+                    itemCategories = Arrays.copyOf(itemCategories, item * 2);
+                }
+                itemCategories[item] = category;
+                block.add(item, category, method, sign * line.revenue(), sign * line.quantity());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Totals per period over the hours in [from, to), oldest first, including periods without sales. The first
+     * period starts at or before {@code from}; it only counts sales from {@code from} on. Null filters match all.
+     */
+    public List<PeriodTotal> totals(SalesPeriod period, LocalDateTime from, LocalDateTime to,
+                                    String categoryId, PaymentMethod paymentMethod) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start = periodStart(from, period); start.isBefore(to); start = nextPeriod(start, period)) {
+            starts.add(start);
+        }
+        double[] revenue = new double[starts.size()];
+        long[] quantity = new long[starts.size()];
+        long[] orders = new long[starts.size()];
+        int method = paymentMethod == null ? ANY : paymentMethod.ordinal();
+
+        lock.readLock().lock();
+        int category;
+        try {
+            category = categoryFilter(categoryId);
+            int index = 0;
+            for (Map.Entry<Long, HourBlock> entry : range(from, to).entrySet()) {
+                LocalDateTime time = timeOf(entry.getKey());
+                while (index + 1 < starts.size() && !time.isBefore(starts.get(index + 1))) {
+                    index++;
+                }
+                HourBlock block = entry.getValue();
+                if (category == ANY) {
+                    for (int m = 0; m < PAYMENT_METHODS; m++) {
+                        if (method == ANY || method == m) {
+                            revenue[index] += block.methodRevenue[m];
+                            quantity[index] += block.methodQuantity[m];
+                            orders[index] += block.orders[m];
+                        }
+                    }
+                } else {
+                    for (int cell = 0; cell < block.size; cell++) {
+                        if (block.matches(cell, category, method)) {
+                            revenue[index] += block.revenue[cell];
+                            quantity[index] += block.quantity[cell];
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<PeriodTotal> totals = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            totals.add(new PeriodTotal(starts.get(i), revenue[i], quantity[i], category == ANY ? orders[i] : null));
+        }
+        return totals;
+    }
+
+    /**
+     * The {@code limit} items with the highest revenue or quantity sold in [from, to). Null filters match all.
+     */
+    public List<ItemTotal> topItems(LocalDateTime from, LocalDateTime to, int limit, SalesMetric metric,
+                                    String categoryId, PaymentMethod paymentMethod) {
+        int method = paymentMethod == null ? ANY : paymentMethod.ordinal();
+
+        lock.readLock().lock();
+        try {
+            int category = categoryFilter(categoryId);
+            double[] revenue = new double[items.size()];
+            long[] quantity = new long[items.size()];
+            for (HourBlock block : range(from, to).values()) {
+                for (int cell = 0; cell < block.size; cell++) {
+                    if (block.matches(cell, category, method)) {
+                        revenue[block.items[cell]] += block.revenue[cell];
+                        quantity[block.items[cell]] += block.quantity[cell];
+                    }
+                }
+            }
+
+            Comparator<Integer> byMetric = metric == SalesMetric.QUANTITY
+                    ? Comparator.comparingLong(item -> quantity[item])
+                    : Comparator.comparingDouble(item -> revenue[item]);
+            return IntStream.range(0, revenue.length)
+                    .filter(item -> quantity[item] > 0)
+                    .boxed()
+                    .sorted(byMetric.reversed())
+                    .limit(limit)
+                    .map(item -> new ItemTotal(
+                            items.key(item),
+                            items.name(item),
+                            categories.key(itemCategories[item]),
+                            categories.name(itemCategories[item]),
+                            revenue[item],
+                            quantity[item]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<Long, HourBlock> range(LocalDateTime from, LocalDateTime to) {
+        return hours.subMap(hourOf(from), true, hourOf(to), false);
+    }
+
+    private int categoryFilter(String categoryId) {
+        if (categoryId == null) {
+            return ANY;
+        }
+        int ordinal = categories.find(categoryId);
+        return ordinal < 0 ? NONE : ordinal;
+    }
+
+    static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    static LocalDateTime timeOf(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    static LocalDateTime periodStart(LocalDateTime time, SalesPeriod period) {
+        return switch (period) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+
+    private static LocalDateTime nextPeriod(LocalDateTime start, SalesPeriod period) {
+        return switch (period) {
+            case HOUR -> start.plusHours(1);
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    private static final class HourBlock {
+        final long[] orders = new long[PAYMENT_METHODS];
+        final double[] methodRevenue = new double[PAYMENT_METHODS];
+        final long[] methodQuantity = new long[PAYMENT_METHODS];
+
+        int size;
+        int[] items = new int[8];
+        int[] categories = new int[8];
+        byte[] methods = new byte[8];
+        double[] revenue = new double[8];
+        long[] quantity = new long[8];
+        // Cell index + 1 per slot, 0 for an empty slot; kept at most half full
+        int[] slots = new int[16];
+
+        void add(int item, int category, int method, double revenue, long quantity) {
+            int cell = cell(item, category, method);
+            this.revenue[cell] += revenue;
+            this.quantity[cell] += quantity;
+            methodRevenue[method] += revenue;
+            methodQuantity[method] += quantity;
+        }
+
+        boolean matches(int cell, int category, int method) {
+            return (category == ANY || categories[cell] == category) && (method == ANY || methods[cell] == method);
+        }
+
+        private int cell(int item, int category, int method) {
+            int mask = slots.length - 1;
+            for (int slot = hash(item, category, method) & mask; ; slot = (slot + 1) & mask) {
+                int cell = slots[slot] - 1;
+                if (cell < 0) {
+                    return append(slot, item, category, method);
+                }
+                if (items[cell] == item && categories[cell] == category && methods[cell] == method) {
+                    return cell;
+                }
+            }
+        }
+
+        private int append(int slot, int item, int category, int method) {
+            if (size == items.length) {
+                int capacity = size * 2;
+                items = Arrays.copyOf(items, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                methods = Arrays.copyOf(methods, capacity);
+                revenue = Arrays.copyOf(revenue, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+            }
+            int cell = size++;
+            items[cell] = item;
+            categories[cell] = category;
+            methods[cell] = (byte) method;
+            slots[slot] = cell + 1;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return cell;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int cell = 0; cell < size; cell++) {
+                int slot = hash(items[cell], categories[cell], methods[cell]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = cell + 1;
+            }
+        }
+
+        private static int hash(int item, int category, int method) {
+            int hash = item * 0x9E3779B9 + category * 0x85EBCA6B + method;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private String[] keys = new String[64];
+        private String[] names = new String[64];
+
+        int ordinal(String key, String name) {
+            Integer ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                ordinal = ordinals.size();
+                if (ordinal == keys.length) {
+                    keys = Arrays.copyOf(keys, ordinal * 2);
+                    names = Arrays.copyOf(names, ordinal * 2);
+                }
+                keys[ordinal] = key;
+                ordinals.put(key, ordinal);
+            }
+            if (name != null) {
+                // Latest name wins, e.g. after an item is renamed
+                names[ordinal] = name;
+            }
+            return ordinal;
+        }
+
+        int find(String key) {
+            Integer ordinal = ordinals.get(key);
+            return ordinal == null ? -1 : ordinal;
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        String key(int ordinal) {
+            return keys[ordinal];
+        }
+
+        String name(int ordinal) {
+            return names[ordinal];
+        }
+    }
+}
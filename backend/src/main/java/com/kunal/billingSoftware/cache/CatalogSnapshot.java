@@ -0,0 +1,13 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.ItemResponse;
+
+import java.util.List;
+
+/**
+ * Immutable view of the item catalog: the responses, the exact JSON bytes served by GET /items, a strong
+ * ETag derived from those bytes and the items indexed by id for pricing. {@code version} only orders
+ * snapshots built by this instance.
+ */
+public record CatalogSnapshot(long version, List<ItemResponse> items, byte[] json, String etag, PriceIndex prices) {
+}
@@ -0,0 +1,71 @@
+package com.kunal.billingSoftware.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.ItemResponse;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. Reads are a single volatile load; writers call
+ * {@link #rebuild(Supplier)} after their change is committed.
+ * <p>
+ * Every rebuild takes a version before it loads the catalog, and a snapshot is only installed if it is
+ * newer than the current one. A slow rebuild that started before a later write can therefore never
+ * replace the snapshot that includes that write.
+ */
+@Component
+public class CatalogSnapshotCache {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    public CatalogSnapshotCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CatalogSnapshot get(Supplier<List<ItemResponse>> loader) {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : rebuild(loader);
+    }
+
+    public CatalogSnapshot rebuild(Supplier<List<ItemResponse>> loader) {
+        long version = versions.incrementAndGet();
+        List<ItemResponse> items = List.copyOf(loader.get());
+        byte[] json = serialize(items);
+        CatalogSnapshot built = new CatalogSnapshot(version, items, json, etagOf(json), PriceIndex.of(version, items));
+
+        return current.accumulateAndGet(built,
+                (installed, candidate) -> installed == null || candidate.version() > installed.version() ? candidate : installed);
+    }
+
+    public void clear() {
+        current.set(null);
+    }
+
+    private byte[] serialize(List<ItemResponse> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the item catalog", ex);
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // Content based, so every node serving the same catalog hands out the same ETag
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
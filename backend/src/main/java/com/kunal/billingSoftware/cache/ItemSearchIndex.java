@@ -0,0 +1,500 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.ItemResponse;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over item name, description and category name.
+ * <p>
+ * Text is folded to lower case without accents and split into words. Each word of the query is matched against
+ * the indexed words exactly, as a prefix (so results follow the user while typing) or, from three characters on,
+ * fuzzily through shared trigrams plus an edit distance check. An item must match every query word; its score
+ * is the sum of the best match per query word, weighted by the field it matched in.
+ * <p>
+ * Items are numbered internally and postings are int arrays, so scoring a query only touches primitive arrays.
+ * The index is loaded once from the catalog and then kept current with {@link #put(ItemResponse)} and
+ * {@link #remove(String)} as items are added and deleted.
+ */
+@Component
+public class ItemSearchIndex {
+
+    // Field bits are stored in the low bits of each posting entry, the document number above them
+    private static final int NAME = 4;
+    private static final int CATEGORY = 2;
+    private static final int DESCRIPTION = 1;
+    private static final int FIELD_BITS = 3;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.75f;
+    private static final float FUZZY_MATCH = 0.5f;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_QUERY_WORDS = 8;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ItemResponse[] documents = new ItemResponse[1024];
+    private String[][] documentWords = new String[1024][];
+    private final Map<String, Integer> documentByItemId = new HashMap<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+    private int documentCount;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    // trigram -> words containing it, used to find candidates for fuzzy matching
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Loads the index from the catalog the first time it is needed. Writes that race with the load wait for it,
+     * so an item added meanwhile is indexed either by the load or by its own {@link #put(ItemResponse)}.
+     */
+    public void ensureLoaded(Supplier<? extends Collection<ItemResponse>> catalog) {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                catalog.get().forEach(this::index);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(ItemResponse item) {
+        lock.writeLock().lock();
+        try {
+            // Before the first load there is nothing to keep current; the load will read the item from the catalog
+            if (loaded) {
+                unindex(item.getItemId());
+                index(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String itemId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                unindex(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemResponse> search(String query, int limit) {
+        List<String> queryWords = words(query).stream().limit(MAX_QUERY_WORDS).toList();
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<WordMatch>> matchesPerWord = new ArrayList<>(queryWords.size());
+            for (String queryWord : queryWords) {
+                List<WordMatch> matches = match(queryWord);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                matchesPerWord.add(matches);
+            }
+            // Most selective word first, so later words only have to confirm its candidates
+            matchesPerWord.sort(Comparator.comparingInt(ItemSearchIndex::postingCount));
+
+            float[] scores = new float[documentCount];
+            float[] wordScores = new float[documentCount];
+            byte[] matchedWords = new byte[documentCount];
+            int[] candidates = new int[0];
+            int candidateCount = 0;
+
+            for (int w = 0; w < matchesPerWord.size(); w++) {
+                int[] touched = new int[16];
+                int touchedCount = 0;
+                for (WordMatch match : matchesPerWord.get(w)) {
+                    Postings posting = match.postings();
+                    for (int p = 0; p < posting.size; p++) {
+                        int entry = posting.entries[p];
+                        int document = entry >>> FIELD_BITS;
+                        // Only documents that matched every earlier query word are still candidates
+                        if (matchedWords[document] != w) {
+                            continue;
+                        }
+                        if (wordScores[document] == 0f) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = document;
+                        }
+                        float score = match.quality() * fieldWeight(entry & FIELD_MASK);
+                        wordScores[document] = Math.max(wordScores[document], score);
+                    }
+                }
+                for (int t = 0; t < touchedCount; t++) {
+                    int document = touched[t];
+                    scores[document] += wordScores[document];
+                    wordScores[document] = 0f;
+                    matchedWords[document]++;
+                }
+                candidates = touched;
+                candidateCount = touchedCount;
+            }
+
+            return topResults(candidates, candidateCount, scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks by score, then shorter names first (the closer match), then insertion order. Short prefixes can match
+     * most of the catalog, so candidates go through a bounded min-heap of primitive keys instead of a full sort.
+     */
+    private List<ItemResponse> topResults(int[] candidates, int candidateCount, float[] scores, int limit) {
+        int capacity = Math.min(limit, candidateCount);
+        long[] heapKeys = new long[capacity];
+        int[] heapDocuments = new int[capacity];
+        int heapSize = 0;
+
+        for (int c = 0; c < candidateCount; c++) {
+            int document = candidates[c];
+            long key = rankKey(document, scores[document]);
+            if (heapSize < capacity) {
+                heapKeys[heapSize] = key;
+                heapDocuments[heapSize] = document;
+                siftUp(heapKeys, heapDocuments, heapSize++);
+            } else if (ranksBefore(key, document, heapKeys[0], heapDocuments[0])) {
+                heapKeys[0] = key;
+                heapDocuments[0] = document;
+                siftDown(heapKeys, heapDocuments, heapSize);
+            }
+        }
+
+        // Pop the weakest first, filling the result from the back
+        ItemResponse[] ranked = new ItemResponse[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ranked[i] = documents[heapDocuments[0]];
+            heapKeys[0] = heapKeys[i];
+            heapDocuments[0] = heapDocuments[i];
+            siftDown(heapKeys, heapDocuments, i);
+        }
+        return List.of(ranked);
+    }
+
+    private long rankKey(int document, float score) {
+        int nameLength = Math.min(documents[document].getName() == null ? 0 : documents[document].getName().length(), 0xFFFF);
+        // Scores are positive, so their IEEE bits order like the floats
+        return (long) Float.floatToIntBits(score) << 32 | (0xFFFF - nameLength);
+    }
+
+    private static boolean ranksBefore(long key, int document, long otherKey, int otherDocument) {
+        return key != otherKey ? key > otherKey : document < otherDocument;
+    }
+
+    // Min-heap on rank: the root is the weakest of the results kept so far
+    private static void siftUp(long[] keys, int[] documents, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(keys[parent], documents[parent], keys[index], documents[index])) {
+                return;
+            }
+            swap(keys, documents, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] documents, int size) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (ranksBefore(keys[weakest], documents[weakest], keys[child], documents[child])) {
+                    weakest = child;
+                }
+            }
+            if (weakest == index) {
+                return;
+            }
+            swap(keys, documents, index, weakest);
+            index = weakest;
+        }
+    }
+
+    private static void swap(long[] keys, int[] documents, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int document = documents[i];
+        documents[i] = documents[j];
+        documents[j] = document;
+    }
+
+    private List<WordMatch> match(String queryWord) {
+        List<WordMatch> matches = new ArrayList<>();
+
+        // The exact match, if any, is the first key of the prefix range
+        for (Map.Entry<String, Postings> entry
+                : postings.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false).entrySet()) {
+            float quality = entry.getKey().length() == queryWord.length() ? EXACT_MATCH : PREFIX_MATCH;
+            matches.add(new WordMatch(entry.getValue(), quality));
+        }
+
+        if (queryWord.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = queryWord.length() <= 5 ? 1 : 2;
+            for (String word : fuzzyCandidates(queryWord, maxDistance)) {
+                if (!word.startsWith(queryWord) && withinEditDistance(queryWord, word, maxDistance)) {
+                    matches.add(new WordMatch(postings.get(word), FUZZY_MATCH));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static int postingCount(List<WordMatch> matches) {
+        int count = 0;
+        for (WordMatch match : matches) {
+            count += match.postings().size;
+        }
+        return count;
+    }
+
+    private static float fieldWeight(int fields) {
+        if ((fields & NAME) != 0) {
+            return 3.0f;
+        }
+        return (fields & CATEGORY) != 0 ? 2.0f : 1.0f;
+    }
+
+    // Each edit changes at most three trigrams, so a word within maxDistance edits shares at least this many
+    private Set<String> fuzzyCandidates(String queryWord, int maxDistance) {
+        Set<String> queryTrigrams = trigrams(queryWord);
+        int minShared = Math.max(1, queryTrigrams.size() - 3 * maxDistance);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            if (words != null) {
+                for (String word : words) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+        }
+        Set<String> candidates = new HashSet<>();
+        shared.forEach((word, count) -> {
+            if (count >= minShared) {
+                candidates.add(word);
+            }
+        });
+        return candidates;
+    }
+
+    private void index(ItemResponse item) {
+        Map<String, Integer> fieldsByWord = new HashMap<>();
+        for (String word : words(item.getName())) {
+            fieldsByWord.merge(word, NAME, (a, b) -> a | b);
+        }
+        for (String word : words(item.getCategoryName())) {
+            fieldsByWord.merge(word, CATEGORY, (a, b) -> a | b);
+        }
+        for (String word : words(item.getDescription())) {
+            fieldsByWord.merge(word, DESCRIPTION, (a, b) -> a | b);
+        }
+
+        int document = allocateDocument();
+        documents[document] = item;
+        documentWords[document] = fieldsByWord.keySet().toArray(new String[0]);
+        documentByItemId.put(item.getItemId(), document);
+
+        for (Map.Entry<String, Integer> entry : fieldsByWord.entrySet()) {
+            String word = entry.getKey();
+            Postings posting = postings.get(word);
+            if (posting == null) {
+                posting = new Postings();
+                postings.put(word, posting);
+                for (String trigram : trigrams(word)) {
+                    wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(word);
+                }
+            }
+            posting.add(document << FIELD_BITS | entry.getValue());
+        }
+    }
+
+    private void unindex(String itemId) {
+        Integer document = documentByItemId.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String word : documentWords[document]) {
+            Postings posting = postings.get(word);
+            posting.removeDocument(document);
+            if (posting.size == 0) {
+                postings.remove(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> words = wordsByTrigram.get(trigram);
+                    words.remove(word);
+                    if (words.isEmpty()) {
+                        wordsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        documents[document] = null;
+        documentWords[document] = null;
+        freeDocuments.push(document);
+    }
+
+    private int allocateDocument() {
+        if (!freeDocuments.isEmpty()) {
+            return freeDocuments.pop();
+        }
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documentCount * 2);
+            documentWords = Arrays.copyOf(documentWords, documentCount * 2);
+        }
+        return documentCount++;
+    }
+
+    static Set<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        String folded = text;
+        if (!isAscii(text)) {
+            folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        }
+
+        Set<String> words = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Padded at the start so that words sharing their first letters also share trigrams
+    private static Set<String> trigrams(String word) {
+        String padded = "  " + word;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Optimal string alignment distance (adjacent transpositions count as one edit), stopped early past the bound
+    static boolean withinEditDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return false;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previousPrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxDistance) {
+                return false;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= maxDistance;
+    }
+
+    private record WordMatch(Postings postings, float quality) {
+    }
+
+    // Growable array of (document << FIELD_BITS | fields) entries
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        void removeDocument(int document) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i] >>> FIELD_BITS == document) {
+                    entries[i] = entries[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
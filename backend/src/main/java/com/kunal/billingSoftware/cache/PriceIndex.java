@@ -0,0 +1,27 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.ItemResponse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog items by {@code itemId}, built together with the {@link CatalogSnapshot} that carries it and stamped
+ * with the same version, so a price lookup never sees a catalog other than the one GET /items serves.
+ */
+public record PriceIndex(long version, Map<String, ItemResponse> items) {
+
+    static PriceIndex of(long version, List<ItemResponse> items) {
+        Map<String, ItemResponse> byItemId = new HashMap<>(Math.max(16, (int) (items.size() / 0.75f) + 1));
+        for (ItemResponse item : items) {
+            byItemId.put(item.getItemId(), item);
+        }
+        return new PriceIndex(version, Collections.unmodifiableMap(byItemId));
+    }
+
+    public ItemResponse find(String itemId) {
+        return items.get(itemId);
+    }
+}
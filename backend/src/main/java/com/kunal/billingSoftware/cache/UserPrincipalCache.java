@@ -0,0 +1,134 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.PrincipalCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by email, so the JWT filter does not
+ * query tbl_users on every request. Entries hold no password hash. Anything that changes a user's
+ * existence or authorities must call {@link #evict(String)}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public UserPrincipalCache(@Value("${security.principal-cache.enabled:true}") boolean enabled,
+                              @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this(enabled, maxSize, ttl, Clock.systemUTC());
+    }
+
+    UserPrincipalCache(boolean enabled, int maxSize, Duration ttl, Clock clock) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public UserDetails get(String email) {
+        if (!enabled) {
+            misses.increment();
+            return null;
+        }
+
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= clock.millis()) {
+            if (entries.remove(email, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.principal();
+    }
+
+    public void put(UserDetails userDetails) {
+        if (!enabled) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        UserDetails principal = new User(userDetails.getUsername(), "", userDetails.getAuthorities());
+        entries.put(userDetails.getUsername(), new Entry(principal, clock.millis() + ttlMillis));
+    }
+
+    public void evict(String email) {
+        if (email != null && entries.remove(email) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void clear() {
+        int removed = entries.size();
+        entries.clear();
+        evictions.add(removed);
+    }
+
+    public PrincipalCacheStats stats() {
+        return PrincipalCacheStats.builder()
+                .enabled(enabled)
+                .size(entries.size())
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    private void makeRoom() {
+        long now = clock.millis();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt() <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        // Still full: drop the entry closest to expiry
+        while (entries.size() >= maxSize) {
+            String oldest = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                if (e.getValue().expiresAt() < oldestExpiry) {
+                    oldestExpiry = e.getValue().expiresAt();
+                    oldest = e.getKey();
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            evict(oldest);
+        }
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
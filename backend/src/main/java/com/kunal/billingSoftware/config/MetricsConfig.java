@@ -0,0 +1,31 @@
+package com.kunal.billingSoftware.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Where the timers come from:
+ * <ul>
+ *     <li>{@code billing.service}: @Timed on the order, item and category services, tagged by class, method and
+ *     exception ({@code none} on success)</li>
+ *     <li>{@code spring.data.repository.invocations}: every repository method, tagged by repository, method,
+ *     state and exception</li>
+ *     <li>{@code billing.jwt.validation}: token verification in JwtRequestFilter, tagged by outcome</li>
+ *     <li>{@code billing.stripe.requests}: calls to the Stripe API, tagged by operation, outcome and exception</li>
+ *     <li>{@code hikaricp.*} and {@code hibernate.*}: pool saturation and Hibernate statistics, bound by Boot</li>
+ * </ul>
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter applicationTag(@Value("${spring.application.name:billing-software}") String application) {
+        // Lets dashboards pick this service out when one Prometheus scrapes several applications
+        return MeterFilter.commonTags(Tags.of("application", application));
+    }
+}
@@ -0,0 +1,14 @@
+package com.kunal.billingSoftware.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * JPA defaults that the rest of the configuration relies on, most importantly that open-in-view is off:
+ * {@link VirtualThreadConfig} lets checkouts past its request cap on the assumption that they give their
+ * connection back before calling Stripe.
+ */
+@Configuration
+@PropertySource("classpath:persistence.properties")
+public class PersistenceConfig {
+}
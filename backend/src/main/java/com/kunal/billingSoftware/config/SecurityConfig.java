@@ -3,6 +3,7 @@ package com.kunal.billingSoftware.config;
 import com.kunal.billingSoftware.enums.UserRoles;
 import com.kunal.billingSoftware.filter.JwtRequestFilter;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
@@ -37,19 +38,35 @@ public class SecurityConfig {
         http.cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        // Public endpoints (login only)
-                        .requestMatchers("/login", "/encode", "/api/v1.0/login").permitAll()
+                        // The request was authorized on its first dispatch; the JWT filter does not run again
+                        // when an event stream completes
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // Lets an unauthenticated caller (Stripe) see the real 4xx/5xx instead of a 403 on /error
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+
+                        // Public endpoints (login, and refresh which checks its own token)
+                        .requestMatchers("/login", "/encode", "/refresh", "/api/v1.0/login", "/api/v1.0/refresh").permitAll()
+
+                        // Stripe webhooks authenticate with their signature, not a JWT
+                        .requestMatchers("/webhooks/stripe").permitAll()
+
+                        // Health checks and the Prometheus scraper carry no JWT. Set management.server.port to
+                        // serve them on an internal port only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus",
+                                "/api/v1.0/actuator/health", "/api/v1.0/actuator/prometheus").permitAll()
 
                         // User + Admin endpoints
                         .requestMatchers("/api/v1.0/categories",
                                 "/api/v1.0/items",
+                                "/api/v1.0/items/search",
                                 "/api/v1.0/orders",
                                 "/api/v1.0/payments",
                                 "/api/v1.0/payments/create-checkout-session")
                         .hasAnyAuthority(UserRoles.USER.getValue(), UserRoles.ADMIN.getValue())
 
                         // Admin-only endpoints (including /admin/register)
-                        .requestMatchers("/api/v1.0/admin/**")
+                        .requestMatchers("/admin/**")
                         .hasAuthority(UserRoles.ADMIN.getValue())
 
                         // Everything else must be authenticated
@@ -0,0 +1,62 @@
+package com.kunal.billingSoftware.config;
+
+import com.kunal.billingSoftware.filter.RequestConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true} (off by default).
+ * Boot then hands every Tomcat request to a new virtual thread, so a checkout waiting on Stripe parks instead
+ * of pinning one of the 200 platform threads that {@code GET /items} also needs. The Stripe client runs on the
+ * request's virtual thread and is bounded separately by {@code stripe.max-concurrent-requests}.
+ * <p>
+ * What is left to size is the database: requests that may use a connection are capped at
+ * {@code requests.concurrency.per-connection} times the Hikari pool size, and wait at most
+ * {@code requests.concurrency.queue-timeout-ms} for a slot. Checkout is exempt by default: it loads its order
+ * in a short read-only transaction and, with open-in-view off (see {@link PersistenceConfig}), holds no
+ * connection while it waits on Stripe.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Hikari's own default, used when the pool is not Hikari
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            DataSource dataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${requests.concurrency.per-connection:4}") int requestsPerConnection,
+            @Value("${requests.concurrency.queue-timeout-ms:5000}") long queueTimeoutMillis,
+            @Value("${requests.concurrency.unlimited-paths:/payments/create-checkout-session}") Set<String> unlimitedPaths) {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        int limit = Math.max(1, poolSize * requestsPerConnection);
+        RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(limit, queueTimeoutMillis, unlimitedPaths);
+        log.info("Virtual threads enabled: {} concurrent requests for a pool of {} connections", limit, poolSize);
+
+        meterRegistry.ifAvailable(registry -> Gauge.builder("billing.requests.permits.available", filter,
+                        RequestConcurrencyLimitFilter::availablePermits)
+                .description("Request slots left before new requests queue")
+                .register(registry));
+
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        // Ahead of Spring Security, whose token check can already load the user from the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -1,22 +1,28 @@
 package com.kunal.billingSoftware.controller;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.exceptions.InvalidCredentialsException;
 import com.kunal.billingSoftware.io.AuthRequest;
 import com.kunal.billingSoftware.io.AuthResponse;
-import com.kunal.billingSoftware.service.UserService;
+import com.kunal.billingSoftware.io.RefreshTokenRequest;
+import com.kunal.billingSoftware.service.RefreshTokenService;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -28,22 +34,46 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final AppUserDetailsService appUserDetailsService;
     private final JwtUtil jwtUtil;
-    private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public AuthResponse login (@Valid  @RequestBody AuthRequest request) throws Exception  {
-        authenticate(request.getEmail(), request.getPassword());
-        final UserDetails userDetails = appUserDetailsService.loadUserByUsername(request.getEmail());
-        final String jwtToken = jwtUtil.generateToken(userDetails);
+        // The authentication manager already read the user and checked the password; its principal has
+        // everything the response needs, so tbl_users is read once and BCrypt runs once
+        final UserDetails userDetails = authenticate(request.getEmail(), request.getPassword());
+        // The first request with the new token finds its principal without going back to tbl_users
+        userPrincipalCache.put(userDetails);
 
-        String role = userService.getUserRole(request.getEmail());
-        // Fetch the role from repository
-        return new AuthResponse(request.getEmail(), jwtToken, role);
+        return new AuthResponse(userDetails.getUsername(), jwtUtil.generateToken(userDetails),
+                JwtUtil.roleOf(userDetails), refreshTokenService.issue(userDetails));
     }
 
-    private void authenticate  (String email, String password) throws Exception {
+    /**
+     * Trades a refresh token from {@link #login} for a new access token and a new refresh token; the one sent
+     * cannot be used again. No password is involved. The user is read from tbl_users rather than the principal
+     * cache, so a role change or deletion since the last login takes effect here.
+     */
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        String email = refreshTokenService.redeem(request.getRefreshToken());
+        userPrincipalCache.evict(email);
+
+        final UserDetails userDetails;
+        try {
+            userDetails = appUserDetailsService.loadUserForToken(email);
+        } catch (UsernameNotFoundException ex) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+        }
+        return new AuthResponse(userDetails.getUsername(), jwtUtil.generateToken(userDetails),
+                JwtUtil.roleOf(userDetails), refreshTokenService.issue(userDetails));
+    }
+
+    private UserDetails authenticate  (String email, String password) throws Exception {
         try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+            Authentication authentication =
+                    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+            return (UserDetails) authentication.getPrincipal();
         }
         catch(DisabledException ex) {
             throw new Exception("User disabled");
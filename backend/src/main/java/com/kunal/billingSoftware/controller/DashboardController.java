@@ -2,11 +2,14 @@ package com.kunal.billingSoftware.controller;
 
 import com.kunal.billingSoftware.io.DashboardResponse;
 import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.service.DashboardStreamService;
 import com.kunal.billingSoftware.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,6 +20,7 @@ import java.util.List;
 public class DashboardController {
 
     private final OrderService orderService;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping
     public DashboardResponse getDashboardData() {
@@ -30,4 +34,10 @@ public class DashboardController {
                 recentOrders
         );
     }
+
+    // Replaces polling: a snapshot on connect, then coalesced updates as orders change
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return dashboardStreamService.subscribe();
+    }
 }
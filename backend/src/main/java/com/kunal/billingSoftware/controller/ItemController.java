@@ -2,12 +2,16 @@ package com.kunal.billingSoftware.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
 import com.kunal.billingSoftware.io.ItemRequest;
 import com.kunal.billingSoftware.io.ItemResponse;
 import com.kunal.billingSoftware.service.ItemService;
 import jakarta.validation.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -21,6 +25,8 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final ItemService itemService;
 
     @ResponseStatus(HttpStatus.CREATED)
@@ -49,9 +55,24 @@ public class ItemController {
         }
     }
 
+    // Pre-serialized snapshot; Spring answers 304 itself when If-None-Match carries the current ETag
     @GetMapping("/items")
-    public List<ItemResponse> readItems() {
-        return itemService.fetchItems();
+    public ResponseEntity<byte[]> readItems() {
+        CatalogSnapshot snapshot = itemService.getCatalogSnapshot();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/items/search")
+    public List<ItemResponse> searchItems(@RequestParam String q,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'limit' must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return itemService.searchItems(q, limit);
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
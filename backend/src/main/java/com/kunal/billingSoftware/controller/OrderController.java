@@ -1,9 +1,16 @@
 package com.kunal.billingSoftware.controller;
 
+import com.kunal.billingSoftware.io.OrderBatchRequest;
+import com.kunal.billingSoftware.io.OrderBatchResponse;
 import com.kunal.billingSoftware.io.OrderFilterRequest;
+import com.kunal.billingSoftware.io.OrderHistoryResponse;
 import com.kunal.billingSoftware.io.OrderRequest;
 import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.service.OrderBatchService;
 import com.kunal.billingSoftware.service.OrderService;
+import com.kunal.billingSoftware.service.PricingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final PricingService pricingService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -23,6 +32,16 @@ public class OrderController {
         return orderService.createOrder(request);
     }
 
+    @PostMapping("/quote")
+    public QuoteResponse quote(@Valid @RequestBody QuoteRequest request) {
+        return pricingService.quote(request.getCartItems());
+    }
+
+    @PostMapping("/batch")
+    public OrderBatchResponse createOrders(@Valid @RequestBody OrderBatchRequest request) {
+        return orderBatchService.createOrders(request.getOrders());
+    }
+
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{orderId}")
     public void deleteOrder(@PathVariable String orderId) {
@@ -34,6 +53,12 @@ public class OrderController {
         return orderService.getLatestOrders();
     }
 
+    @GetMapping("/history")
+    public OrderHistoryResponse getOrderHistory(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
+        return orderService.getOrderHistory(cursor, size);
+    }
+
     @PostMapping("/filtered-data")
     public List<OrderResponse> getFilteredOrder(@RequestBody OrderFilterRequest orderFilterRequest) {
         return orderService.getFilteredOrder(orderFilterRequest);
@@ -0,0 +1,59 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.io.OrderExportFormat;
+import com.kunal.billingSoftware.service.OrderExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequiredArgsConstructor
+public class OrderExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportService orderExportService;
+
+    // Written to the servlet output stream as rows are read, so the response is never held in memory
+    @GetMapping("/admin/orders/export")
+    public void exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(defaultValue = "csv") String format,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+        OrderExportFormat exportFormat = Arrays.stream(OrderExportFormat.values())
+                .filter(candidate -> candidate.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format));
+
+        String fileName = "orders_" + from + "_" + to + "." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)) {
+                orderExportService.exportOrders(from, to, exportFormat, out);
+            }
+        } else {
+            OutputStream out = response.getOutputStream();
+            orderExportService.exportOrders(from, to, exportFormat, out);
+            out.flush();
+        }
+    }
+}
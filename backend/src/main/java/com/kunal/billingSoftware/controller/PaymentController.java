@@ -21,8 +21,17 @@ public class PaymentController {
     @PostMapping("/create-checkout-session")
     @ResponseStatus(HttpStatus.CREATED)
     public StripeCheckoutResponse createCheckoutSession(@Valid @RequestBody PaymentRequest request) {
+        // Charge what the server priced the order at, not what the till says it costs
+        OrderResponse order = orderService.getOrder(request.getOrderId());
+        if (order.getPaymentMethod() != PaymentMethod.UPI) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order is not paid online: " + order.getOrderId());
+        }
+        if (order.getPaymentDetails() != null
+                && order.getPaymentDetails().getStatus() == PaymentDetails.PaymentStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order is already paid: " + order.getOrderId());
+        }
         try {
-            return stripeService.createCheckoutSession(request.getAmount(), request.getCurrency());
+            return stripeService.createCheckoutSession(order.getGrandTotal(), request.getCurrency(), order.getOrderId());
         } catch (StripeException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Stripe API error", e);
         }
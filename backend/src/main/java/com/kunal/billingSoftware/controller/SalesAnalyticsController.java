@@ -0,0 +1,94 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import com.kunal.billingSoftware.io.SalesPeriodResponse;
+import com.kunal.billingSoftware.io.TopItemResponse;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class SalesAnalyticsController {
+
+    static final int MAX_HOURLY_DAYS = 31;
+    // Every period in the range is returned, with or without sales
+    static final int MAX_PERIODS = 1000;
+    static final int MAX_TOP_ITEMS = 100;
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    // from and to are inclusive dates
+    @GetMapping("/revenue")
+    public List<SalesPeriodResponse> getRevenue(@RequestParam(defaultValue = "day") String period,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) String categoryId,
+                                                @RequestParam(required = false) String paymentMethod) {
+        validateRange(from, to);
+        SalesPeriod salesPeriod = parse(SalesPeriod.values(), period, "period");
+        if (salesPeriod == SalesPeriod.HOUR && ChronoUnit.DAYS.between(from, to) >= MAX_HOURLY_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Hourly revenue is limited to " + MAX_HOURLY_DAYS + " days");
+        }
+        if (unitOf(salesPeriod).between(from.atStartOfDay(), to.plusDays(1).atStartOfDay()) > MAX_PERIODS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Revenue is limited to " + MAX_PERIODS + " periods; use a longer period or a shorter range");
+        }
+        return salesAnalyticsService.getRevenue(salesPeriod, from, to, categoryId, parsePaymentMethod(paymentMethod));
+    }
+
+    @GetMapping("/top-items")
+    public List<TopItemResponse> getTopItems(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(defaultValue = "10") int limit,
+                                             @RequestParam(defaultValue = "revenue") String by,
+                                             @RequestParam(required = false) String categoryId,
+                                             @RequestParam(required = false) String paymentMethod) {
+        validateRange(from, to);
+        if (limit < 1 || limit > MAX_TOP_ITEMS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'limit' must be between 1 and " + MAX_TOP_ITEMS);
+        }
+        return salesAnalyticsService.getTopItems(from, to, limit, parse(SalesMetric.values(), by, "by"),
+                categoryId, parsePaymentMethod(paymentMethod));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+    }
+
+    private static ChronoUnit unitOf(SalesPeriod period) {
+        return switch (period) {
+            case HOUR -> ChronoUnit.HOURS;
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+        };
+    }
+
+    private static PaymentMethod parsePaymentMethod(String paymentMethod) {
+        return paymentMethod == null ? null : parse(PaymentMethod.values(), paymentMethod, "paymentMethod");
+    }
+
+    private static <E extends Enum<E>> E parse(E[] values, String value, String parameter) {
+        return Arrays.stream(values)
+                .filter(candidate -> candidate.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported " + parameter + ": " + value));
+    }
+}
@@ -0,0 +1,30 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.io.SalesRollupRebuildResponse;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+public class SalesRollupController {
+
+    private final DailySalesRollupService dailySalesRollupService;
+
+    @PostMapping("/admin/sales-rollup/rebuild")
+    public SalesRollupRebuildResponse rebuild(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+        int daysRebuilt = dailySalesRollupService.rebuild(from, to);
+        return new SalesRollupRebuildResponse(from, to, daysRebuilt);
+    }
+}
@@ -0,0 +1,20 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.service.StripeWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/webhooks/stripe")
+@RequiredArgsConstructor
+public class StripeWebhookController {
+
+    private final StripeWebhookService stripeWebhookService;
+
+    // The raw body is needed as-is: the signature is computed over the exact bytes Stripe sent
+    @PostMapping
+    public void handleEvent(@RequestBody String payload,
+                            @RequestHeader(value = "Stripe-Signature", required = false) String signatureHeader) {
+        stripeWebhookService.handleEvent(payload, signatureHeader);
+    }
+}
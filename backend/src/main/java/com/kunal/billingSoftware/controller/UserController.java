@@ -1,13 +1,19 @@
 package com.kunal.billingSoftware.controller;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
+import com.kunal.billingSoftware.io.PrincipalCacheStats;
+import com.kunal.billingSoftware.io.UserBatchRequest;
+import com.kunal.billingSoftware.io.UserBatchResponse;
 import com.kunal.billingSoftware.io.UserRequest;
 import com.kunal.billingSoftware.io.UserResponse;
 import com.kunal.billingSoftware.projection.UserProjection;
+import com.kunal.billingSoftware.service.UserBatchService;
 import com.kunal.billingSoftware.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -19,6 +25,8 @@ import java.util.List;
 @RequestMapping("/admin")
 public class UserController {
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -26,6 +34,17 @@ public class UserController {
         return userService.createUser(request);
     }
 
+    // Rows are reported one by one; the batch itself only fails when it cannot be read
+    @PostMapping(path = "/users/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public UserBatchResponse registerUsers(@Valid @RequestBody UserBatchRequest request) {
+        return userBatchService.createUsers(request.getUsers());
+    }
+
+    @PostMapping(path = "/users/batch", consumes = "text/csv")
+    public UserBatchResponse registerUsersFromCsv(@RequestBody String csv) {
+        return userBatchService.createUsersFromCsv(csv);
+    }
+
     @GetMapping("/users")
     public List<UserResponse> readUsers() {
         return userService.readUsers();
@@ -41,4 +60,9 @@ public class UserController {
     public List<UserProjection> getUsersBasicInfo() {
         return userService.getAllUsersBasicInfo();
     }
+
+    @GetMapping("/principal-cache/stats")
+    public PrincipalCacheStats getPrincipalCacheStats() {
+        return userPrincipalCache.stats();
+    }
 }
\ No newline at end of file
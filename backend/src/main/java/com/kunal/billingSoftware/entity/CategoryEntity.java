@@ -29,6 +29,7 @@ public class CategoryEntity {
     private String description;
     private String bgColor;
     private String imageUrl;
+    private String thumbnailUrl;
 
     @Column(updatable = false)
     private Timestamp createdAt;
@@ -0,0 +1,29 @@
+package com.kunal.billingSoftware.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_sales_rollup")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailySalesRollupEntity {
+    @Id
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private Double totalSales;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    private LocalDateTime updatedAt;
+}
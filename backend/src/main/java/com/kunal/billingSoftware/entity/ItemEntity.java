@@ -42,6 +42,7 @@ public class ItemEntity {
     @UpdateTimestamp
     private Timestamp updatedAt;
     private String imgUrl;
+    private String thumbnailUrl;
 
     @ManyToOne
     @JoinColumn(name = "category_id", nullable = false)
@@ -2,11 +2,13 @@ package com.kunal.billingSoftware.entity;
 
 import com.kunal.billingSoftware.io.PaymentDetails;
 import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.util.OrderIdGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,7 +25,12 @@ public class OrderEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(unique = true)
     private String orderId;
+
+    // Id the till gave an order it sold offline; null for orders created online
+    @Column(unique = true, length = 64)
+    private String clientOrderId;
     private String customerName;
     public String phoneNumber;
     private Double subtotal;
@@ -31,8 +38,11 @@ public class OrderEntity {
     private Double grandTotal;
     private LocalDateTime createdAt;
 
+    // Paged order lists cannot join-fetch items without paging in memory; when the first order's items are
+    // touched, the items of up to this many loaded orders come back in the same statement
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "order_id")
+    @BatchSize(size = 128)
     private List<OrderItemEntity> items = new ArrayList<>();
 
     @Embedded
@@ -47,7 +57,7 @@ public class OrderEntity {
             this.createdAt = LocalDateTime.now();
         }
         if (this.orderId == null) {
-            this.orderId = "ORD" + System.currentTimeMillis();
+            this.orderId = OrderIdGenerator.shared().nextOrderId();
         }
     }
 }
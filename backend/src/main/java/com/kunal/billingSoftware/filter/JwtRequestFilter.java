@@ -2,25 +2,46 @@ package com.kunal.billingSoftware.filter;
 
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.TokenClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
     private final AppUserDetailsService appUserDetailsService;
     private final JwtUtil jwtUtil;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    @Autowired
+    public JwtRequestFilter(AppUserDetailsService appUserDetailsService, JwtUtil jwtUtil,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        // Web test slices have no registry; the global one records nothing until a registry is added to it
+        this(appUserDetailsService, jwtUtil, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public JwtRequestFilter(AppUserDetailsService appUserDetailsService, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.appUserDetailsService = appUserDetailsService;
+        this.jwtUtil = jwtUtil;
+        // Registered once: looking a timer up per request would cost more than recording to it
+        this.validTokenTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = validationTimer(meterRegistry, "invalid");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,33 +50,43 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         if (path.equals("/login") ||
                 path.equals("/encode") ||
-                path.equals("/api/v1.0/login")) { // <-- remove register
+                path.equals("/api/v1.0/login") ||
+                path.equals("/refresh") ||
+                path.equals("/api/v1.0/refresh")) { // <-- remove register
             filterChain.doFilter(request, response);
             return;
         }
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwt = null;
+        TokenClaims claims = null;
 
         if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            email = jwtUtil.extractUsername(jwt);
+            // Signature and expiry are verified exactly once here; null means the token is not usable
+            long start = System.nanoTime();
+            claims = jwtUtil.parseToken(authorizationHeader.substring(7));
+            (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        if(email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = appUserDetailsService.loadUserByUsername(email);
-            if(jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        // Refresh tokens are only good for POST /refresh, never as a bearer token
+        if(claims != null && !claims.refreshToken() && claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = appUserDetailsService.loadUserForToken(claims.subject());
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Controllers read the verified claims back with TokenClaims.from(authentication)
+            authenticationToken.setDetails(claims);
 
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("billing.jwt.validation")
+                .description("Bearer token signature and expiry verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kunal.billingSoftware.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many requests run at once. Requests over the cap wait in arrival order for up to
+ * {@code queueTimeoutMillis} and are then answered with 503 and {@code Retry-After}.
+ * <p>
+ * With a fixed Tomcat pool the pool itself is the cap. On virtual threads there is none, so without this every
+ * request would queue inside Hikari instead, holding its socket and memory until the connection timeout turns
+ * it into a 500. Paths in {@code unlimitedPaths} (relative to the context path) skip the cap; they are the ones
+ * that spend most of their time on a remote service and only use a connection in short transactions before
+ * or after it. That only holds with open-in-view off, otherwise the first query keeps the connection until the
+ * response is written.
+ */
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutMillis;
+    private final Set<String> unlimitedPaths;
+
+    public RequestConcurrencyLimitFilter(int maxConcurrentRequests, long queueTimeoutMillis, Set<String> unlimitedPaths) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1: " + maxConcurrentRequests);
+        }
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.unlimitedPaths = Set.copyOf(unlimitedPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (unlimitedPaths.contains(request.getRequestURI().substring(request.getContextPath().length()))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            // Parks the virtual thread; the carrier moves on to other requests
+            acquired = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, retry shortly");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -11,4 +11,5 @@ public class AuthResponse {
     private String email;
     private String token;
     private String role;
+    private String refreshToken;
 }
@@ -18,6 +18,7 @@ public class CategoryResponse {
     private String description;
     private String bgColor;
     private String imageUrl;
+    private String thumbnailUrl;
     private Timestamp createdAt;
     private Timestamp updatedAt;
     private Integer items;
@@ -0,0 +1,24 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pushed to dashboard subscribers after orders change. Totals are absolute; recent orders are a delta against
+ * the previous frame: replace {@code changedOrders} by orderId, drop {@code removedOrderIds}, and keep the newest
+ * five by createdAt.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardUpdateResponse {
+    private Double todaySales;
+    private Long todayOrderCount;
+    private List<OrderResponse> changedOrders;
+    private List<String> removedOrderIds;
+}
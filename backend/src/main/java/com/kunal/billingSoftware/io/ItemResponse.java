@@ -20,6 +20,7 @@ public class ItemResponse {
     private String description;
     private String categoryName;
     private String imageUrl;
+    private String thumbnailUrl;
     private Timestamp createdAt;
     private Timestamp updatedAt;
 }
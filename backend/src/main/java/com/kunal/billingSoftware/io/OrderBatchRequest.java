@@ -0,0 +1,22 @@
+package com.kunal.billingSoftware.io;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderBatchRequest {
+
+    // Orders are validated one by one so a single bad order does not reject the whole batch
+    @NotEmpty(message = "Batch cannot be empty")
+    @Size(max = 1000, message = "A batch cannot contain more than 1000 orders")
+    private List<OrderRequest> orders;
+}
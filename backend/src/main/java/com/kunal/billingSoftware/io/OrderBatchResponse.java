@@ -0,0 +1,37 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderBatchResponse {
+    private Integer accepted;         // CREATED and DUPLICATE, i.e. orders the till can mark as synced
+    private Integer rejected;
+    private List<OrderBatchResponse.OrderBatchResult> results;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,  // clientOrderId was stored by an earlier sync; orderId is the order it created
+        INVALID,
+        FAILED
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class OrderBatchResult {
+        private Integer index;            // position of the order in the request
+        private Status status;
+        private String orderId;           // set when CREATED or DUPLICATE
+        private Map<String, String> errors;
+    }
+}
@@ -0,0 +1,16 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderExportFormat {
+    // One line per order item, order columns repeated
+    CSV("text/csv", "csv"),
+    // One JSON object per order with its items nested
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+}
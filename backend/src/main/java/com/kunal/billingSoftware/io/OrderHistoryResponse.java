@@ -0,0 +1,18 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderHistoryResponse {
+    private List<OrderResponse> orders;
+    private String nextCursor; // null when there are no more pages
+    private Boolean hasMore;
+}
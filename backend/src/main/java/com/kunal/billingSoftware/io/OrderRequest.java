@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -48,6 +49,13 @@ public class OrderRequest {
     )
     private String paymentMethod;
 
+    // Only read by POST /orders/batch: the id the till gave the order while offline, so a retried sync is not
+    // stored twice, and when the sale was rung up (defaults to the time it is received)
+    @Size(max = 64, message = "Client order id cannot be longer than 64 characters")
+    private String clientOrderId;
+
+    private LocalDateTime soldAt;
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -1,8 +1,6 @@
 package com.kunal.billingSoftware.io;
 
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,11 +12,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class PaymentRequest {
 
-    @NotNull(message = "Amount is required")
-    @DecimalMin(value = "0.01", inclusive = true, message = "Amount must be greater than zero")
-    private Double amount;
-
     @NotBlank(message = "Currency is required")
     @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a valid 3-letter ISO code (ex: INR, USD, EUR)")
     private String currency;
+
+    @NotBlank(message = "Order id is required")
+    private String orderId;           // Internal order ID, echoed back by the Stripe webhook
 }
@@ -0,0 +1,18 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PrincipalCacheStats {
+    private Boolean enabled;
+    private Integer size;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+}
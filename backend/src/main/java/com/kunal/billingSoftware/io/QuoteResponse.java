@@ -0,0 +1,33 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class QuoteResponse {
+    // ETag of the catalog the prices were taken from; it matches the one on GET /items
+    private String catalogVersion;
+    private List<QuoteResponse.QuoteItemResponse> items;
+    private Double subtotal;
+    private Double tax;
+    private Double grandTotal;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class QuoteItemResponse {
+        private String itemId;
+        private String name;
+        private Double price;
+        private Integer quantity;
+        private Double lineTotal;
+    }
+}
@@ -0,0 +1,6 @@
+package com.kunal.billingSoftware.io;
+
+public enum SalesMetric {
+    REVENUE,
+    QUANTITY
+}
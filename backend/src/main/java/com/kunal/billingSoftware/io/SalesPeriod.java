@@ -0,0 +1,9 @@
+package com.kunal.billingSoftware.io;
+
+public enum SalesPeriod {
+    HOUR,
+    DAY,
+    // ISO weeks, starting on Monday
+    WEEK,
+    MONTH
+}
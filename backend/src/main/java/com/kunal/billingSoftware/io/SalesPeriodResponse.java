@@ -0,0 +1,21 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalesPeriodResponse {
+    private LocalDateTime periodStart;
+    // Sum of price x quantity of the items sold, before tax
+    private Double revenue;
+    private Long quantity;
+    // Not tracked per category: null when the query filters by category
+    private Long orders;
+}
@@ -0,0 +1,18 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalesRollupRebuildResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Integer daysRebuilt;
+}
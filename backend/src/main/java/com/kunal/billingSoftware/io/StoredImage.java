@@ -0,0 +1,8 @@
+package com.kunal.billingSoftware.io;
+
+/**
+ * Where an uploaded image ended up, as paths relative to the upload directory. {@code thumbnailUrl} is the
+ * image itself when the format could not be decoded to make a thumbnail.
+ */
+public record StoredImage(String imageUrl, String thumbnailUrl) {
+}
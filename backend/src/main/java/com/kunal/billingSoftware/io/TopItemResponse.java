@@ -0,0 +1,19 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TopItemResponse {
+    private String itemId;
+    private String name;
+    private String categoryId;
+    private String categoryName;
+    private Double revenue;
+    private Long quantity;
+}
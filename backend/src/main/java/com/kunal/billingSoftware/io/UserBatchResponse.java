@@ -0,0 +1,35 @@
+package com.kunal.billingSoftware.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserBatchResponse {
+    private Integer accepted;
+    private Integer rejected;
+    private List<UserBatchResponse.UserBatchResult> results;
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class UserBatchResult {
+        private Integer index;            // position of the user in the request, or the CSV data row
+        private Status status;
+        private String email;
+        private String userId;            // set when CREATED
+        private Map<String, String> errors;
+    }
+}
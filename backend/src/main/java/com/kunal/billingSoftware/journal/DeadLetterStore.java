@@ -0,0 +1,72 @@
+package com.kunal.billingSoftware.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Journal records the flusher gave up on, kept as one file per record so they can be inspected, fixed and
+ * entered again by hand. Each record is written as {@code orders-<segment>-<offset>.json} with the reason next
+ * to it in a {@code .reason} file. Files are named after the record's journal position, so storing a record
+ * again after a crash overwrites the earlier copy instead of adding a second one.
+ */
+public class DeadLetterStore {
+
+    private static final String PAYLOAD_SUFFIX = ".json";
+
+    private final Path directory;
+    private final AtomicLong count;
+
+    public DeadLetterStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            this.count = new AtomicLong(files.filter(DeadLetterStore::isPayload).count());
+        }
+    }
+
+    /**
+     * Writes the record and the reason and forces both to disk, so the journal can be advanced past the
+     * record once this returns.
+     */
+    public Path store(OrderJournal.Entry entry, String reason) {
+        String name = String.format("orders-%020d-%010d", entry.end().segment(), entry.end().offset());
+        Path payloadFile = directory.resolve(name + PAYLOAD_SUFFIX);
+        boolean replacing = Files.exists(payloadFile);
+        write(payloadFile, entry.payload());
+        write(directory.resolve(name + ".reason"), reason.getBytes(StandardCharsets.UTF_8));
+        if (!replacing) {
+            count.incrementAndGet();
+        }
+        return payloadFile;
+    }
+
+    /** Records in the directory when it was opened plus those stored since. */
+    public long count() {
+        return count.get();
+    }
+
+    private static boolean isPayload(Path file) {
+        return file.getFileName().toString().endsWith(PAYLOAD_SUFFIX);
+    }
+
+    private static void write(Path file, byte[] content) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write dead letter " + file, e);
+        }
+    }
+}
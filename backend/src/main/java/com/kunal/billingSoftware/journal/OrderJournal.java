@@ -0,0 +1,278 @@
+package com.kunal.billingSoftware.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records in memory-mapped segment files ({@code orders-<sequence>.journal}).
+ * <p>
+ * A segment starts with a 64 byte header: magic, format version and the offset up to which its records have
+ * been flushed to the database. Records follow as {@code [int length][int CRC32C][payload]}. The payload and
+ * checksum are written before the length, so a record interrupted by a crash reads as a zero length, i.e. the
+ * end of the log; a record torn by a lost page fails its checksum. Both end recovery at the last intact
+ * record.
+ * <p>
+ * Appends land in the page cache and survive a process crash without any system call. With
+ * {@code syncOnAppend} each record is also forced to disk, which is what it takes to survive a power loss.
+ * All methods are synchronized; an append is a memory copy and a CRC, so the lock is held for microseconds.
+ */
+public class OrderJournal implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAGIC = 0x4F524A4C; // "ORJL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int VERSION_POSITION = 4;
+    private static final int FLUSHED_OFFSET_POSITION = 8;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("orders-(\\d{20})\\.journal");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    // Oldest first; the last one takes appends
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+
+    /** Where a read stopped: the journal is flushed up to here once the records before it are in the database. */
+    public record Position(long segment, int offset) {
+    }
+
+    public record Entry(byte[] payload, Position end) {
+    }
+
+    public OrderJournal(Path directory, int segmentSize, boolean syncOnAppend) throws IOException {
+        if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal segment size is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    public synchronized void append(byte[] payload) {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes does not fit in a segment");
+        }
+        Segment active = segments.getLast();
+        if (active.writeOffset + recordSize > segmentSize) {
+            active = createSegment(active.sequence + 1);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int offset = active.writeOffset;
+        active.buffer.put(offset + RECORD_HEADER_SIZE, payload);
+        active.buffer.putInt(offset + 4, (int) crc.getValue());
+        active.buffer.putInt(offset, payload.length);
+        if (syncOnAppend) {
+            active.buffer.force(offset, recordSize);
+        }
+        active.writeOffset = offset + recordSize;
+        active.unflushedRecords++;
+    }
+
+    /**
+     * Up to {@code maxEntries} records after the flushed position, oldest first. Reading does not move the
+     * flushed position; call {@link #markFlushed(Position)} once the records are stored.
+     */
+    public synchronized List<Entry> readUnflushed(int maxEntries) {
+        List<Entry> entries = new ArrayList<>(Math.min(maxEntries, 1024));
+        for (Segment segment : segments) {
+            int offset = segment.flushedOffset;
+            while (offset < segment.writeOffset && entries.size() < maxEntries) {
+                byte[] payload = new byte[segment.buffer.getInt(offset)];
+                segment.buffer.get(offset + RECORD_HEADER_SIZE, payload);
+                offset += RECORD_HEADER_SIZE + payload.length;
+                entries.add(new Entry(payload, new Position(segment.sequence, offset)));
+            }
+            if (entries.size() == maxEntries) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Records everything before {@code position} as flushed, forcing the segment header to disk, and deletes
+     * segments that are flushed completely and no longer take appends.
+     */
+    public synchronized void markFlushed(Position position) {
+        Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.sequence > position.segment()) {
+                break;
+            }
+            int flushedOffset = segment.sequence == position.segment() ? position.offset() : segment.writeOffset;
+            if (flushedOffset > segment.flushedOffset) {
+                segment.unflushedRecords -= countRecords(segment.buffer, segment.flushedOffset, flushedOffset);
+                segment.flushedOffset = flushedOffset;
+                segment.buffer.putInt(FLUSHED_OFFSET_POSITION, flushedOffset);
+                segment.buffer.force(0, HEADER_SIZE);
+            }
+            if (segment != segments.getLast() && segment.flushedOffset == segment.writeOffset) {
+                iterator.remove();
+                segment.delete();
+            }
+        }
+    }
+
+    public synchronized boolean hasUnflushed() {
+        return segments.stream().anyMatch(segment -> segment.flushedOffset < segment.writeOffset);
+    }
+
+    /** Number of records after the flushed position, i.e. acknowledged orders not yet in the database. */
+    public synchronized long unflushedCount() {
+        return segments.stream().mapToLong(segment -> segment.unflushedRecords).sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+
+        for (var file : files.entrySet()) {
+            segments.addLast(openSegment(file.getKey(), file.getValue()));
+        }
+        if (segments.isEmpty()) {
+            createSegment(1);
+        }
+
+        // Appends continue at the end of the intact records. What is left of a torn record behind a shorter
+        // new one fails its checksum, so a later recovery stops there as well
+        Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment != segments.getLast() && segment.flushedOffset == segment.writeOffset) {
+                iterator.remove();
+                segment.delete();
+            }
+        }
+    }
+
+    private Segment openSegment(long sequence, Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        Segment segment = new Segment(sequence, path, channel, buffer);
+
+        if (buffer.getInt(0) != MAGIC) {
+            // Crashed between creating the file and writing its header: nothing was appended to it yet
+            writeHeader(buffer);
+        } else if (buffer.getInt(VERSION_POSITION) != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException("Unsupported journal format " + buffer.getInt(VERSION_POSITION) + " in " + path);
+        }
+        segment.flushedOffset = buffer.getInt(FLUSHED_OFFSET_POSITION);
+        segment.writeOffset = endOfValidRecords(buffer, segment.flushedOffset);
+        segment.unflushedRecords = countRecords(buffer, segment.flushedOffset, segment.writeOffset);
+        return segment;
+    }
+
+    // Only called on ranges that hold intact records, so the lengths can be followed without checking them
+    private static int countRecords(MappedByteBuffer buffer, int from, int to) {
+        int records = 0;
+        for (int offset = from; offset < to; offset += RECORD_HEADER_SIZE + buffer.getInt(offset)) {
+            records++;
+        }
+        return records;
+    }
+
+    private int endOfValidRecords(MappedByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        while (offset + RECORD_HEADER_SIZE <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > segmentSize - offset - RECORD_HEADER_SIZE) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(offset + RECORD_HEADER_SIZE, length));
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private Segment createSegment(long sequence) {
+        Path path = directory.resolve(String.format("orders-%020d.journal", sequence));
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            writeHeader(buffer);
+            Segment segment = new Segment(sequence, path, channel, buffer);
+            segment.flushedOffset = HEADER_SIZE;
+            segment.writeOffset = HEADER_SIZE;
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + path, e);
+        }
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer) {
+        buffer.putInt(VERSION_POSITION, FORMAT_VERSION);
+        buffer.putInt(FLUSHED_OFFSET_POSITION, HEADER_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    private static final class Segment {
+        final long sequence;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int flushedOffset;
+        int writeOffset;
+        int unflushedRecords;
+
+        Segment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Fully flushed, so it is deleted again on the next start
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.kunal.billingSoftware.projection;
+
+public interface CategoryItemCountProjection {
+    Long getCategoryId();
+    Long getItemCount();
+}
@@ -0,0 +1,31 @@
+package com.kunal.billingSoftware.projection;
+
+import com.kunal.billingSoftware.io.PaymentDetails;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order export join: the order columns repeated for each of its items. The item columns are
+ * null for an order without items.
+ */
+public record OrderExportRow(
+        long id,
+        String orderId,
+        String customerName,
+        String phoneNumber,
+        Double subtotal,
+        Double tax,
+        Double grandTotal,
+        LocalDateTime createdAt,
+        String paymentMethod,
+        PaymentDetails.PaymentStatus paymentStatus,
+        String stripePaymentIntentId,
+        String itemId,
+        String itemName,
+        Double itemPrice,
+        Integer itemQuantity) {
+
+    public boolean hasItem() {
+        return itemId != null;
+    }
+}
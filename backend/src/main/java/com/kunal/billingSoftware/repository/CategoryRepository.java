@@ -2,9 +2,21 @@ package com.kunal.billingSoftware.repository;
 
 import com.kunal.billingSoftware.entity.CategoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
      Optional<CategoryEntity> findByCategoryId(String categoryId);
+
+     boolean existsByImageUrl(String imageUrl);
+
+     @Query("SELECT DISTINCT c.imageUrl FROM CategoryEntity c WHERE c.imageUrl IN :imageUrls")
+     List<String> findReferencedImageUrls(@Param("imageUrls") Collection<String> imageUrls);
+
+     @Query("SELECT c.imageUrl FROM CategoryEntity c WHERE c.imageUrl IS NOT NULL")
+     List<String> findAllImageUrls();
 }
@@ -0,0 +1,30 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.DailySalesRollupEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollupEntity, LocalDate> {
+
+    // Atomic in-place increment, so concurrent tills never lose an update. Returns 0 when the day has no row yet.
+    @Modifying
+    @Query("UPDATE DailySalesRollupEntity r " +
+            "SET r.totalSales = r.totalSales + :amount, r.orderCount = r.orderCount + :orders, r.updatedAt = :updatedAt " +
+            "WHERE r.salesDate = :salesDate")
+    int addToDay(@Param("salesDate") LocalDate salesDate,
+                 @Param("amount") Double amount,
+                 @Param("orders") Long orders,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DailySalesRollupEntity r WHERE r.salesDate = :salesDate")
+    Optional<DailySalesRollupEntity> findForUpdate(@Param("salesDate") LocalDate salesDate);
+}
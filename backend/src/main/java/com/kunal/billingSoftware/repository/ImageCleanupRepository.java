@@ -0,0 +1,17 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.ImageCleanupEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageCleanupRepository extends JpaRepository<ImageCleanupEntity, Long> {
+
+    // Oldest first, so a backlog drains in the order images were released
+    @Query("SELECT c FROM ImageCleanupEntity c WHERE c.nextAttemptAt <= :now ORDER BY c.id")
+    List<ImageCleanupEntity> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
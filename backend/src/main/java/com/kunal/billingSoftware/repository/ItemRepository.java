@@ -1,12 +1,33 @@
 package com.kunal.billingSoftware.repository;
 
 import com.kunal.billingSoftware.entity.ItemEntity;
+import com.kunal.billingSoftware.projection.CategoryItemCountProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
     Optional<ItemEntity> findByItemId(String id);
 
     Integer countByCategoryId(Long id);
+
+    boolean existsByImgUrl(String imgUrl);
+
+    // Which of a batch of images are still in use, in one query instead of one exists check per image
+    @Query("SELECT DISTINCT i.imgUrl FROM ItemEntity i WHERE i.imgUrl IN :imgUrls")
+    List<String> findReferencedImgUrls(@Param("imgUrls") Collection<String> imgUrls);
+
+    @Query("SELECT i.imgUrl FROM ItemEntity i WHERE i.imgUrl IS NOT NULL")
+    List<String> findAllImgUrls();
+
+    // Single query for the whole catalog, ordered so identical catalogs serialize to identical bytes
+    @Query("SELECT i FROM ItemEntity i JOIN FETCH i.category ORDER BY i.id")
+    List<ItemEntity> findAllWithCategory();
+
+    @Query("SELECT i.category.id AS categoryId, COUNT(i) AS itemCount FROM ItemEntity i GROUP BY i.category.id")
+    List<CategoryItemCountProjection> countItemsGroupedByCategory();
 }
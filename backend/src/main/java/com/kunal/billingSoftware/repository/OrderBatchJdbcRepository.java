@@ -0,0 +1,131 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC batch inserts for order ingestion. Hibernate cannot batch inserts of IDENTITY keyed entities,
+ * so bulk paths write tbl_orders / tbl_order_items directly. Must be called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchJdbcRepository {
+
+    private static final String INSERT_ORDER = "INSERT INTO tbl_orders " +
+            "(order_id, client_order_id, customer_name, phone_number, subtotal, tax, grand_total, created_at, " +
+            "payment_method, status, stripe_payment_intent_id, stripe_payment_method_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO tbl_order_items " +
+            "(order_id, item_id, name, price, quantity) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the orders and their items with two JDBC batches and sets the generated ids on the entities.
+     */
+    public void insertOrders(List<OrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ORDER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setOrderValues(ps, orders.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            OrderEntity order = orders.get(i);
+            // MySQL reports the key as GENERATED_KEY, H2 as ID: take the only column either way
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+            order.setId(id);
+            for (OrderItemEntity item : order.getItems()) {
+                itemRows.add(new Object[]{id, item.getItemId(), item.getName(), item.getPrice(), item.getQuantity()});
+            }
+        }
+
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, itemRows);
+        }
+    }
+
+    /**
+     * The subset of {@code orderIds} already stored, so a replayed write can skip what an earlier attempt
+     * committed.
+     */
+    public Set<String> findExistingOrderIds(List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT order_id FROM tbl_orders WHERE order_id IN (" + placeholders + ")",
+                String.class,
+                orderIds.toArray()));
+    }
+
+    /**
+     * Order ids of the orders already stored under any of {@code clientOrderIds}, keyed by client order id.
+     */
+    public Map<String, String> findOrderIdsByClientOrderIds(Collection<String> clientOrderIds) {
+        if (clientOrderIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(clientOrderIds.size(), "?"));
+        Map<String, String> orderIds = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT client_order_id, order_id FROM tbl_orders WHERE client_order_id IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> orderIds.put(rs.getString(1), rs.getString(2)),
+                clientOrderIds.toArray());
+        return orderIds;
+    }
+
+    private void setOrderValues(PreparedStatement ps, OrderEntity order) throws SQLException {
+        ps.setString(1, order.getOrderId());
+        ps.setString(2, order.getClientOrderId());
+        ps.setString(3, order.getCustomerName());
+        ps.setString(4, order.getPhoneNumber());
+        ps.setObject(5, order.getSubtotal(), Types.DOUBLE);
+        ps.setObject(6, order.getTax(), Types.DOUBLE);
+        ps.setObject(7, order.getGrandTotal(), Types.DOUBLE);
+        ps.setTimestamp(8, Timestamp.valueOf(order.getCreatedAt()));
+        ps.setString(9, order.getPaymentMethod().name());
+        // PaymentDetails.status is mapped as an ordinal
+        ps.setObject(10, order.getPaymentDetails().getStatus().ordinal(), Types.TINYINT);
+        ps.setString(11, order.getPaymentDetails().getStripePaymentIntentId());
+        ps.setString(12, order.getPaymentDetails().getStripePaymentMethodId());
+    }
+}
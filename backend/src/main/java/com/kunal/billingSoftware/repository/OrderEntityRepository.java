@@ -1,28 +1,75 @@
 package com.kunal.billingSoftware.repository;
 
 import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.io.PaymentDetails;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.awt.print.Pageable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderEntityRepository extends JpaRepository<OrderEntity, Long>, JpaSpecificationExecutor<OrderEntity> {
+    @EntityGraph(attributePaths = "items")
     Optional<OrderEntity> findByOrderId(String orderId);
 
+    // Unpaged lists fetch items in the same statement; paged ones rely on the batch size of OrderEntity.items
+    @EntityGraph(attributePaths = "items")
     List<OrderEntity> findAllByOrderByCreatedAtDesc();
 
-    @Query("SELECT SUM(o.grandTotal) FROM OrderEntity o WHERE CAST(o.createdAt AS date) = :date")
-    Double sumSalesByDate(@Param("date") LocalDate date);
+    @Override
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findAll(Specification<OrderEntity> spec);
 
-    @Query("SELECT COUNT(o) FROM OrderEntity o WHERE CAST(o.createdAt AS date) = :date")
-    Long countByOrderDate(@Param("date") LocalDate date);
+    // A day is the half-open range [00:00, next 00:00) so the created_at indexes apply; CAST(created_at AS date)
+    // would have to be evaluated on every row
+    default Double sumSalesByDate(LocalDate date) {
+        return sumSalesBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default Long countByOrderDate(LocalDate date) {
+        return countBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    @Query("SELECT SUM(o.grandTotal) FROM OrderEntity o WHERE o.createdAt >= :start AND o.createdAt < :end")
+    Double sumSalesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(o) FROM OrderEntity o WHERE o.createdAt >= :start AND o.createdAt < :end")
+    Long countBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     @Query("SELECT o FROM OrderEntity o ORDER BY o.createdAt DESC")
     List<OrderEntity> findRecentOrders(PageRequest pageRequest);
+
+    // Keyset pagination on (createdAt, id): only the first page request is used, so no OFFSET is ever issued
+    @Query("SELECT o FROM OrderEntity o ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderEntity> findHistoryFirstPage(PageRequest pageRequest);
+
+    // Written with a leading created_at bound so the OR does not hide the index range from the optimizer
+    @Query("SELECT o FROM OrderEntity o " +
+            "WHERE o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderEntity> findHistoryPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           PageRequest pageRequest);
+
+    // Stripe may deliver webhook events twice or out of order, so a completed payment is never downgraded
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.paymentDetails.status = :status, " +
+            "o.paymentDetails.stripePaymentIntentId = :paymentIntentId, " +
+            "o.paymentDetails.stripePaymentMethodId = COALESCE(:paymentMethodId, o.paymentDetails.stripePaymentMethodId) " +
+            "WHERE o.orderId = :orderId " +
+            "AND (o.paymentDetails.status IS NULL " +
+            "OR o.paymentDetails.status <> com.kunal.billingSoftware.io.PaymentDetails.PaymentStatus.COMPLETED)")
+    int updatePaymentStatus(@Param("orderId") String orderId,
+                            @Param("status") PaymentDetails.PaymentStatus status,
+                            @Param("paymentIntentId") String paymentIntentId,
+                            @Param("paymentMethodId") String paymentMethodId);
 }
@@ -0,0 +1,94 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC read of tbl_orders joined with tbl_order_items for exports. Rows are handed to the caller
+ * one at a time while the cursor is open, so memory use does not grow with the size of the range.
+ */
+@Repository
+public class OrderExportJdbcRepository {
+
+    private static final String SELECT_ORDER_ROWS = "SELECT o.id, o.order_id, o.customer_name, o.phone_number, " +
+            "o.subtotal, o.tax, o.grand_total, o.created_at, o.payment_method, o.status, o.stripe_payment_intent_id, " +
+            "oi.item_id, oi.name AS item_name, oi.price AS item_price, oi.quantity AS item_quantity " +
+            "FROM tbl_orders o LEFT JOIN tbl_order_items oi ON oi.order_id = o.id " +
+            "WHERE o.created_at >= ? AND o.created_at < ? " +
+            "ORDER BY o.created_at, o.id, oi.id";
+
+    private static final PaymentDetails.PaymentStatus[] PAYMENT_STATUSES = PaymentDetails.PaymentStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public OrderExportJdbcRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams every order created in [start, end) with its items, ordered by creation time. Rows of the same
+     * order are always adjacent.
+     */
+    public void streamOrderRows(LocalDateTime start, LocalDateTime end, Consumer<OrderExportRow> consumer) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(SELECT_ORDER_ROWS,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSizeFor(connection));
+                    ps.setTimestamp(1, Timestamp.valueOf(start));
+                    ps.setTimestamp(2, Timestamp.valueOf(end));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private int fetchSizeFor(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Connector/J reads the whole result into memory unless server-side cursors are enabled on the URL
+        // (useCursorFetch=true) or the fetch size is Integer.MIN_VALUE, which streams row by row
+        if ("MySQL".equals(metaData.getDatabaseProductName())
+                && !metaData.getURL().contains("useCursorFetch=true")) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    private OrderExportRow mapRow(ResultSet rs) throws SQLException {
+        // PaymentDetails.status is mapped as an ordinal
+        int status = rs.getInt("status");
+        PaymentDetails.PaymentStatus paymentStatus = rs.wasNull() ? null : PAYMENT_STATUSES[status];
+
+        return new OrderExportRow(
+                rs.getLong("id"),
+                rs.getString("order_id"),
+                rs.getString("customer_name"),
+                rs.getString("phone_number"),
+                rs.getObject("subtotal", Double.class),
+                rs.getObject("tax", Double.class),
+                rs.getObject("grand_total", Double.class),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getString("payment_method"),
+                paymentStatus,
+                rs.getString("stripe_payment_intent_id"),
+                rs.getString("item_id"),
+                rs.getString("item_name"),
+                rs.getObject("item_price", Double.class),
+                rs.getObject("item_quantity", Integer.class));
+    }
+}
@@ -0,0 +1,25 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    // Of two requests redeeming the same token, only one deletes the row; the other gets 0
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.tokenId = :tokenId AND t.expiresAt > :now")
+    int deleteActive(@Param("tokenId") String tokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.email = :email")
+    int deleteByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.email = :email AND t.expiresAt <= :now")
+    int deleteExpired(@Param("email") String email, @Param("now") LocalDateTime now);
+}
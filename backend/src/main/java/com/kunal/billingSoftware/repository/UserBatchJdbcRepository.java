@@ -0,0 +1,59 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC batch inserts for bulk user provisioning; Hibernate cannot batch inserts of IDENTITY keyed
+ * entities. Must be called inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchJdbcRepository {
+
+    private static final String INSERT_USER = "INSERT INTO tbl_users " +
+            "(user_id, email, password, role, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the users with one JDBC batch. Sets their timestamps, which @CreationTimestamp only does for
+     * entities persisted through Hibernate.
+     */
+    public void insertUsers(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (UserEntity user : users) {
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            rows.add(new Object[]{user.getUserId(), user.getEmail(), user.getPassword(), user.getRole(),
+                    user.getName(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, rows);
+    }
+
+    /** The subset of {@code emails} that already belong to a user. */
+    public Set<String> findExistingEmails(List<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(emails.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email FROM tbl_users WHERE email IN (" + placeholders + ")",
+                String.class,
+                emails.toArray()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+
+import java.time.LocalDate;
+
+public interface DailySalesRollupService {
+    void recordOrder(OrderEntity order);
+
+    void reverseOrder(OrderEntity order);
+
+    void recordSales(LocalDate salesDate, Double amount, Long orders);
+
+    Double getTotalSales(LocalDate date);
+
+    Long getOrderCount(LocalDate date);
+
+    int rebuild(LocalDate from, LocalDate to);
+}
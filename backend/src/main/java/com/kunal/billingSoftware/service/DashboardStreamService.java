@@ -0,0 +1,9 @@
+package com.kunal.billingSoftware.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+    SseEmitter subscribe();
+
+    void markChanged();
+}
@@ -1,11 +1,27 @@
 package com.kunal.billingSoftware.service;
 
+import com.kunal.billingSoftware.io.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
+import java.util.List;
+
 public interface FileUploadService {
-    String uploadFile(MultipartFile file);
+    StoredImage uploadFile(MultipartFile file);
     boolean deleteFile(String imgUrl);
 
+    /**
+     * Deletes the image and its thumbnail without checking references, unless the image was modified after
+     * {@code unmodifiedSince}, which means it was uploaded again. Returns false if nothing was deleted.
+     */
+    boolean deleteStoredImage(String imageUrl, Instant unmodifiedSince);
+
+    /** Images (not thumbnails) last modified before {@code modifiedBefore}, relative to the upload directory. */
+    List<String> listStoredImages(Instant modifiedBefore);
+
+    /** Removes temporary files of uploads that never finished. Returns how many were removed. */
+    int deleteAbandonedTempFiles(Instant modifiedBefore);
+
     interface ItemService {
     }
 }
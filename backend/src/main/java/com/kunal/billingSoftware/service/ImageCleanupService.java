@@ -0,0 +1,12 @@
+package com.kunal.billingSoftware.service;
+
+public interface ImageCleanupService {
+    /** Queues the image of a deleted item or category for deletion. Null is ignored. */
+    void enqueue(String imageUrl);
+
+    /** Works through the queued images that are due. Returns how many queue entries were settled. */
+    int reap();
+
+    /** Deletes image files no item or category points at, and abandoned uploads. Returns the files deleted. */
+    int sweep();
+}
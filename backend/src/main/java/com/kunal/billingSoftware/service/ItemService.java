@@ -1,8 +1,8 @@
 package com.kunal.billingSoftware.service;
 
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
 import com.kunal.billingSoftware.io.ItemRequest;
 import com.kunal.billingSoftware.io.ItemResponse;
-import com.kunal.billingSoftware.repository.ItemRepository;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -10,5 +10,7 @@ import java.util.List;
 public interface ItemService {
     ItemResponse add(ItemRequest request, MultipartFile file);
     List<ItemResponse> fetchItems();
+    CatalogSnapshot getCatalogSnapshot();
+    List<ItemResponse> searchItems(String query, int limit);
     void deleteItem(String itemId);
 }
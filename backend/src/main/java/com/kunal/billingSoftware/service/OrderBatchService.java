@@ -0,0 +1,10 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.io.OrderBatchResponse;
+import com.kunal.billingSoftware.io.OrderRequest;
+
+import java.util.List;
+
+public interface OrderBatchService {
+    OrderBatchResponse createOrders(List<OrderRequest> requests);
+}
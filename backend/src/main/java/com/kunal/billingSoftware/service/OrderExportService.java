@@ -0,0 +1,11 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.io.OrderExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface OrderExportService {
+    void exportOrders(LocalDate from, LocalDate to, OrderExportFormat format, OutputStream out) throws IOException;
+}
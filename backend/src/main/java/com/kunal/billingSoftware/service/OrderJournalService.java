@@ -0,0 +1,9 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+
+public interface OrderJournalService {
+    void append(OrderEntity order);
+
+    int flush();
+}
@@ -1,6 +1,7 @@
 package com.kunal.billingSoftware.service;
 
 import com.kunal.billingSoftware.io.OrderFilterRequest;
+import com.kunal.billingSoftware.io.OrderHistoryResponse;
 import com.kunal.billingSoftware.io.OrderRequest;
 import com.kunal.billingSoftware.io.OrderResponse;
 import com.kunal.billingSoftware.io.PaymentVerificationRequest;
@@ -16,8 +17,12 @@ public interface OrderService {
 
     List<OrderResponse> getLatestOrders();
 
+    OrderHistoryResponse getOrderHistory(String cursor, Integer size);
+
     List<OrderResponse> getFilteredOrder(OrderFilterRequest orderFilterRequest);
 
+    OrderResponse getOrder(String orderId);
+
     OrderResponse verifyPayment(PaymentVerificationRequest request);
 
     Double sumSalesByDate(LocalDate date);
@@ -0,0 +1,10 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+
+import java.util.List;
+
+public interface PricingService {
+    QuoteResponse quote(List<QuoteRequest.QuoteItemRequest> cartItems);
+}
@@ -0,0 +1,17 @@
+package com.kunal.billingSoftware.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface RefreshTokenService {
+    /** Stores a new refresh token for the user and returns it. */
+    String issue(UserDetails userDetails);
+
+    /**
+     * Uses up the refresh token and returns its subject. Throws 401 if the token is not a valid refresh token
+     * or was already used or revoked.
+     */
+    String redeem(String refreshToken);
+
+    /** Revokes every refresh token of the user. */
+    void revokeAll(String email);
+}
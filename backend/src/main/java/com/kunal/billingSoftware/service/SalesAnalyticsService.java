@@ -0,0 +1,25 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import com.kunal.billingSoftware.io.SalesPeriodResponse;
+import com.kunal.billingSoftware.io.TopItemResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+    void recordOrder(OrderEntity order);
+
+    void recordOrders(List<OrderEntity> orders);
+
+    void reverseOrder(OrderEntity order);
+
+    List<SalesPeriodResponse> getRevenue(SalesPeriod period, LocalDate from, LocalDate to,
+                                         String categoryId, PaymentMethod paymentMethod);
+
+    List<TopItemResponse> getTopItems(LocalDate from, LocalDate to, int limit, SalesMetric metric,
+                                      String categoryId, PaymentMethod paymentMethod);
+}
@@ -5,5 +5,5 @@ import com.kunal.billingSoftware.io.StripePaymentResponse;
 import com.stripe.exception.StripeException;
 
 public interface StripeService {
-    StripeCheckoutResponse createCheckoutSession(Double amount, String currency) throws StripeException;
+    StripeCheckoutResponse createCheckoutSession(Double amount, String currency, String orderId) throws StripeException;
 }
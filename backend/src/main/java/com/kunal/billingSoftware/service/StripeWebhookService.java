@@ -0,0 +1,5 @@
+package com.kunal.billingSoftware.service;
+
+public interface StripeWebhookService {
+    void handleEvent(String payload, String signatureHeader);
+}
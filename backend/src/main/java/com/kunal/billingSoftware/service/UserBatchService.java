@@ -0,0 +1,12 @@
+package com.kunal.billingSoftware.service;
+
+import com.kunal.billingSoftware.io.UserBatchResponse;
+import com.kunal.billingSoftware.io.UserRequest;
+
+import java.util.List;
+
+public interface UserBatchService {
+    UserBatchResponse createUsers(List<UserRequest> requests);
+
+    UserBatchResponse createUsersFromCsv(String csv);
+}
@@ -1,5 +1,6 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.entity.UserEntity;
 import com.kunal.billingSoftware.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,8 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class AppUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         UserEntity existingUser = userRepository.findByEmail(email)
@@ -23,4 +26,19 @@ public class AppUserDetailsService implements UserDetailsService {
 
         return new User(existingUser.getEmail(), existingUser.getPassword(), Collections.singleton(new SimpleGrantedAuthority(existingUser.getRole())));
     }
+
+    /**
+     * Principal lookup for requests that already carry a valid token. Served from the principal cache;
+     * only misses go to tbl_users. Login keeps using {@link #loadUserByUsername(String)}, which needs the password.
+     */
+    public UserDetails loadUserForToken(String email) throws UsernameNotFoundException {
+        UserDetails cached = userPrincipalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetails userDetails = loadUserByUsername(email);
+        userPrincipalCache.put(userDetails);
+        return userDetails;
+    }
 }
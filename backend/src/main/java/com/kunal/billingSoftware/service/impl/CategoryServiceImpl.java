@@ -4,19 +4,25 @@ import com.kunal.billingSoftware.entity.CategoryEntity;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.io.CategoryRequest;
 import com.kunal.billingSoftware.io.CategoryResponse;
+import com.kunal.billingSoftware.io.StoredImage;
+import com.kunal.billingSoftware.projection.CategoryItemCountProjection;
 import com.kunal.billingSoftware.repository.CategoryRepository;
 import com.kunal.billingSoftware.repository.ItemRepository;
 import com.kunal.billingSoftware.service.CategoryService;
 import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("billing.service")
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
@@ -25,20 +31,30 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final ItemRepository itemRepository;
 
+    private final ImageCleanupService imageCleanupService;
+
     @Override
     public CategoryResponse add(CategoryRequest request, MultipartFile file) {
-        String imgUrl = fileUploadService.uploadFile(file);
+        StoredImage image = fileUploadService.uploadFile(file);
         CategoryEntity newCategory = convertToEntity(request);
-        newCategory.setImageUrl(imgUrl);
+        newCategory.setImageUrl(image.imageUrl());
+        newCategory.setThumbnailUrl(image.thumbnailUrl());
         newCategory = categoryRepository.save(newCategory);
-        return convertToResponse(newCategory);
+        // Nothing can reference a category that did not exist until now
+        return convertToResponse(newCategory, 0);
     }
 
     @Override
     public List<CategoryResponse> getAll() {
+        // One grouped COUNT for all categories instead of one COUNT per category
+        Map<Long, Integer> itemCounts = itemRepository.countItemsGroupedByCategory()
+                .stream()
+                .collect(Collectors.toMap(CategoryItemCountProjection::getCategoryId,
+                        projection -> projection.getItemCount().intValue()));
+
         return categoryRepository.findAll()
                 .stream()
-                .map(categoryEntity -> convertToResponse(categoryEntity))
+                .map(categoryEntity -> convertToResponse(categoryEntity, itemCounts.getOrDefault(categoryEntity.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
@@ -47,18 +63,20 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryEntity category = categoryRepository.findByCategoryId(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
 
-        fileUploadService.deleteFile(category.getImageUrl());
         categoryRepository.deleteById(category.getId());
+        // The file is deleted in the background, and only if no item or other category shares it
+        imageCleanupService.enqueue(category.getImageUrl());
     }
 
-    private CategoryResponse convertToResponse(CategoryEntity newCategory) {
-        Integer totalItems = itemRepository.countByCategoryId(newCategory.getId());
+    private CategoryResponse convertToResponse(CategoryEntity newCategory, Integer totalItems) {
         return CategoryResponse.builder()
                 .name(newCategory.getName())
                 .description(newCategory.getDescription())
                 .categoryId(newCategory.getCategoryId())
                 .bgColor(newCategory.getBgColor())
                 .imageUrl(newCategory.getImageUrl())
+                // Categories created before thumbnails existed fall back to the full image
+                .thumbnailUrl(newCategory.getThumbnailUrl() != null ? newCategory.getThumbnailUrl() : newCategory.getImageUrl())
                 .createdAt(newCategory.getCreatedAt())
                 .updatedAt(newCategory.getUpdatedAt())
                 .items(totalItems)
@@ -0,0 +1,130 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.DailySalesRollupEntity;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.repository.DailySalesRollupRepository;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+public class DailySalesRollupServiceImpl implements DailySalesRollupService {
+
+    private final DailySalesRollupRepository rollupRepository;
+    private final OrderEntityRepository orderEntityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
+    public DailySalesRollupServiceImpl(DailySalesRollupRepository rollupRepository,
+                                       OrderEntityRepository orderEntityRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.orderEntityRepository = orderEntityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void recordOrder(OrderEntity order) {
+        applyDelta(salesDateOf(order), amountOf(order), 1L);
+    }
+
+    @Override
+    @Transactional
+    public void reverseOrder(OrderEntity order) {
+        applyDelta(salesDateOf(order), -amountOf(order), -1L);
+    }
+
+    @Override
+    @Transactional
+    public void recordSales(LocalDate salesDate, Double amount, Long orders) {
+        applyDelta(salesDate, amount, orders);
+    }
+
+    @Override
+    public Double getTotalSales(LocalDate date) {
+        return rollupRepository.findById(date)
+                .map(DailySalesRollupEntity::getTotalSales)
+                .orElse(null);
+    }
+
+    @Override
+    public Long getOrderCount(LocalDate date) {
+        return rollupRepository.findById(date)
+                .map(DailySalesRollupEntity::getOrderCount)
+                .orElse(0L);
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        int daysRebuilt = 0;
+        // One short transaction per day so a long backfill never holds locks on the rollup rows of live days
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            rebuildDay(day);
+            daysRebuilt++;
+        }
+        return daysRebuilt;
+    }
+
+    private void rebuildDay(LocalDate day) {
+        createRowIfAbsent(day);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Locking the row first makes concurrent checkouts wait, so their increments land on the recount
+            DailySalesRollupEntity rollup = rollupRepository.findForUpdate(day)
+                    .orElseThrow(() -> new IllegalStateException("Rollup row missing for " + day));
+
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = day.plusDays(1).atStartOfDay();
+            Double totalSales = orderEntityRepository.sumSalesBetween(start, end);
+            Long orderCount = orderEntityRepository.countBetween(start, end);
+
+            rollup.setTotalSales(totalSales != null ? totalSales : 0.0);
+            rollup.setOrderCount(orderCount != null ? orderCount : 0L);
+            rollup.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    private void applyDelta(LocalDate salesDate, Double amount, Long orders) {
+        LocalDateTime now = LocalDateTime.now();
+        if (rollupRepository.addToDay(salesDate, amount, orders, now) == 0) {
+            createRowIfAbsent(salesDate);
+            rollupRepository.addToDay(salesDate, amount, orders, now);
+        }
+    }
+
+    private void createRowIfAbsent(LocalDate salesDate) {
+        try {
+            // Separate transaction: a duplicate key here must not poison the caller's checkout transaction
+            requiresNewTransactionTemplate.executeWithoutResult(status -> {
+                if (!rollupRepository.existsById(salesDate)) {
+                    rollupRepository.saveAndFlush(DailySalesRollupEntity.builder()
+                            .salesDate(salesDate)
+                            .totalSales(0.0)
+                            .orderCount(0L)
+                            .updatedAt(LocalDateTime.now())
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another till created the row first, which is all we needed
+        }
+    }
+
+    private LocalDate salesDateOf(OrderEntity order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+
+    private Double amountOf(OrderEntity order) {
+        return order.getGrandTotal() != null ? order.getGrandTotal() : 0.0;
+    }
+}
@@ -0,0 +1,209 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.DashboardResponse;
+import com.kunal.billingSoftware.io.DashboardUpdateResponse;
+import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the dashboard to open manager screens over Server-Sent Events. A subscriber first gets a
+ * {@code snapshot} event (the body of {@code GET /dashboard}), then an {@code update} event
+ * ({@link DashboardUpdateResponse}) whenever orders change.
+ * <p>
+ * Changes only mark the dashboard dirty, after their transaction commits. A single thread then computes the
+ * next frame at most once per {@code dashboard.push-interval-ms}, serializes it once and writes the same JSON to
+ * every subscriber, so a burst of checkouts costs one set of dashboard queries however many screens are open.
+ * With no subscribers nothing is computed.
+ */
+@Slf4j
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String UPDATE_EVENT = "update";
+
+    private final ObjectProvider<OrderService> orderService;
+    private final ObjectMapper objectMapper;
+    private final long pushIntervalNanos;
+    private final long emitterTimeoutMillis;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    // Computes frames and writes to subscribers; everything below is only touched on this thread
+    private final ScheduledExecutorService pusher;
+    private volatile long lastFrameNanos;
+    private DashboardResponse current;
+
+    public DashboardStreamServiceImpl(ObjectProvider<OrderService> orderService,
+                                      ObjectMapper objectMapper,
+                                      @Value("${dashboard.push-interval-ms:1000}") long pushIntervalMillis,
+                                      @Value("${dashboard.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+                                      @Value("${dashboard.emitter-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        // OrderService reports its changes here, so it is looked up on first use rather than injected
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.pushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pushIntervalMillis);
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.lastFrameNanos = System.nanoTime() - pushIntervalNanos;
+        this.pusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dashboard-push").daemon(true).factory());
+        // Keeps idle connections open through proxies and finds clients that went away
+        pusher.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        // Ends the stream cleanly; EventSource clients reconnect on their own
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(emitter));
+
+        pusher.execute(() -> {
+            // Queued behind any frame in progress, so the snapshot and the updates after it line up
+            try {
+                if (current == null) {
+                    current = computeDashboard();
+                    lastFrameNanos = System.nanoTime();
+                }
+                if (send(emitter, SNAPSHOT_EVENT, objectMapper.writeValueAsString(current))) {
+                    subscribers.add(emitter);
+                }
+            } catch (JsonProcessingException | RuntimeException ex) {
+                log.warn("Could not send the dashboard snapshot", ex);
+                emitter.completeWithError(ex);
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleFrame();
+                }
+            });
+        } else {
+            scheduleFrame();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pusher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void scheduleFrame() {
+        // Changes while a frame is pending ride along with it
+        if (framePending.compareAndSet(false, true)) {
+            long wait = lastFrameNanos + pushIntervalNanos - System.nanoTime();
+            pusher.schedule(this::pushFrame, Math.max(0, wait), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void pushFrame() {
+        // Cleared before reading, so a change committed during the computation schedules the next frame
+        framePending.set(false);
+        lastFrameNanos = System.nanoTime();
+        if (subscribers.isEmpty()) {
+            // Recomputed for the next subscriber instead of kept current for nobody
+            current = null;
+            return;
+        }
+
+        try {
+            DashboardResponse previous = current;
+            DashboardResponse next = computeDashboard();
+            current = next;
+            String event = previous == null ? SNAPSHOT_EVENT : UPDATE_EVENT;
+            String json = objectMapper.writeValueAsString(previous == null ? next : diff(previous, next));
+            subscribers.forEach(emitter -> send(emitter, event, json));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // Subscribers keep the last frame; the next change tries again
+            current = null;
+            log.warn("Could not push the dashboard", ex);
+        }
+    }
+
+    private DashboardResponse computeDashboard() {
+        OrderService orders = orderService.getObject();
+        LocalDate today = LocalDate.now();
+        Double todaySales = orders.sumSalesByDate(today);
+        Long todayOrderCount = orders.countByOrderDate(today);
+        return new DashboardResponse(
+                todaySales != null ? todaySales : 0.00,
+                todayOrderCount != null ? todayOrderCount : 0,
+                orders.findRecentOrders());
+    }
+
+    static DashboardUpdateResponse diff(DashboardResponse previous, DashboardResponse next) {
+        Map<String, OrderResponse> before = previous.getRecentOrders().stream()
+                .collect(Collectors.toMap(OrderResponse::getOrderId, Function.identity()));
+        Map<String, OrderResponse> after = next.getRecentOrders().stream()
+                .collect(Collectors.toMap(OrderResponse::getOrderId, Function.identity()));
+
+        return DashboardUpdateResponse.builder()
+                .todaySales(next.getTodaySales())
+                .todayOrderCount(next.getTodayOrderCount())
+                .changedOrders(next.getRecentOrders().stream()
+                        .filter(order -> !order.equals(before.get(order.getOrderId())))
+                        .collect(Collectors.toList()))
+                .removedOrderIds(before.keySet().stream()
+                        .filter(orderId -> !after.containsKey(orderId))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(emitter);
+            }
+        });
+    }
+
+    private boolean send(SseEmitter emitter, String event, String json) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // The client disconnected or the emitter timed out; the container completes the request
+            subscribers.remove(emitter);
+            return false;
+        }
+    }
+}
@@ -1,27 +1,67 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.io.StoredImage;
+import com.kunal.billingSoftware.repository.CategoryRepository;
+import com.kunal.billingSoftware.repository.ItemRepository;
 import com.kunal.billingSoftware.service.FileUploadService;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 
+/**
+ * Stores uploads content-addressed: the file name is the SHA-256 of the bytes, under two levels of shard
+ * directories taken from the hash ({@code ab/cd/abcd...ef.png}). Uploading the same picture twice stores it
+ * once. A JPEG thumbnail that fits in {@code file.thumbnail-size} pixels is written next to each image.
+ */
+@Slf4j
 @Service
 public class FileUploadServiceImpl implements FileUploadService {
 
-    private final Path uploadPath;
+    static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+    private static final float THUMBNAIL_QUALITY = 0.85f;
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private final Path uploadPath;
+    private final int thumbnailSize;
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
 
-    public FileUploadServiceImpl(@Value("${file.upload-dir}") String uploadDir) {
+    public FileUploadServiceImpl(@Value("${file.upload-dir}") String uploadDir,
+                                 @Value("${file.thumbnail-size:256}") int thumbnailSize,
+                                 ItemRepository itemRepository,
+                                 CategoryRepository categoryRepository) {
         this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.thumbnailSize = thumbnailSize;
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
         try {
             if (!Files.exists(uploadPath)) {
                 Files.createDirectories(uploadPath);
@@ -32,39 +72,225 @@ public class FileUploadServiceImpl implements FileUploadService {
     }
 
     @Override
-    public String uploadFile(MultipartFile file) {
+    public StoredImage uploadFile(MultipartFile file) {
+        Path temp = null;
         try {
-            String filename = generateUniqueFilename(file.getOriginalFilename());
-            Path dest = uploadPath.resolve(filename);
+            // Hash while copying to a temporary file, so the upload is read only once
+            temp = Files.createTempFile(uploadPath, ".upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
 
-            file.transferTo(dest.toFile());
+            String imageUrl = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash
+                    + extensionOf(file.getOriginalFilename());
+            Path image = resolve(imageUrl);
+            if (Files.exists(image)) {
+                Files.delete(temp);
+                // Marks the image as in use again, so a pending cleanup of the same content leaves it alone
+                Files.setLastModifiedTime(image, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(image.getParent());
+                // Same name means same bytes, so losing a race against an identical upload is harmless
+                Files.move(temp, image, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
 
-            // Return a URL instead of local path
-            return filename;
+            return new StoredImage(imageUrl, createThumbnail(imageUrl, image));
         } catch (IOException e) {
-            e.printStackTrace();
             throw new RuntimeException("Failed to upload file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Left for the next cleanup of the upload directory
+                }
+            }
         }
     }
 
+    /**
+     * Deletes the image and its thumbnail unless another item or category still points at the same content.
+     * Callers delete their own row first.
+     */
     @Override
     public boolean deleteFile(String imgUrl) {
+        if (imgUrl == null || itemRepository.existsByImgUrl(imgUrl) || categoryRepository.existsByImageUrl(imgUrl)) {
+            return false;
+        }
+        try {
+            Path image = resolve(imgUrl);
+            Files.deleteIfExists(thumbnailPathOf(image));
+            return Files.deleteIfExists(image);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not delete {}", imgUrl, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteStoredImage(String imageUrl, Instant unmodifiedSince) {
+        Path image;
+        try {
+            image = resolve(imageUrl);
+        } catch (IllegalArgumentException e) {
+            log.warn("Not deleting {}: {}", imageUrl, e.getMessage());
+            return false;
+        }
         try {
-            Path path = uploadPath.resolve(Paths.get(imgUrl).getFileName().toString());
-            return Files.deleteIfExists(path);
+            if (Files.exists(image) && Files.getLastModifiedTime(image).toInstant().isAfter(unmodifiedSince)) {
+                return false;
+            }
+            Files.deleteIfExists(thumbnailPathOf(image));
+            return Files.deleteIfExists(image);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete " + imageUrl, e);
+        }
+    }
+
+    @Override
+    public List<String> listStoredImages(Instant modifiedBefore) {
+        try (Stream<Path> files = Files.walk(uploadPath)) {
+            return files
+                    .filter(file -> !isTempFile(file) && !file.getFileName().toString().endsWith(THUMBNAIL_SUFFIX))
+                    .filter(file -> isRegularFileModifiedBefore(file, modifiedBefore))
+                    .map(file -> uploadPath.relativize(file).toString().replace('\\', '/'))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + uploadPath, e);
+        }
+    }
+
+    @Override
+    public int deleteAbandonedTempFiles(Instant modifiedBefore) {
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(uploadPath)) {
+            List<Path> abandoned = files
+                    .filter(file -> isTempFile(file) && isRegularFileModifiedBefore(file, modifiedBefore))
+                    .collect(Collectors.toList());
+            for (Path file : abandoned) {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException("Could not clean up " + uploadPath, e);
+        }
+        return deleted;
+    }
+
+    // The temporary files of uploadFile and createThumbnail, left behind when the process died mid-upload
+    private static boolean isTempFile(Path file) {
+        String name = file.getFileName().toString();
+        return (name.startsWith(".upload-") || name.startsWith(".thumb-")) && name.endsWith(".tmp");
+    }
+
+    private static boolean isRegularFileModifiedBefore(Path file, Instant modifiedBefore) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(modifiedBefore);
+        } catch (IOException e) {
+            // Deleted while the directory was walked
             return false;
         }
     }
 
-    private String generateUniqueFilename(String originalFilename) {
-        String ext = "";
-        int dotIndex = originalFilename.lastIndexOf(".");
-        if (dotIndex >= 0) {
-            ext = originalFilename.substring(dotIndex);
+    private String createThumbnail(String imageUrl, Path image) throws IOException {
+        Path thumbnail = thumbnailPathOf(image);
+        String thumbnailUrl = uploadPath.relativize(thumbnail).toString().replace('\\', '/');
+        if (Files.exists(thumbnail)) {
+            return thumbnailUrl;
         }
 
-        return UUID.randomUUID().toString() + ext;
+        BufferedImage source = ImageIO.read(image.toFile());
+        if (source == null) {
+            // No ImageIO reader for this format (e.g. WebP, SVG): clients fall back to the original
+            return imageUrl;
+        }
+
+        Path temp = Files.createTempFile(thumbnail.getParent(), ".thumb-", ".tmp");
+        try {
+            writeJpeg(scaleToFit(source, thumbnailSize), temp);
+            Files.move(temp, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return thumbnailUrl;
+    }
+
+    /**
+     * Scales so the longer side is at most {@code maxSize}, halving at a time: a single bilinear pass from a
+     * large photo samples only a few source pixels per target pixel and aliases badly. Transparent areas
+     * become white, as JPEG has no alpha.
+     */
+    static BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width > targetWidth || height > targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(THUMBNAIL_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static Path thumbnailPathOf(Path image) {
+        String fileName = image.getFileName().toString();
+        int dotIndex = fileName.lastIndexOf('.');
+        String baseName = dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+        return image.resolveSibling(baseName + THUMBNAIL_SUFFIX);
+    }
+
+    private Path resolve(String imageUrl) {
+        Path path = uploadPath.resolve(imageUrl).normalize();
+        if (!path.startsWith(uploadPath)) {
+            throw new IllegalArgumentException("Image path is outside the upload directory: " + imageUrl);
+        }
+        return path;
+    }
+
+    // Lower-cased and restricted to letters and digits, since it becomes part of a served path
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        int dotIndex = originalFilename.lastIndexOf('.');
+        if (dotIndex < 0) {
+            return "";
+        }
+        String ext = originalFilename.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,10}") ? "." + ext : "";
     }
 }
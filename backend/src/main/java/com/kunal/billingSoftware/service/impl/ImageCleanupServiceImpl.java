@@ -0,0 +1,237 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.ImageCleanupEntity;
+import com.kunal.billingSoftware.repository.CategoryRepository;
+import com.kunal.billingSoftware.repository.ImageCleanupRepository;
+import com.kunal.billingSoftware.repository.ItemRepository;
+import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Deletes image files off the request path. Deleting an item or category only queues its image in
+ * {@code tbl_image_cleanup}; a background thread deletes queued images every {@code images.cleanup.interval-ms},
+ * {@code images.cleanup.batch-size} at a time, with one reference check per table for the whole batch. Failed
+ * deletions are retried with backoff up to {@code images.cleanup.max-attempts} times.
+ * <p>
+ * Every {@code images.cleanup.sweep-interval-ms} the upload directory is also reconciled against the image
+ * columns, which catches files the queue gave up on, files orphaned before the queue existed and abandoned
+ * uploads. Files younger than {@code images.cleanup.sweep-min-age-ms} are left alone, since an upload is
+ * stored before the row that points at it.
+ */
+@Slf4j
+@Service
+public class ImageCleanupServiceImpl implements ImageCleanupService {
+
+    private static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+    private static final String UPLOADS_PATH = "/uploads/";
+
+    private final ImageCleanupRepository imageCleanupRepository;
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
+    private final FileUploadService fileUploadService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration sweepMinAge;
+    private ScheduledExecutorService cleaner;
+
+    @Autowired
+    public ImageCleanupServiceImpl(ImageCleanupRepository imageCleanupRepository,
+                                   ItemRepository itemRepository,
+                                   CategoryRepository categoryRepository,
+                                   FileUploadService fileUploadService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${images.cleanup.enabled:true}") boolean enabled,
+                                   @Value("${images.cleanup.interval-ms:10000}") long intervalMillis,
+                                   @Value("${images.cleanup.batch-size:100}") int batchSize,
+                                   @Value("${images.cleanup.max-attempts:5}") int maxAttempts,
+                                   @Value("${images.cleanup.sweep-interval-ms:86400000}") long sweepIntervalMillis,
+                                   @Value("${images.cleanup.sweep-min-age-ms:3600000}") long sweepMinAgeMillis) {
+        this(imageCleanupRepository, itemRepository, categoryRepository, fileUploadService, transactionManager,
+                Clock.systemDefaultZone(), intervalMillis, batchSize, maxAttempts, sweepMinAgeMillis);
+        if (enabled) {
+            cleaner = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("image-cleanup").daemon(true).factory());
+            cleaner.scheduleWithFixedDelay(() -> run(this::reap), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            cleaner.scheduleWithFixedDelay(() -> run(this::sweep), sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    ImageCleanupServiceImpl(ImageCleanupRepository imageCleanupRepository,
+                            ItemRepository itemRepository,
+                            CategoryRepository categoryRepository,
+                            FileUploadService fileUploadService,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock,
+                            long intervalMillis,
+                            int batchSize,
+                            int maxAttempts,
+                            long sweepMinAgeMillis) {
+        this.imageCleanupRepository = imageCleanupRepository;
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.fileUploadService = fileUploadService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.retryDelay = Duration.ofMillis(intervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.sweepMinAge = Duration.ofMillis(sweepMinAgeMillis);
+    }
+
+    @Override
+    public void enqueue(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        imageCleanupRepository.save(ImageCleanupEntity.builder()
+                .imageUrl(imageUrl)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    @Override
+    public synchronized int reap() {
+        int settled = 0;
+        List<ImageCleanupEntity> due;
+        do {
+            // Every entry of a batch is either removed or rescheduled into the future, so this terminates
+            due = imageCleanupRepository.findDue(LocalDateTime.now(clock), PageRequest.of(0, batchSize));
+            settled += reapBatch(due);
+        } while (due.size() == batchSize);
+        return settled;
+    }
+
+    @Override
+    public synchronized int sweep() {
+        Instant cutoff = clock.instant().minus(sweepMinAge);
+        // Read before listing the files: an image stored after this point is younger than the cutoff
+        Set<String> referenced = Stream.concat(itemRepository.findAllImgUrls().stream(),
+                        categoryRepository.findAllImageUrls().stream())
+                .map(ImageCleanupServiceImpl::storedPath)
+                .collect(Collectors.toSet());
+
+        int deleted = 0;
+        for (String image : fileUploadService.listStoredImages(cutoff)) {
+            if (referenced.contains(image)) {
+                continue;
+            }
+            try {
+                if (fileUploadService.deleteStoredImage(image, cutoff)) {
+                    deleted++;
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Could not delete orphaned image {}", image, e);
+            }
+        }
+        deleted += fileUploadService.deleteAbandonedTempFiles(cutoff);
+        if (deleted > 0) {
+            log.info("Image sweep deleted {} orphaned files", deleted);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    private int reapBatch(List<ImageCleanupEntity> due) {
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Set<String> imageUrls = due.stream()
+                .map(ImageCleanupEntity::getImageUrl)
+                .collect(Collectors.toSet());
+        Set<String> referenced = new HashSet<>(itemRepository.findReferencedImgUrls(imageUrls));
+        referenced.addAll(categoryRepository.findReferencedImageUrls(imageUrls));
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ImageCleanupEntity> settled = new ArrayList<>();
+        List<ImageCleanupEntity> retry = new ArrayList<>();
+        for (ImageCleanupEntity cleanup : due) {
+            // Another item or category uses the same content, so there is nothing to delete
+            if (!referenced.contains(cleanup.getImageUrl())) {
+                try {
+                    // Skipped if the image was uploaded again after it was queued
+                    fileUploadService.deleteStoredImage(storedPath(cleanup.getImageUrl()),
+                            cleanup.getCreatedAt().atZone(clock.getZone()).toInstant());
+                } catch (UncheckedIOException e) {
+                    int attempts = cleanup.getAttempts() + 1;
+                    if (attempts < maxAttempts) {
+                        cleanup.setAttempts(attempts);
+                        cleanup.setLastError(truncate(e.getCause().toString()));
+                        cleanup.setNextAttemptAt(now.plus(backoff(attempts)));
+                        retry.add(cleanup);
+                        continue;
+                    }
+                    log.warn("Giving up on deleting {} after {} attempts; the next sweep retries it",
+                            cleanup.getImageUrl(), attempts, e);
+                }
+            }
+            settled.add(cleanup);
+        }
+
+        // Files go first: if this fails the entries are simply processed again, and deleting is idempotent
+        transactionTemplate.executeWithoutResult(status -> {
+            imageCleanupRepository.deleteAllInBatch(settled);
+            imageCleanupRepository.saveAll(retry);
+        });
+        return settled.size();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryDelay.compareTo(MIN_RETRY_DELAY) < 0 ? MIN_RETRY_DELAY : retryDelay;
+        delay = delay.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    // Rows written before uploads were stored by relative path may hold a full URL
+    static String storedPath(String imageUrl) {
+        int uploads = imageUrl.indexOf(UPLOADS_PATH);
+        return uploads >= 0 ? imageUrl.substring(uploads + UPLOADS_PATH.length()) : imageUrl;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 512 ? message : message.substring(0, 512);
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // A failed run must not cancel the schedule; the next one tries again
+            log.warn("Image cleanup failed", e);
+        }
+    }
+}
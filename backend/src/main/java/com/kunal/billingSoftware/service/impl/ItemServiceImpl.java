@@ -1,14 +1,20 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
+import com.kunal.billingSoftware.cache.ItemSearchIndex;
 import com.kunal.billingSoftware.entity.CategoryEntity;
 import com.kunal.billingSoftware.entity.ItemEntity;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.io.ItemRequest;
 import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.StoredImage;
 import com.kunal.billingSoftware.repository.CategoryRepository;
 import com.kunal.billingSoftware.repository.ItemRepository;
 import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
 import com.kunal.billingSoftware.service.ItemService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,24 +26,32 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("billing.service")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
     private final FileUploadService fileUploadService;
     private final CategoryRepository categoryRepository;
     private final ItemRepository itemRepository;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ImageCleanupService imageCleanupService;
 
     @Override
     public ItemResponse add(ItemRequest request, MultipartFile file) {
-        String imageUrl = fileUploadService.uploadFile(file);
+        StoredImage image = fileUploadService.uploadFile(file);
         ItemEntity newItem = convertToEntity(request);
         CategoryEntity category = categoryRepository.findByCategoryId(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getCategoryId()));
         newItem.setCategory(category);
-        newItem.setImgUrl(imageUrl);
+        newItem.setImgUrl(image.imageUrl());
+        newItem.setThumbnailUrl(image.thumbnailUrl());
         newItem = itemRepository.save(newItem);
+        catalogSnapshotCache.rebuild(this::loadCatalog);
 
-        return convertToResponse(newItem);
+        ItemResponse response = convertToResponse(newItem);
+        itemSearchIndex.put(response);
+        return response;
     }
 
     private ItemResponse convertToResponse(ItemEntity newItem) {
@@ -47,6 +61,8 @@ public class ItemServiceImpl implements ItemService {
                 .description(newItem.getDescription())
                 .price(newItem.getPrice())
                 .imageUrl(newItem.getImgUrl())
+                // Items uploaded before thumbnails existed fall back to the full image
+                .thumbnailUrl(newItem.getThumbnailUrl() != null ? newItem.getThumbnailUrl() : newItem.getImgUrl())
                 .categoryName(newItem.getCategory().getName())
                 .categoryId(newItem.getCategory().getCategoryId())
                 .createdAt(newItem.getCreatedAt())
@@ -65,7 +81,22 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemResponse> fetchItems() {
-        return itemRepository.findAll()
+        return getCatalogSnapshot().items();
+    }
+
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        return catalogSnapshotCache.get(this::loadCatalog);
+    }
+
+    @Override
+    public List<ItemResponse> searchItems(String query, int limit) {
+        itemSearchIndex.ensureLoaded(this::fetchItems);
+        return itemSearchIndex.search(query, limit);
+    }
+
+    private List<ItemResponse> loadCatalog() {
+        return itemRepository.findAllWithCategory()
                 .stream()
                 .map(itemEntity -> convertToResponse(itemEntity))
                 .collect(Collectors.toList());
@@ -75,7 +106,10 @@ public class ItemServiceImpl implements ItemService {
     public void deleteItem(String itemId) {
         ItemEntity item = itemRepository.findByItemId(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
-        boolean isFileDeleted = fileUploadService.deleteFile(item.getImgUrl());
         itemRepository.delete(item);
+        // The file is deleted in the background, and only if no other item or category shares it
+        imageCleanupService.enqueue(item.getImgUrl());
+        catalogSnapshotCache.rebuild(this::loadCatalog);
+        itemSearchIndex.remove(itemId);
     }
 }
@@ -0,0 +1,218 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.OrderBatchResponse;
+import com.kunal.billingSoftware.io.OrderRequest;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.repository.OrderBatchJdbcRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderBatchService;
+import com.kunal.billingSoftware.service.PricingService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.util.OrderIdGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class OrderBatchServiceImpl implements OrderBatchService {
+
+    private final Validator validator;
+    private final OrderBatchJdbcRepository orderBatchJdbcRepository;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final DashboardStreamService dashboardStreamService;
+    private final PricingService pricingService;
+    private final OrderIdGenerator orderIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderBatchServiceImpl(Validator validator,
+                                 OrderBatchJdbcRepository orderBatchJdbcRepository,
+                                 DailySalesRollupService dailySalesRollupService,
+                                 SalesAnalyticsService salesAnalyticsService,
+                                 DashboardStreamService dashboardStreamService,
+                                 PricingService pricingService,
+                                 OrderIdGenerator orderIdGenerator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${orders.batch.chunk-size:100}") int chunkSize) {
+        this.validator = validator;
+        this.orderBatchJdbcRepository = orderBatchJdbcRepository;
+        this.dailySalesRollupService = dailySalesRollupService;
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.dashboardStreamService = dashboardStreamService;
+        this.pricingService = pricingService;
+        this.orderIdGenerator = orderIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public OrderBatchResponse createOrders(List<OrderRequest> requests) {
+        OrderBatchResponse.OrderBatchResult[] results = new OrderBatchResponse.OrderBatchResult[requests.size()];
+
+        // Validate everything up front so invalid orders never reach the database
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<String> clientOrderIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            String clientOrderId = errors.isEmpty() ? requests.get(i).getClientOrderId() : null;
+            if (clientOrderId != null && !clientOrderIds.add(clientOrderId)) {
+                errors = Map.of("clientOrderId", "Client order id appears more than once in the batch");
+            }
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = result(i, OrderBatchResponse.Status.INVALID, null, errors);
+            }
+        }
+
+        // A till that lost the response to an earlier sync sends the same orders again; answer with the orders
+        // that attempt created instead of storing them twice
+        Map<String, String> storedOrderIds = orderBatchJdbcRepository.findOrderIdsByClientOrderIds(clientOrderIds);
+        if (!storedOrderIds.isEmpty()) {
+            validIndexes.removeIf(index -> {
+                String orderId = storedOrderIds.get(requests.get(index).getClientOrderId());
+                if (orderId == null) {
+                    return false;
+                }
+                results[index] = result(index, OrderBatchResponse.Status.DUPLICATE, orderId, null);
+                return true;
+            });
+        }
+
+        // Billed at catalog prices like a single order; the till's prices and totals are only what it displayed
+        QuoteResponse[] quotes = new QuoteResponse[requests.size()];
+        validIndexes.removeIf(index -> {
+            try {
+                quotes[index] = quote(requests.get(index));
+                return false;
+            } catch (ResponseStatusException ex) {
+                results[index] = result(index, OrderBatchResponse.Status.INVALID, null, Map.of("cartItems", ex.getReason()));
+                return true;
+            }
+        });
+
+        // Each chunk is its own transaction: a failing chunk is reported and the rest of the batch still goes in
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            List<OrderEntity> orders = chunk.stream()
+                    .map(index -> convertToOrderEntity(requests.get(index), quotes[index]))
+                    .collect(Collectors.toList());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    orderBatchJdbcRepository.insertOrders(orders);
+                    recordDailySales(orders);
+                    salesAnalyticsService.recordOrders(orders);
+                    dashboardStreamService.markChanged();
+                });
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunk.get(j)] = result(chunk.get(j), OrderBatchResponse.Status.CREATED, orders.get(j).getOrderId(), null);
+                }
+            } catch (DataAccessException ex) {
+                Map<String, String> errors = Map.of("batch", "Could not save orders: " + ex.getMostSpecificCause().getMessage());
+                for (Integer index : chunk) {
+                    results[index] = result(index, OrderBatchResponse.Status.FAILED, null, errors);
+                }
+            }
+        }
+
+        List<OrderBatchResponse.OrderBatchResult> resultList = Arrays.asList(results);
+        int accepted = (int) resultList.stream()
+                .filter(result -> result.getStatus() == OrderBatchResponse.Status.CREATED
+                        || result.getStatus() == OrderBatchResponse.Status.DUPLICATE)
+                .count();
+
+        return OrderBatchResponse.builder()
+                .accepted(accepted)
+                .rejected(resultList.size() - accepted)
+                .results(resultList)
+                .build();
+    }
+
+    private Map<String, String> validate(OrderRequest request) {
+        if (request == null) {
+            return Map.of("order", "Order cannot be null");
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<OrderRequest> violation : validator.validate(request)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void recordDailySales(List<OrderEntity> orders) {
+        // One rollup update per day instead of one per order
+        Map<LocalDate, List<OrderEntity>> byDay = orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getCreatedAt().toLocalDate()));
+        byDay.forEach((day, dayOrders) -> dailySalesRollupService.recordSales(
+                day,
+                dayOrders.stream().mapToDouble(OrderEntity::getGrandTotal).sum(),
+                (long) dayOrders.size()));
+    }
+
+    private QuoteResponse quote(OrderRequest request) {
+        return pricingService.quote(request.getCartItems().stream()
+                .map(cartItem -> new QuoteRequest.QuoteItemRequest(cartItem.getItemId(), cartItem.getQuantity()))
+                .collect(Collectors.toList()));
+    }
+
+    private OrderEntity convertToOrderEntity(OrderRequest request, QuoteResponse quote) {
+        PaymentMethod paymentMethod = PaymentMethod.valueOf(request.getPaymentMethod());
+
+        PaymentDetails paymentDetails = new PaymentDetails();
+        paymentDetails.setStatus(paymentMethod == PaymentMethod.CASH ? PaymentDetails.PaymentStatus.COMPLETED : PaymentDetails.PaymentStatus.PENDING);
+
+        return OrderEntity.builder()
+                .orderId(orderIdGenerator.nextOrderId())
+                .clientOrderId(request.getClientOrderId())
+                .customerName(request.getCustomerName())
+                .phoneNumber(request.getPhoneNumber())
+                .subtotal(quote.getSubtotal())
+                .tax(quote.getTax())
+                .grandTotal(quote.getGrandTotal())
+                // Orders synced after an outage belong to the day they were sold, not the day they arrived
+                .createdAt(request.getSoldAt() != null ? request.getSoldAt() : LocalDateTime.now())
+                .paymentMethod(paymentMethod)
+                .paymentDetails(paymentDetails)
+                .items(quote.getItems().stream()
+                        .map(this::convertToOrderItemEntity)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private OrderItemEntity convertToOrderItemEntity(QuoteResponse.QuoteItemResponse quotedItem) {
+        return OrderItemEntity.builder()
+                .itemId(quotedItem.getItemId())
+                .name(quotedItem.getName())
+                .price(quotedItem.getPrice())
+                .quantity(quotedItem.getQuantity())
+                .build();
+    }
+
+    private OrderBatchResponse.OrderBatchResult result(int index, OrderBatchResponse.Status status,
+                                                       String orderId, Map<String, String> errors) {
+        return OrderBatchResponse.OrderBatchResult.builder()
+                .index(index)
+                .status(status)
+                .orderId(orderId)
+                .errors(errors)
+                .build();
+    }
+}
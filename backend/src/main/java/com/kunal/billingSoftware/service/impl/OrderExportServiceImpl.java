@@ -0,0 +1,202 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.OrderExportFormat;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import com.kunal.billingSoftware.repository.OrderExportJdbcRepository;
+import com.kunal.billingSoftware.service.OrderExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes orders straight from the JDBC cursor to the output stream. Nothing is collected per export: each row
+ * is formatted and written before the next one is read.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderExportServiceImpl implements OrderExportService {
+
+    static final String CSV_HEADER = "order_id,created_at,customer_name,phone_number,payment_method," +
+            "payment_status,stripe_payment_intent_id,subtotal,tax,grand_total," +
+            "item_id,item_name,item_price,item_quantity";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final OrderExportJdbcRepository orderExportJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportOrders(LocalDate from, LocalDate to, OrderExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        try {
+            if (format == OrderExportFormat.NDJSON) {
+                writeNdjson(start, end, out);
+            } else {
+                writeCsv(start, end, out);
+            }
+        } catch (UncheckedIOException e) {
+            // Thrown from inside the row callback, usually because the client went away
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        StringBuilder line = new StringBuilder(256);
+        orderExportJdbcRepository.streamOrderRows(start, end, row -> {
+            line.setLength(0);
+            appendCsvField(line, row.orderId()).append(',');
+            appendCsvField(line, formatDateTime(row.createdAt())).append(',');
+            appendCsvText(line, row.customerName()).append(',');
+            appendCsvText(line, row.phoneNumber()).append(',');
+            appendCsvField(line, row.paymentMethod()).append(',');
+            appendCsvField(line, row.paymentStatus() == null ? null : row.paymentStatus().name()).append(',');
+            appendCsvField(line, row.stripePaymentIntentId()).append(',');
+            appendNumber(line, row.subtotal()).append(',');
+            appendNumber(line, row.tax()).append(',');
+            appendNumber(line, row.grandTotal()).append(',');
+            appendCsvField(line, row.itemId()).append(',');
+            appendCsvText(line, row.itemName()).append(',');
+            appendNumber(line, row.itemPrice()).append(',');
+            appendNumber(line, row.itemQuantity()).append("\r\n");
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeNdjson(LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        // Rows of one order are adjacent, so an order object stays open until a row of the next order arrives
+        long[] currentOrder = {-1L};
+        orderExportJdbcRepository.streamOrderRows(start, end, row -> {
+            try {
+                if (row.id() != currentOrder[0]) {
+                    if (currentOrder[0] != -1L) {
+                        endOrder(generator);
+                    }
+                    startOrder(generator, row);
+                    currentOrder[0] = row.id();
+                }
+                if (row.hasItem()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("itemId", row.itemId());
+                    generator.writeStringField("name", row.itemName());
+                    writeNumberField(generator, "price", row.itemPrice());
+                    writeNumberField(generator, "quantity", row.itemQuantity());
+                    generator.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (currentOrder[0] != -1L) {
+            endOrder(generator);
+        }
+        generator.flush();
+    }
+
+    private void startOrder(JsonGenerator generator, OrderExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("orderId", row.orderId());
+        generator.writeStringField("customerName", row.customerName());
+        generator.writeStringField("phoneNumber", row.phoneNumber());
+        writeNumberField(generator, "subtotal", row.subtotal());
+        writeNumberField(generator, "tax", row.tax());
+        writeNumberField(generator, "grandTotal", row.grandTotal());
+        generator.writeStringField("paymentMethod", row.paymentMethod());
+        generator.writeStringField("createdAt", formatDateTime(row.createdAt()));
+        generator.writeObjectFieldStart("paymentDetails");
+        generator.writeStringField("status", row.paymentStatus() == null ? null : row.paymentStatus().name());
+        generator.writeStringField("stripePaymentIntentId", row.stripePaymentIntentId());
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("items");
+    }
+
+    private void endOrder(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeNumberField(JsonGenerator generator, String name, Number value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer intValue) {
+            generator.writeNumber(intValue);
+        } else {
+            generator.writeNumber(value.doubleValue());
+        }
+    }
+
+    private static String formatDateTime(LocalDateTime value) {
+        return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+    }
+
+    private static StringBuilder appendNumber(StringBuilder line, Number value) {
+        if (value instanceof Double doubleValue) {
+            // Double.toString switches to exponent notation from 10^7, which spreadsheets read as text
+            return line.append(BigDecimal.valueOf(doubleValue).toPlainString());
+        }
+        return value == null ? line : line.append(value);
+    }
+
+    // Text typed in at the till or the admin screen: a spreadsheet runs a cell starting with =, +, -, @, tab or
+    // carriage return as a formula, so such values are prefixed with ' and show as plain text
+    static StringBuilder appendCsvText(StringBuilder line, String value) {
+        if (value != null && !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            return appendCsvField(line, "'" + value);
+        }
+        return appendCsvField(line, value);
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break and double any embedded quotes
+    static StringBuilder appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+}
@@ -0,0 +1,274 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.journal.DeadLetterStore;
+import com.kunal.billingSoftware.journal.OrderJournal;
+import com.kunal.billingSoftware.repository.OrderBatchJdbcRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderJournalService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.util.OrderIdGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind checkout, enabled with {@code orders.journal.enabled=true}. Orders are appended to the
+ * {@link OrderJournal} and acknowledged without touching the database; a background thread batch-inserts
+ * them every {@code orders.journal.flush-interval-ms}.
+ * <p>
+ * The journal position is only advanced after the insert commits. A crash in between replays the batch on
+ * the next start, and orders whose id is already stored are skipped, so each order is inserted and counted
+ * in the daily rollup once. The lifecycle phase puts replay before the web server starts and the final
+ * flush after it stops taking requests.
+ * <p>
+ * An entry that cannot be decoded, or that the database rejects on its own, would otherwise stop every
+ * order behind it. Such entries are moved to the {@code dead-letter} directory inside the journal directory
+ * and the journal moves past them; {@code billing.orders.journal.quarantined} counts them and
+ * {@code billing.orders.journal.unflushed} shows how far the flusher is behind.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "orders.journal.enabled", havingValue = "true")
+public class OrderJournalServiceImpl implements OrderJournalService, SmartLifecycle {
+
+    private final ObjectMapper objectMapper;
+    private final OrderBatchJdbcRepository orderBatchJdbcRepository;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final DashboardStreamService dashboardStreamService;
+    private final OrderIdGenerator orderIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderJournal journal;
+    private final DeadLetterStore deadLetters;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public OrderJournalServiceImpl(ObjectMapper objectMapper,
+                                   OrderBatchJdbcRepository orderBatchJdbcRepository,
+                                   DailySalesRollupService dailySalesRollupService,
+                                   SalesAnalyticsService salesAnalyticsService,
+                                   DashboardStreamService dashboardStreamService,
+                                   OrderIdGenerator orderIdGenerator,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${orders.journal.dir:order-journal}") String directory,
+                                   @Value("${orders.journal.segment-size:67108864}") int segmentSize,
+                                   @Value("${orders.journal.sync-on-append:false}") boolean syncOnAppend,
+                                   @Value("${orders.journal.flush-interval-ms:200}") long flushIntervalMillis,
+                                   @Value("${orders.journal.batch-size:500}") int batchSize) throws IOException {
+        this(objectMapper, orderBatchJdbcRepository, dailySalesRollupService, salesAnalyticsService, dashboardStreamService,
+                orderIdGenerator, transactionManager, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                directory, segmentSize, syncOnAppend, flushIntervalMillis, batchSize);
+    }
+
+    public OrderJournalServiceImpl(ObjectMapper objectMapper,
+                                   OrderBatchJdbcRepository orderBatchJdbcRepository,
+                                   DailySalesRollupService dailySalesRollupService,
+                                   SalesAnalyticsService salesAnalyticsService,
+                                   DashboardStreamService dashboardStreamService,
+                                   OrderIdGenerator orderIdGenerator,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   String directory,
+                                   int segmentSize,
+                                   boolean syncOnAppend,
+                                   long flushIntervalMillis,
+                                   int batchSize) throws IOException {
+        this.objectMapper = objectMapper;
+        this.orderBatchJdbcRepository = orderBatchJdbcRepository;
+        this.dailySalesRollupService = dailySalesRollupService;
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.dashboardStreamService = dashboardStreamService;
+        this.orderIdGenerator = orderIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Path journalDirectory = Paths.get(directory).toAbsolutePath();
+        this.journal = new OrderJournal(journalDirectory, segmentSize, syncOnAppend);
+        this.deadLetters = new DeadLetterStore(journalDirectory.resolve("dead-letter"));
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = Math.max(1, batchSize);
+
+        Gauge.builder("billing.orders.journal.unflushed", journal, OrderJournal::unflushedCount)
+                .description("Acknowledged orders not yet inserted into the database")
+                .register(meterRegistry);
+        Gauge.builder("billing.orders.journal.quarantined", deadLetters, DeadLetterStore::count)
+                .description("Journal entries moved to the dead-letter directory instead of being inserted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void append(OrderEntity order) {
+        // Assigned here because @PrePersist only runs once the flusher inserts the order
+        if (order.getOrderId() == null) {
+            order.setOrderId(orderIdGenerator.nextOrderId());
+        }
+        if (order.getCreatedAt() == null) {
+            order.setCreatedAt(LocalDateTime.now());
+        }
+        try {
+            journal.append(objectMapper.writeValueAsBytes(order));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal order " + order.getOrderId(), e);
+        }
+    }
+
+    /**
+     * Inserts everything journaled so far, one transaction per batch. Returns the number of journal entries
+     * processed, including replayed ones that were already stored.
+     */
+    @Override
+    public synchronized int flush() {
+        int processed = 0;
+        List<OrderJournal.Entry> entries;
+        while (!(entries = journal.readUnflushed(batchSize)).isEmpty()) {
+            List<OrderJournal.Entry> readable = new ArrayList<>(entries.size());
+            List<OrderEntity> orders = new ArrayList<>(entries.size());
+            for (OrderJournal.Entry entry : entries) {
+                OrderEntity order = readOrder(entry);
+                if (order != null) {
+                    readable.add(entry);
+                    orders.add(order);
+                }
+            }
+
+            try {
+                insert(orders);
+            } catch (DataIntegrityViolationException ex) {
+                // Some order in the batch is refused by the database; insert them one by one to find it. Any other
+                // failure (database down, lock timeout) leaves the batch in the journal for the next run
+                for (int i = 0; i < orders.size(); i++) {
+                    try {
+                        insert(List.of(orders.get(i)));
+                    } catch (DataIntegrityViolationException rejected) {
+                        quarantine(readable.get(i), "Rejected by the database: " + rejected.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+
+            journal.markFlushed(entries.get(entries.size() - 1).end());
+            processed += entries.size();
+        }
+        return processed;
+    }
+
+    @Override
+    public void start() {
+        // Replays whatever the previous run acknowledged but did not insert
+        flushQuietly();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        flushQuietly();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close the order journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's start/stop and graceful shutdown phases
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // The entries stay in the journal and are retried on the next run
+            log.error("Could not flush the order journal", ex);
+        }
+    }
+
+    private void insert(List<OrderEntity> orders) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> stored = orderBatchJdbcRepository.findExistingOrderIds(orders.stream()
+                    .map(OrderEntity::getOrderId)
+                    .collect(Collectors.toList()));
+            List<OrderEntity> newOrders = orders.stream()
+                    .filter(order -> !stored.contains(order.getOrderId()))
+                    .collect(Collectors.toList());
+            orderBatchJdbcRepository.insertOrders(newOrders);
+            recordDailySales(newOrders);
+            salesAnalyticsService.recordOrders(newOrders);
+            if (!newOrders.isEmpty()) {
+                // Journaled orders reach the dashboard queries here, not at checkout
+                dashboardStreamService.markChanged();
+            }
+        });
+    }
+
+    // Null when the entry was moved to the dead-letter store
+    private OrderEntity readOrder(OrderJournal.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), OrderEntity.class);
+        } catch (IOException e) {
+            quarantine(entry, "Unreadable journal entry: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void quarantine(OrderJournal.Entry entry, String reason) {
+        Path file = deadLetters.store(entry, reason);
+        log.error("Moved order journal entry to {}: {}", file, reason);
+    }
+
+    private void recordDailySales(List<OrderEntity> orders) {
+        // One rollup update per day instead of one per order
+        Map<LocalDate, List<OrderEntity>> byDay = orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getCreatedAt().toLocalDate()));
+        byDay.forEach((day, dayOrders) -> dailySalesRollupService.recordSales(
+                day,
+                dayOrders.stream().mapToDouble(OrderEntity::getGrandTotal).sum(),
+                (long) dayOrders.size()));
+    }
+}
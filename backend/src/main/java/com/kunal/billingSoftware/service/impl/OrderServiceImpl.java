@@ -5,53 +5,87 @@ import com.kunal.billingSoftware.entity.OrderItemEntity;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.io.*;
 import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderJournalService;
 import com.kunal.billingSoftware.service.OrderService;
+import com.kunal.billingSoftware.service.PricingService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
 import com.kunal.billingSoftware.specifications.OrderSpecifications;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
+import com.kunal.billingSoftware.util.OrderCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("billing.service")
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
-    private final OrderEntityRepository orderEntityRepository;
-    @Value("${stripe.secret.key}")
-    private String stripeSecretKey;
+    static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
 
+    private final OrderEntityRepository orderEntityRepository;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final DashboardStreamService dashboardStreamService;
+    private final PricingService pricingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<OrderJournalService> orderJournalService;
+
+    // Not @Transactional: a journaled order must not wait for a pooled connection or a COMMIT
     @Override
     public OrderResponse createOrder(OrderRequest request) {
-        OrderEntity newOrder = convertToOrderEntity(request);
+        // The till's prices and totals are only what it displayed; the order is billed at catalog prices
+        QuoteResponse quote = pricingService.quote(request.getCartItems().stream()
+                .map(cartItem -> new QuoteRequest.QuoteItemRequest(cartItem.getItemId(), cartItem.getQuantity()))
+                .collect(Collectors.toList()));
+        OrderEntity newOrder = convertToOrderEntity(request, quote);
 
         PaymentDetails paymentDetails = new PaymentDetails();
         paymentDetails.setStatus(newOrder.getPaymentMethod() == PaymentMethod.CASH ? PaymentDetails.PaymentStatus.COMPLETED : PaymentDetails.PaymentStatus.PENDING);
         newOrder.setPaymentDetails(paymentDetails);
 
-        List<OrderItemEntity> orderItems = request.getCartItems().stream()
+        List<OrderItemEntity> orderItems = quote.getItems().stream()
                 .map(this::convertToOrderItemEntity)
                 .collect(Collectors.toList());
 
         newOrder.setItems(orderItems);
 
-        newOrder = orderEntityRepository.save(newOrder);
-        return convertToResponse(newOrder);
+        // UPI orders are written through: the Stripe webhook updates the row and may arrive before a flush
+        OrderJournalService journal = orderJournalService.getIfAvailable();
+        if (journal != null && newOrder.getPaymentMethod() == PaymentMethod.CASH) {
+            journal.append(newOrder);
+            return convertToResponse(newOrder);
+        }
+
+        OrderEntity unsavedOrder = newOrder;
+        return transactionTemplate.execute(status -> {
+            OrderEntity savedOrder = orderEntityRepository.save(unsavedOrder);
+            dailySalesRollupService.recordOrder(savedOrder);
+            salesAnalyticsService.recordOrder(savedOrder);
+            dashboardStreamService.markChanged();
+            return convertToResponse(savedOrder);
+        });
     }
 
-    private OrderItemEntity convertToOrderItemEntity(OrderRequest.OrderItemRequest orderItemRequest) {
+    private OrderItemEntity convertToOrderItemEntity(QuoteResponse.QuoteItemResponse quotedItem) {
         return OrderItemEntity.builder()
-                .itemId(orderItemRequest.getItemId())
-                .name(orderItemRequest.getName())
-                .price(orderItemRequest.getPrice())
-                .quantity(orderItemRequest.getQuantity())
+                .itemId(quotedItem.getItemId())
+                .name(quotedItem.getName())
+                .price(quotedItem.getPrice())
+                .quantity(quotedItem.getQuantity())
                 .build();
     }
 
@@ -81,25 +115,30 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    private OrderEntity convertToOrderEntity(OrderRequest request) {
+    private OrderEntity convertToOrderEntity(OrderRequest request, QuoteResponse quote) {
         return OrderEntity.builder()
                 .customerName(request.getCustomerName())
                 .phoneNumber(request.getPhoneNumber())
-                .subtotal(request.getSubtotal())
-                .tax(request.getTax())
-                .grandTotal(request.getGrandTotal())
+                .subtotal(quote.getSubtotal())
+                .tax(quote.getTax())
+                .grandTotal(quote.getGrandTotal())
                 .paymentMethod(PaymentMethod.valueOf(request.getPaymentMethod()))
                 .build();
     }
 
     @Override
+    @Transactional
     public void deleteOrder(String orderId) {
         OrderEntity existingOrder = orderEntityRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id",  orderId));
+        dailySalesRollupService.reverseOrder(existingOrder);
+        salesAnalyticsService.reverseOrder(existingOrder);
+        dashboardStreamService.markChanged();
         orderEntityRepository.delete(existingOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getLatestOrders() {
         return orderEntityRepository.findAllByOrderByCreatedAtDesc()
                 .stream()
@@ -108,6 +147,48 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryResponse getOrderHistory(String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(size, MAX_HISTORY_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists without issuing a COUNT
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<OrderEntity> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderEntityRepository.findHistoryFirstPage(limit);
+        } else {
+            OrderCursor position = decodeCursor(cursor);
+            orders = orderEntityRepository.findHistoryPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = orders.size() > pageSize;
+        List<OrderEntity> page = hasMore ? orders.subList(0, pageSize) : orders;
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderEntity last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return OrderHistoryResponse.builder()
+                .orders(page.stream()
+                        .map(this::convertToResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private OrderCursor decodeCursor(String cursor) {
+        try {
+            return OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid order history cursor");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getFilteredOrder(OrderFilterRequest orderFilterRequest) {
         Specification<OrderEntity> spec = OrderSpecifications.paymentMethodIs(orderFilterRequest.getPaymentMethod()).and(
                 OrderSpecifications.totalGreaterThan(orderFilterRequest.getGrandTotal())
@@ -120,44 +201,35 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(String orderId) {
+        OrderEntity existingOrder = orderEntityRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        return convertToResponse(existingOrder);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public OrderResponse verifyPayment(PaymentVerificationRequest request) {
+        // PaymentDetails are written by the Stripe webhook; this only reports what has been recorded so far,
+        // so the till polls until the status leaves PENDING
         OrderEntity existingOrder = orderEntityRepository.findByOrderId(request.getOrderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", request.getOrderId()));
-
-        try {
-            // Fetch PaymentIntent from Stripe
-            Stripe.apiKey = stripeSecretKey;
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(request.getPaymentIntentId());
-
-            if (!"succeeded".equals(paymentIntent.getStatus())) {
-                throw new RuntimeException("Payment not completed. Current status: " + paymentIntent.getStatus());
-            }
-
-            // Update order payment details
-            PaymentDetails paymentDetails = existingOrder.getPaymentDetails();
-            paymentDetails.setStripePaymentIntentId(paymentIntent.getId());
-            paymentDetails.setStripePaymentMethodId(request.getPaymentMethodId());
-            paymentDetails.setStatus(PaymentDetails.PaymentStatus.COMPLETED);
-
-            existingOrder = orderEntityRepository.save(existingOrder);
-            return convertToResponse(existingOrder);
-
-        } catch (StripeException e) {
-            throw new RuntimeException("Stripe verification failed: " + e.getMessage(), e);
-        }
+        return convertToResponse(existingOrder);
     }
 
     @Override
     public Double sumSalesByDate(LocalDate date) {
-        return orderEntityRepository.sumSalesByDate(date);
+        return dailySalesRollupService.getTotalSales(date);
     }
 
     @Override
     public Long countByOrderDate(LocalDate date) {
-        return orderEntityRepository.countByOrderDate(date);
+        return dailySalesRollupService.getOrderCount(date);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> findRecentOrders() {
         return orderEntityRepository.findRecentOrders(PageRequest.of(0, 5))
                 .stream()
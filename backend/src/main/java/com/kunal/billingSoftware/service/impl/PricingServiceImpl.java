@@ -0,0 +1,69 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.service.ItemService;
+import com.kunal.billingSoftware.service.PricingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices a cart from the catalog snapshot's price index: one volatile read and a map lookup per line, no
+ * database access. Amounts are computed in {@link BigDecimal} and rounded to paise only for tax.
+ */
+@Service
+public class PricingServiceImpl implements PricingService {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final ItemService itemService;
+    private final BigDecimal taxRate;
+
+    public PricingServiceImpl(ItemService itemService,
+                              @Value("${orders.tax-rate:0.05}") BigDecimal taxRate) {
+        this.itemService = itemService;
+        this.taxRate = taxRate;
+    }
+
+    @Override
+    public QuoteResponse quote(List<QuoteRequest.QuoteItemRequest> cartItems) {
+        // Every line is priced from the same snapshot, even if the catalog changes halfway through
+        CatalogSnapshot catalog = itemService.getCatalogSnapshot();
+
+        List<QuoteResponse.QuoteItemResponse> lines = new ArrayList<>(cartItems.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (QuoteRequest.QuoteItemRequest cartItem : cartItems) {
+            ItemResponse item = catalog.prices().find(cartItem.getItemId());
+            if (item == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown item: " + cartItem.getItemId());
+            }
+            BigDecimal lineTotal = item.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+            subtotal = subtotal.add(lineTotal);
+            lines.add(QuoteResponse.QuoteItemResponse.builder()
+                    .itemId(item.getItemId())
+                    .name(item.getName())
+                    .price(item.getPrice().doubleValue())
+                    .quantity(cartItem.getQuantity())
+                    .lineTotal(lineTotal.doubleValue())
+                    .build());
+        }
+
+        BigDecimal tax = subtotal.multiply(taxRate).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        return QuoteResponse.builder()
+                .catalogVersion(catalog.etag())
+                .items(lines)
+                .subtotal(subtotal.doubleValue())
+                .tax(tax.doubleValue())
+                .grandTotal(subtotal.add(tax).doubleValue())
+                .build();
+    }
+}
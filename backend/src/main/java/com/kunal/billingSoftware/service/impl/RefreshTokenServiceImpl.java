@@ -0,0 +1,63 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.RefreshTokenEntity;
+import com.kunal.billingSoftware.repository.RefreshTokenRepository;
+import com.kunal.billingSoftware.service.RefreshTokenService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.TokenClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh tokens are single use: redeeming one deletes its row and the caller is handed a new one. A stolen
+ * token therefore stops working as soon as either party uses it, and deleting a user's rows signs out every
+ * till the user is logged in on.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    @Override
+    @Transactional
+    public String issue(UserDetails userDetails) {
+        LocalDateTime now = LocalDateTime.now();
+        // Tokens that were never redeemed are cleared the next time their user signs in
+        refreshTokenRepository.deleteExpired(userDetails.getUsername(), now);
+
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenId(tokenId)
+                .email(userDetails.getUsername())
+                .createdAt(now)
+                .expiresAt(now.plus(jwtUtil.getRefreshTokenValidity()))
+                .build());
+        return jwtUtil.generateRefreshToken(userDetails, tokenId);
+    }
+
+    @Override
+    @Transactional
+    public String redeem(String refreshToken) {
+        TokenClaims claims = jwtUtil.parseToken(refreshToken);
+        if (claims == null || !claims.refreshToken() || claims.subject() == null || claims.tokenId() == null
+                || refreshTokenRepository.deleteActive(claims.tokenId(), LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+        }
+        return claims.subject();
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(String email) {
+        refreshTokenRepository.deleteByEmail(email);
+    }
+}
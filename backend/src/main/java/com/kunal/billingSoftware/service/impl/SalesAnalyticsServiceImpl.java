@@ -0,0 +1,191 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.analytics.SalesCube;
+import com.kunal.billingSoftware.cache.PriceIndex;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import com.kunal.billingSoftware.io.SalesPeriodResponse;
+import com.kunal.billingSoftware.io.TopItemResponse;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import com.kunal.billingSoftware.repository.OrderExportJdbcRepository;
+import com.kunal.billingSoftware.service.ItemService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Answers sales analytics from a {@link SalesCube} instead of scanning tbl_order_items. The cube is loaded from
+ * the order history when the application starts, before the web server and the order journal replay, and is
+ * then kept current by the checkout, batch, journal and delete paths. Updates made inside a transaction are
+ * applied after it commits, so a rolled back order never shows up.
+ * <p>
+ * Items are filed under the category the catalog has for them when the order is recorded; history is filed
+ * under today's catalog, since orders do not store categories.
+ */
+@Slf4j
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService, SmartLifecycle {
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final OrderExportJdbcRepository orderExportJdbcRepository;
+    private final ItemService itemService;
+    private final SalesCube cube = new SalesCube();
+    private volatile boolean running;
+
+    public SalesAnalyticsServiceImpl(OrderExportJdbcRepository orderExportJdbcRepository, ItemService itemService) {
+        this.orderExportJdbcRepository = orderExportJdbcRepository;
+        this.itemService = itemService;
+    }
+
+    @Override
+    public void recordOrder(OrderEntity order) {
+        SalesCube.Line[] lines = linesOf(order);
+        afterCommit(() -> cube.add(order.getCreatedAt(), order.getPaymentMethod(), List.of(lines), 1));
+    }
+
+    @Override
+    public void recordOrders(List<OrderEntity> orders) {
+        orders.forEach(this::recordOrder);
+    }
+
+    @Override
+    public void reverseOrder(OrderEntity order) {
+        SalesCube.Line[] lines = linesOf(order);
+        afterCommit(() -> cube.add(order.getCreatedAt(), order.getPaymentMethod(), List.of(lines), -1));
+    }
+
+    @Override
+    public List<SalesPeriodResponse> getRevenue(SalesPeriod period, LocalDate from, LocalDate to,
+                                                String categoryId, PaymentMethod paymentMethod) {
+        return cube.totals(period, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), categoryId, paymentMethod)
+                .stream()
+                .map(total -> SalesPeriodResponse.builder()
+                        .periodStart(total.start())
+                        .revenue(total.revenue())
+                        .quantity(total.quantity())
+                        .orders(total.orders())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TopItemResponse> getTopItems(LocalDate from, LocalDate to, int limit, SalesMetric metric,
+                                             String categoryId, PaymentMethod paymentMethod) {
+        return cube.topItems(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), limit, metric, categoryId, paymentMethod)
+                .stream()
+                .map(item -> TopItemResponse.builder()
+                        .itemId(item.itemId())
+                        .name(item.name())
+                        .categoryId(item.categoryId())
+                        .categoryName(item.categoryName())
+                        .revenue(item.revenue())
+                        .quantity(item.quantity())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void start() {
+        long startedAt = System.nanoTime();
+        PriceIndex catalog = itemService.getCatalogSnapshot().prices();
+        HistoryLoader loader = new HistoryLoader(catalog);
+        orderExportJdbcRepository.streamOrderRows(HISTORY_START, HISTORY_END, loader::accept);
+        loader.finish();
+        running = true;
+        log.info("Loaded {} orders into the sales cube in {} ms", loader.orders, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Ahead of the order journal, whose replayed orders are recorded like new ones
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private SalesCube.Line[] linesOf(OrderEntity order) {
+        PriceIndex catalog = itemService.getCatalogSnapshot().prices();
+        return order.getItems().stream()
+                .map(item -> line(catalog, item.getItemId(), item.getName(), item.getPrice(), item.getQuantity()))
+                .toArray(SalesCube.Line[]::new);
+    }
+
+    private static SalesCube.Line line(PriceIndex catalog, String itemId, String name, Double price, Integer quantity) {
+        ItemResponse catalogItem = catalog.find(itemId);
+        long sold = quantity != null ? quantity : 0;
+        return new SalesCube.Line(
+                itemId,
+                name,
+                catalogItem != null ? catalogItem.getCategoryId() : null,
+                catalogItem != null ? catalogItem.getCategoryName() : null,
+                (price != null ? price : 0.0) * sold,
+                sold);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /** Groups the export rows, which come one per item with the rows of an order adjacent, back into orders. */
+    private final class HistoryLoader {
+        private final PriceIndex catalog;
+        private final List<SalesCube.Line> lines = new ArrayList<>();
+        private OrderExportRow order;
+        private long orders;
+
+        HistoryLoader(PriceIndex catalog) {
+            this.catalog = catalog;
+        }
+
+        void accept(OrderExportRow row) {
+            if (order == null || order.id() != row.id()) {
+                finish();
+                order = row;
+            }
+            if (row.hasItem()) {
+                lines.add(line(catalog, row.itemId(), row.itemName(), row.itemPrice(), row.itemQuantity()));
+            }
+        }
+
+        void finish() {
+            if (order != null && order.createdAt() != null && order.paymentMethod() != null) {
+                cube.add(order.createdAt(), PaymentMethod.valueOf(order.paymentMethod()), List.copyOf(lines), 1);
+                orders++;
+            }
+            order = null;
+            lines.clear();
+        }
+    }
+}
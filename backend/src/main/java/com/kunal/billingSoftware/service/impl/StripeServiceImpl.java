@@ -6,22 +6,56 @@ import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class StripeServiceImpl implements StripeService {
 
+    // Copied onto the PaymentIntent so webhook events can be matched back to the order
+    public static final String ORDER_ID_METADATA_KEY = "orderId";
+
+    private final MeterRegistry meterRegistry;
+    // Bounds open Stripe connections; on virtual threads nothing else does
+    private final Semaphore stripePermits;
+    private final long queueTimeoutMillis;
+
     @Value("${stripe.secret.key}")
     private String stripeSecretKey;
 
+    public StripeServiceImpl(MeterRegistry meterRegistry,
+                             @Value("${stripe.max-concurrent-requests:100}") int maxConcurrentRequests,
+                             @Value("${stripe.queue-timeout-ms:2000}") long queueTimeoutMillis,
+                             @Value("${stripe.api-base:}") String apiBase) {
+        this.meterRegistry = meterRegistry;
+        this.stripePermits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        if (!apiBase.isBlank()) {
+            // Points the client at a local stub, e.g. for load tests
+            Stripe.overrideApiBase(apiBase);
+        }
+    }
+
     @Override
-    public StripeCheckoutResponse createCheckoutSession(Double amount, String currency) throws StripeException {
+    public StripeCheckoutResponse createCheckoutSession(Double amount, String currency, String orderId) throws StripeException {
         Stripe.apiKey = stripeSecretKey;
 
-        SessionCreateParams params = SessionCreateParams.builder()
+        SessionCreateParams.Builder builder = SessionCreateParams.builder();
+        if (orderId != null) {
+            builder.setClientReferenceId(orderId)
+                    .setPaymentIntentData(SessionCreateParams.PaymentIntentData.builder()
+                            .putMetadata(ORDER_ID_METADATA_KEY, orderId)
+                            .build());
+        }
+
+        SessionCreateParams params = builder
                 .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD) // allow card
                 .setMode(SessionCreateParams.Mode.PAYMENT)
                 .setSuccessUrl("http://localhost:3000/success?session_id={CHECKOUT_SESSION_ID}")
@@ -44,8 +78,38 @@ public class StripeServiceImpl implements StripeService {
                 )
                 .build();
 
-        Session session = Session.create(params);
+        acquireStripePermit();
+        Session session;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            session = Session.create(params);
+        } catch (StripeException | RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            stripePermits.release();
+            sample.stop(Timer.builder("billing.stripe.requests")
+                    .description("Calls to the Stripe API")
+                    .tag("operation", "checkout.sessions.create")
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
 
         return new StripeCheckoutResponse(session.getId(), session.getUrl());
     }
-}
\ No newline at end of file
+
+    private void acquireStripePermit() {
+        boolean acquired;
+        try {
+            acquired = stripePermits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many payments in progress, retry shortly");
+        }
+    }
+}
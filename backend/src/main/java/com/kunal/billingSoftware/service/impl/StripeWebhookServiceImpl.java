@@ -0,0 +1,130 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.StripeWebhookService;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Receives Stripe payment_intent webhooks. The PaymentDetails update is committed before the event is
+ * acknowledged; if it fails the webhook is answered with 503, so Stripe keeps retrying until it lands.
+ */
+@Slf4j
+@Service
+public class StripeWebhookServiceImpl implements StripeWebhookService {
+
+    static final String PAYMENT_SUCCEEDED = "payment_intent.succeeded";
+    static final String PAYMENT_FAILED = "payment_intent.payment_failed";
+
+    private final OrderEntityRepository orderEntityRepository;
+    private final DashboardStreamService dashboardStreamService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String webhookSecret;
+    private final long toleranceSeconds;
+
+    public StripeWebhookServiceImpl(OrderEntityRepository orderEntityRepository,
+                                    DashboardStreamService dashboardStreamService,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${stripe.webhook.secret:}") String webhookSecret,
+                                    @Value("${stripe.webhook.tolerance-seconds:300}") long toleranceSeconds) {
+        this.orderEntityRepository = orderEntityRepository;
+        this.dashboardStreamService = dashboardStreamService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.webhookSecret = webhookSecret;
+        this.toleranceSeconds = toleranceSeconds;
+    }
+
+    @Override
+    public void handleEvent(String payload, String signatureHeader) {
+        verifySignature(payload, signatureHeader);
+
+        PaymentEvent event = parse(payload);
+        if (event == null) {
+            // Not an event we act on; acknowledge so Stripe stops sending it
+            return;
+        }
+
+        apply(event);
+    }
+
+    private void verifySignature(String payload, String signatureHeader) {
+        if (webhookSecret == null || webhookSecret.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stripe webhook secret is not configured");
+        }
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing Stripe-Signature header");
+        }
+        try {
+            Webhook.Signature.verifyHeader(payload, signatureHeader, webhookSecret, toleranceSeconds);
+        } catch (SignatureVerificationException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Stripe signature");
+        }
+    }
+
+    private PaymentEvent parse(String payload) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed Stripe event");
+        }
+
+        PaymentDetails.PaymentStatus status = switch (root.path("type").asText()) {
+            case PAYMENT_SUCCEEDED -> PaymentDetails.PaymentStatus.COMPLETED;
+            case PAYMENT_FAILED -> PaymentDetails.PaymentStatus.FAILED;
+            default -> null;
+        };
+        if (status == null) {
+            return null;
+        }
+
+        JsonNode paymentIntent = root.path("data").path("object");
+        String orderId = paymentIntent.path("metadata").path(StripeServiceImpl.ORDER_ID_METADATA_KEY).asText(null);
+        if (orderId == null) {
+            // Payment not started from a till order (e.g. created in the Stripe dashboard)
+            return null;
+        }
+
+        // payment_method is an id unless the event was sent with it expanded
+        JsonNode paymentMethod = paymentIntent.path("payment_method");
+        String paymentMethodId = paymentMethod.isObject() ? paymentMethod.path("id").asText(null) : paymentMethod.asText(null);
+
+        return new PaymentEvent(orderId, paymentIntent.path("id").asText(null), paymentMethodId, status);
+    }
+
+    private void apply(PaymentEvent event) {
+        try {
+            Integer updated = transactionTemplate.execute(status -> orderEntityRepository.updatePaymentStatus(
+                    event.orderId(), event.status(), event.paymentIntentId(), event.paymentMethodId()));
+            if (updated == null || updated == 0) {
+                log.debug("Stripe event for order {} changed nothing (unknown order or already completed)", event.orderId());
+            } else {
+                // The payment status is what verifyPayment reports; this is where it actually changes
+                dashboardStreamService.markChanged();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not apply Stripe {} for order {}", event.status(), event.orderId(), ex);
+            // Anything but 2xx makes Stripe resend the event with backoff
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Could not record payment, retry later");
+        }
+    }
+
+    private record PaymentEvent(String orderId, String paymentIntentId, String paymentMethodId,
+                                PaymentDetails.PaymentStatus status) {
+    }
+}
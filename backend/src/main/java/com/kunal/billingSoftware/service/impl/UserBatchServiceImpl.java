@@ -0,0 +1,289 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.UserEntity;
+import com.kunal.billingSoftware.enums.UserRoles;
+import com.kunal.billingSoftware.io.UserBatchResponse;
+import com.kunal.billingSoftware.io.UserRequest;
+import com.kunal.billingSoftware.repository.UserBatchJdbcRepository;
+import com.kunal.billingSoftware.service.UserBatchService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user provisioning. BCrypt is deliberately slow, so the hashes are computed on a shared pool of
+ * {@code users.batch.hash-threads} threads (half the cores by default, so logins and checkouts keep the rest)
+ * and each chunk is inserted with one JDBC batch as soon as its hashes are done.
+ */
+@Service
+public class UserBatchServiceImpl implements UserBatchService {
+
+    static final int MAX_BATCH_SIZE = 1000;
+    static final List<String> CSV_COLUMNS = List.of("name", "email", "password", "role");
+
+    private final Validator validator;
+    private final UserBatchJdbcRepository userBatchJdbcRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashExecutor;
+    private final int chunkSize;
+
+    @Autowired
+    public UserBatchServiceImpl(Validator validator,
+                                UserBatchJdbcRepository userBatchJdbcRepository,
+                                PasswordEncoder passwordEncoder,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${users.batch.hash-threads:0}") int hashThreads,
+                                @Value("${users.batch.chunk-size:100}") int chunkSize) {
+        this(validator, userBatchJdbcRepository, passwordEncoder, transactionManager,
+                Executors.newFixedThreadPool(
+                        hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                        Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory()),
+                chunkSize);
+    }
+
+    UserBatchServiceImpl(Validator validator,
+                         UserBatchJdbcRepository userBatchJdbcRepository,
+                         PasswordEncoder passwordEncoder,
+                         PlatformTransactionManager transactionManager,
+                         ExecutorService hashExecutor,
+                         int chunkSize) {
+        this.validator = validator;
+        this.userBatchJdbcRepository = userBatchJdbcRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashExecutor = hashExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public UserBatchResponse createUsers(List<UserRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch cannot contain more than " + MAX_BATCH_SIZE + " users");
+        }
+        UserBatchResponse.UserBatchResult[] results = new UserBatchResponse.UserBatchResult[requests.size()];
+
+        // Validate everything up front so no time is spent hashing passwords of rows that are rejected anyway
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (errors.isEmpty() && !batchEmails.add(requests.get(i).getEmail())) {
+                errors = Map.of("email", "Email appears more than once in this batch");
+            }
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = result(i, UserBatchResponse.Status.INVALID, requests.get(i), null, errors);
+            }
+        }
+
+        Set<String> registered = userBatchJdbcRepository.findExistingEmails(validIndexes.stream()
+                .map(index -> requests.get(index).getEmail())
+                .collect(Collectors.toList()));
+        validIndexes.removeIf(index -> {
+            UserRequest request = requests.get(index);
+            if (!registered.contains(request.getEmail())) {
+                return false;
+            }
+            results[index] = result(index, UserBatchResponse.Status.INVALID, request, null,
+                    Map.of("email", "Email is already registered"));
+            return true;
+        });
+
+        // All hashes are queued at once; a chunk is inserted while the pool works on the next ones
+        List<CompletableFuture<UserEntity>> users = validIndexes.stream()
+                .map(index -> CompletableFuture.supplyAsync(() -> convertToEntity(requests.get(index)), hashExecutor))
+                .collect(Collectors.toList());
+
+        // Each chunk is its own transaction: a failing chunk is reported and the rest of the batch still goes in
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, validIndexes.size());
+            List<Integer> chunk = validIndexes.subList(from, to);
+            List<UserEntity> chunkUsers = users.subList(from, to).stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> userBatchJdbcRepository.insertUsers(chunkUsers));
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunk.get(j)] = result(chunk.get(j), UserBatchResponse.Status.CREATED,
+                            requests.get(chunk.get(j)), chunkUsers.get(j).getUserId(), null);
+                }
+            } catch (DataAccessException ex) {
+                Map<String, String> errors = Map.of("batch", "Could not save users: " + ex.getMostSpecificCause().getMessage());
+                for (Integer index : chunk) {
+                    results[index] = result(index, UserBatchResponse.Status.FAILED, requests.get(index), null, errors);
+                }
+            }
+        }
+
+        List<UserBatchResponse.UserBatchResult> resultList = Arrays.asList(results);
+        int accepted = (int) resultList.stream()
+                .filter(result -> result.getStatus() == UserBatchResponse.Status.CREATED)
+                .count();
+
+        return UserBatchResponse.builder()
+                .accepted(accepted)
+                .rejected(resultList.size() - accepted)
+                .results(resultList)
+                .build();
+    }
+
+    /**
+     * Reads users from CSV with a header row naming the columns {@code name,email,password,role} in any order.
+     * Quoted fields may contain commas, quotes ({@code ""}) and line breaks. Row indexes in the response count
+     * data rows from 0, not lines.
+     */
+    @Override
+    public UserBatchResponse createUsersFromCsv(String csv) {
+        List<List<String>> rows = parseCsv(csv);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = rows.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must name the columns " + CSV_COLUMNS);
+        }
+
+        List<UserRequest> requests = rows.subList(1, rows.size()).stream()
+                .filter(row -> !(row.size() == 1 && row.get(0).isBlank()))
+                .map(row -> UserRequest.builder()
+                        .name(field(row, columns.get("name")))
+                        .email(field(row, columns.get("email")))
+                        .password(field(row, columns.get("password")))
+                        .role(field(row, columns.get("role")))
+                        .build())
+                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV contains no users");
+        }
+        return createUsers(requests);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    private Map<String, String> validate(UserRequest request) {
+        if (request == null) {
+            return Map.of("user", "User cannot be null");
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<UserRequest> violation : validator.validate(request)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (normalizeRole(request.getRole()) == null) {
+            errors.put("role", "Role must be one of USER or ADMIN");
+        }
+        return errors;
+    }
+
+    // Accepts USER as well as ROLE_USER, since spreadsheets tend to use the short form
+    private static String normalizeRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        String upper = role.trim().toUpperCase(Locale.ROOT);
+        for (UserRoles userRole : UserRoles.values()) {
+            if (userRole.getValue().equals(upper) || userRole.name().equals(upper)) {
+                return userRole.getValue();
+            }
+        }
+        return null;
+    }
+
+    private UserEntity convertToEntity(UserRequest request) {
+        return UserEntity.builder()
+                .userId(UUID.randomUUID().toString())
+                .email(request.getEmail())
+                .password(passwordEncoder.encode(request.getPassword()))
+                .role(normalizeRole(request.getRole()))
+                .name(request.getName())
+                .build();
+    }
+
+    private UserBatchResponse.UserBatchResult result(int index, UserBatchResponse.Status status, UserRequest request,
+                                                     String userId, Map<String, String> errors) {
+        return UserBatchResponse.UserBatchResult.builder()
+                .index(index)
+                .status(status)
+                .email(request != null ? request.getEmail() : null)
+                .userId(userId)
+                .errors(errors)
+                .build();
+    }
+
+    private static String field(List<String> row, int column) {
+        if (column >= row.size()) {
+            return null;
+        }
+        String value = row.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<List<String>> parseCsv(String csv) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // Excel prefixes UTF-8 exports with a byte order mark
+        int i = csv.startsWith("\uFEFF") ? 1 : 0;
+
+        for (; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
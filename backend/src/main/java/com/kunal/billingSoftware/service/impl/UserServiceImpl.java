@@ -1,5 +1,6 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.entity.UserEntity;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.exceptions.UserCreationException;
@@ -7,6 +8,7 @@ import com.kunal.billingSoftware.io.UserRequest;
 import com.kunal.billingSoftware.io.UserResponse;
 import com.kunal.billingSoftware.projection.UserProjection;
 import com.kunal.billingSoftware.repository.UserRepository;
+import com.kunal.billingSoftware.service.RefreshTokenService;
 import com.kunal.billingSoftware.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +24,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public UserResponse createUser(UserRequest request) {
@@ -75,6 +79,9 @@ public class UserServiceImpl implements UserService {
         UserEntity existingUser = userRepository.findByUserId(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         userRepository.delete(existingUser);
+        // Tokens of a deleted user must stop authenticating immediately, not when the cache entry expires
+        userPrincipalCache.evict(existingUser.getEmail());
+        refreshTokenService.revokeAll(existingUser.getEmail());
     }
 
     @Override
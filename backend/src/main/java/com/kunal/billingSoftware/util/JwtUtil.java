@@ -1,15 +1,20 @@
 package com.kunal.billingSoftware.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,28 +23,97 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret.key}")
-    private String SECRET_KEY;
+    static final String ROLE_CLAIM = "role";
+    static final String TYPE_CLAIM = "typ";
+    static final String REFRESH_TYPE = "refresh";
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    // Key derivation and parser construction are done once; JwtParser is immutable and thread-safe
+    private final Key signKey;
+    private final JwtParser jwtParser;
+    private final long accessTokenValidityMillis;
+    private final long refreshTokenValidityMillis;
+
+    public JwtUtil(String secretKey) {
+        this(secretKey, Duration.ofHours(10), Duration.ofDays(7));
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret.key}") String secretKey,
+                   @Value("${jwt.access-token-validity:10h}") Duration accessTokenValidity,
+                   @Value("${jwt.refresh-token-validity:7d}") Duration refreshTokenValidity) {
+        this.signKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+        this.accessTokenValidityMillis = accessTokenValidity.toMillis();
+        this.refreshTokenValidityMillis = refreshTokenValidity.toMillis();
     }
 
+    /** Access token for the bearer header, carrying the user's role so clients need no extra lookup. */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        String role = roleOf(userDetails);
+        if (role != null) {
+            claims.put(ROLE_CLAIM, role);
+        }
+        return createToken(claims, userDetails.getUsername(), accessTokenValidityMillis);
+    }
+
+    /**
+     * Long-lived token that is only accepted by {@code POST /refresh}, so a till can get a new access token
+     * at the start of a shift without sending the password through BCrypt again. {@code tokenId} becomes the
+     * jti claim; the token is only redeemable while a row with that id is stored.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, REFRESH_TYPE);
+        claims.put(Claims.ID, tokenId);
+        return createToken(claims, userDetails.getUsername(), refreshTokenValidityMillis);
+    }
+
+    public Duration getRefreshTokenValidity() {
+        return Duration.ofMillis(refreshTokenValidityMillis);
+    }
+
+    public static String roleOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validityMillis) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMillis))
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token in a single parse.
+     *
+     * @return the verified claims, or {@code null} if the token is malformed, tampered with or expired
+     */
+    public TokenClaims parseToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return new TokenClaims(
+                    claims.getSubject(),
+                    claims.get(ROLE_CLAIM, String.class),
+                    REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class)),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    claims.getId()
+            );
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -54,19 +128,12 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        // The parser rejects expired tokens, so one parse covers both the signature and the expiry check
+        TokenClaims claims = parseToken(token);
+        return claims != null && !claims.refreshToken() && claims.subject().equals(userDetails.getUsername());
     }
 }
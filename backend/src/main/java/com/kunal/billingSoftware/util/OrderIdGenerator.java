@@ -0,0 +1,94 @@
+package com.kunal.billingSoftware.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style order ids: 41 bits of milliseconds since 2025-01-01 UTC, 10 bits of node id and a 12 bit
+ * per-millisecond sequence. Ids are unique across nodes with distinct {@code orders.id.node-id} values and
+ * strictly increasing on each node, without locks.
+ * <p>
+ * When the 4096 ids of a millisecond are used up, or the clock steps backwards, the generator keeps counting
+ * on the last timestamp it issued instead of waiting for the clock, so ids stay monotonic and the
+ * embedded timestamp catches up with the wall clock once load drops.
+ */
+@Component
+public class OrderIdGenerator {
+
+    static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String PREFIX = "ORD";
+    // Fixed width keeps string order equal to numeric (and therefore creation) order
+    private static final int DIGITS = 19;
+
+    // Used by OrderEntity.onCreate; replaced by the Spring managed instance once the context starts
+    private static volatile OrderIdGenerator shared = new OrderIdGenerator(0, Clock.systemUTC());
+
+    private final long nodeBits;
+    private final Clock clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderIdGenerator(@Value("${orders.id.node-id:0}") int nodeId) {
+        this(nodeId, Clock.systemUTC());
+        OrderIdGenerator previous = shared;
+        if (previous.nodeBits == nodeBits) {
+            // Continue after anything the default instance already issued for this node
+            state.accumulateAndGet(previous.state.get(), Math::max);
+        }
+        shared = this;
+    }
+
+    OrderIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public static OrderIdGenerator shared() {
+        return shared;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = clock.millis() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                // Sequence exhausted: borrow the next millisecond
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public String nextOrderId() {
+        return format(nextId());
+    }
+
+    public static String format(long id) {
+        String digits = Long.toString(id);
+        return PREFIX + "0".repeat(DIGITS - digits.length()) + digits;
+    }
+}
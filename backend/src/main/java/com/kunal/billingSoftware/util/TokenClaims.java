@@ -0,0 +1,21 @@
+package com.kunal.billingSoftware.util;
+
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been verified. The JWT filter keeps them as the
+ * details of the request's {@link Authentication}, so a controller can read the role or expiry through
+ * {@link #from(Authentication)} instead of parsing the token again.
+ * {@code role} is null for refresh tokens and for access tokens issued before the role claim existed;
+ * {@code tokenId} is only set on refresh tokens.
+ */
+public record TokenClaims(String subject, String role, boolean refreshToken, Instant issuedAt, Instant expiresAt,
+                          String tokenId) {
+
+    /** The claims the request was authenticated with, or null when it was not authenticated by a bearer token. */
+    public static TokenClaims from(Authentication authentication) {
+        return authentication != null && authentication.getDetails() instanceof TokenClaims claims ? claims : null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.kunal.billingSoftware.analytics;
+
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesCubeTest {
+
+    // A Saturday
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 10, 18, 0, 0);
+
+    private SalesCube cube;
+
+    @BeforeEach
+    void setup() {
+        cube = new SalesCube();
+        cube.add(DAY.plusHours(9).plusMinutes(5), PaymentMethod.CASH,
+                List.of(tea(2), samosa(1)), 1);
+        cube.add(DAY.plusHours(9).plusMinutes(40), PaymentMethod.UPI,
+                List.of(tea(1)), 1);
+        cube.add(DAY.plusDays(2).plusHours(18), PaymentMethod.CASH,
+                List.of(samosa(4)), 1);
+    }
+
+    @Test
+    void totals_ShouldBucketByHour_IncludingHoursWithoutSales() {
+        List<SalesCube.PeriodTotal> totals = cube.totals(SalesPeriod.HOUR, DAY.plusHours(8), DAY.plusHours(11), null, null);
+
+        assertEquals(3, totals.size());
+        assertEquals(DAY.plusHours(8), totals.get(0).start());
+        assertEquals(0.0, totals.get(0).revenue());
+        assertEquals(0L, totals.get(0).orders());
+        assertEquals(DAY.plusHours(9), totals.get(1).start());
+        assertEquals(45.0, totals.get(1).revenue());
+        assertEquals(4, totals.get(1).quantity());
+        assertEquals(2L, totals.get(1).orders());
+    }
+
+    @Test
+    void totals_ShouldRollHoursUpIntoIsoWeeksAndMonths() {
+        List<SalesCube.PeriodTotal> weeks = cube.totals(SalesPeriod.WEEK, DAY, DAY.plusDays(7), null, null);
+        List<SalesCube.PeriodTotal> months = cube.totals(SalesPeriod.MONTH, DAY, DAY.plusDays(7), null, null);
+
+        assertEquals(2, weeks.size());
+        assertEquals(LocalDateTime.of(2025, 10, 13, 0, 0), weeks.get(0).start());
+        assertEquals(45.0, weeks.get(0).revenue());
+        assertEquals(LocalDateTime.of(2025, 10, 20, 0, 0), weeks.get(1).start());
+        assertEquals(60.0, weeks.get(1).revenue());
+        assertEquals(1, months.size());
+        assertEquals(105.0, months.get(0).revenue());
+        assertEquals(3L, months.get(0).orders());
+    }
+
+    @Test
+    void totals_ShouldFilterByPaymentMethodAndCategory() {
+        SalesCube.PeriodTotal upi = cube.totals(SalesPeriod.DAY, DAY, DAY.plusDays(1), null, PaymentMethod.UPI).get(0);
+        SalesCube.PeriodTotal snacks = cube.totals(SalesPeriod.DAY, DAY, DAY.plusDays(1), "cat-snacks", null).get(0);
+        SalesCube.PeriodTotal unknown = cube.totals(SalesPeriod.DAY, DAY, DAY.plusDays(1), "cat-missing", null).get(0);
+
+        assertEquals(10.0, upi.revenue());
+        assertEquals(1L, upi.orders());
+        assertEquals(15.0, snacks.revenue());
+        assertNull(snacks.orders());
+        assertEquals(0.0, unknown.revenue());
+    }
+
+    @Test
+    void topItems_ShouldRankByRequestedMetric() {
+        List<SalesCube.ItemTotal> byRevenue = cube.topItems(DAY, DAY.plusDays(7), 10, SalesMetric.REVENUE, null, null);
+        List<SalesCube.ItemTotal> byQuantity = cube.topItems(DAY, DAY.plusDays(1), 1, SalesMetric.QUANTITY, null, null);
+
+        assertEquals(List.of("item-samosa", "item-tea"), byRevenue.stream().map(SalesCube.ItemTotal::itemId).toList());
+        assertEquals(75.0, byRevenue.get(0).revenue());
+        assertEquals("Snacks", byRevenue.get(0).categoryName());
+        assertEquals(1, byQuantity.size());
+        assertEquals("item-tea", byQuantity.get(0).itemId());
+        assertEquals(3, byQuantity.get(0).quantity());
+    }
+
+    @Test
+    void add_WithNegativeSign_ShouldTakeADeletedOrderBackOut() {
+        cube.add(DAY.plusDays(2).plusHours(18), PaymentMethod.CASH, List.of(samosa(4)), -1);
+
+        SalesCube.PeriodTotal week = cube.totals(SalesPeriod.WEEK, DAY.plusDays(2), DAY.plusDays(3), null, null).get(0);
+        assertEquals(0.0, week.revenue());
+        assertEquals(0L, week.orders());
+        assertEquals(List.of("item-tea", "item-samosa"), cube.topItems(DAY, DAY.plusDays(7), 10, SalesMetric.REVENUE, null, null)
+                .stream().map(SalesCube.ItemTotal::itemId).toList());
+    }
+
+    @Test
+    void add_ShouldKeepCellsDistinct_WhenAnHourHoldsManyItems() {
+        SalesCube large = new SalesCube();
+        for (int i = 0; i < 1000; i++) {
+            large.add(DAY, i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.UPI,
+                    List.of(new SalesCube.Line("item-" + (i % 300), "Item", "cat-" + (i % 7), "Category", 1.0, 1)), 1);
+        }
+
+        List<SalesCube.ItemTotal> top = large.topItems(DAY, DAY.plusHours(1), 300, SalesMetric.QUANTITY, null, null);
+        assertEquals(300, top.size());
+        assertEquals(1000, top.stream().mapToLong(SalesCube.ItemTotal::quantity).sum());
+        assertEquals(4, top.get(0).quantity());
+        assertEquals(500.0, large.totals(SalesPeriod.HOUR, DAY, DAY.plusHours(1), null, PaymentMethod.CASH).get(0).revenue());
+    }
+
+    private static SalesCube.Line tea(int quantity) {
+        return new SalesCube.Line("item-tea", "Tea", "cat-drinks", "Drinks", 10.0 * quantity, quantity);
+    }
+
+    private static SalesCube.Line samosa(int quantity) {
+        return new SalesCube.Line("item-samosa", "Samosa", "cat-snacks", "Snacks", 15.0 * quantity, quantity);
+    }
+}
@@ -0,0 +1,76 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.BillingSoftwareApplication;
+import com.kunal.billingSoftware.entity.CategoryEntity;
+import com.kunal.billingSoftware.entity.ItemEntity;
+import com.kunal.billingSoftware.repository.CategoryRepository;
+import com.kunal.billingSoftware.repository.ItemRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the full application against a private in-memory H2 database for benchmarks that go through real
+ * repositories and transactions. The schema comes from Hibernate rather than Liquibase.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /** Later {@code extraProperties} override the defaults, e.g. {@code "spring.threads.virtual.enabled=true"}. */
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String uploadDir = Path.of(System.getProperty("java.io.tmpdir"), "billing-benchmark-uploads").toString();
+
+        return new SpringApplicationBuilder(BillingSoftwareApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.liquibase.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "jwt.secret.key=" + JwtValidationBenchmark.SECRET,
+                        "stripe.secret.key=sk_test_benchmark",
+                        "file.upload-dir=" + uploadDir,
+                        "image.upload.dir=file:" + uploadDir + "/")
+                .properties(extraProperties)
+                .run();
+    }
+
+    static void seedCatalog(ConfigurableApplicationContext context, int categories, int itemsPerCategory) {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+
+        List<ItemEntity> items = new ArrayList<>();
+        for (int c = 0; c < categories; c++) {
+            CategoryEntity category = categoryRepository.save(CategoryEntity.builder()
+                    .categoryId(UUID.randomUUID().toString())
+                    .name("Category " + c)
+                    .description("Benchmark category " + c)
+                    .bgColor("#ffffff")
+                    .imageUrl("http://localhost:8080/api/v1.0/uploads/category-" + c + ".png")
+                    .build());
+            for (int i = 0; i < itemsPerCategory; i++) {
+                items.add(ItemEntity.builder()
+                        .itemId(UUID.randomUUID().toString())
+                        .name("Item " + c + "-" + i)
+                        .description("Benchmark item")
+                        .price(new BigDecimal("49.99"))
+                        .imgUrl("http://localhost:8080/api/v1.0/uploads/item-" + c + "-" + i + ".png")
+                        .category(category)
+                        .build());
+            }
+        }
+        itemRepository.saveAll(items);
+    }
+}
@@ -0,0 +1,77 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
+import com.kunal.billingSoftware.io.CategoryResponse;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.service.CategoryService;
+import com.kunal.billingSoftware.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog reads against H2: CategoryServiceImpl.getAll, ItemServiceImpl.fetchItems served from the snapshot,
+ * and fetchItems right after the snapshot was dropped (one catalog query plus serialization).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"20"})
+    public int categories;
+
+    @Param({"25"})
+    public int itemsPerCategory;
+
+    private ConfigurableApplicationContext context;
+    private CategoryService categoryService;
+    private ItemService itemService;
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedCatalog(context, categories, itemsPerCategory);
+        categoryService = context.getBean(CategoryService.class);
+        itemService = context.getBean(ItemService.class);
+        catalogSnapshotCache = context.getBean(CatalogSnapshotCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CategoryResponse> categoryGetAll() {
+        return categoryService.getAll();
+    }
+
+    @Benchmark
+    public List<ItemResponse> fetchItems() {
+        return itemService.fetchItems();
+    }
+
+    @Benchmark
+    public List<ItemResponse> fetchItemsAfterCatalogChange() {
+        catalogSnapshotCache.clear();
+        return itemService.fetchItems();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CatalogBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
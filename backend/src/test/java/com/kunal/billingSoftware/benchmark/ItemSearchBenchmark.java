@@ -0,0 +1,83 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.cache.ItemSearchIndex;
+import com.kunal.billingSoftware.io.ItemResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemSearchIndex queries over a generated catalog: a selective two word query, a one letter prefix that matches
+ * a large part of the catalog, and a misspelt word that goes through the fuzzy path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"fresh", "spicy", "sweet", "crispy", "organic", "masala",
+            "classic", "chilled", "royal", "golden", "smoky", "tangy"};
+    private static final String[] NOUNS = {"paneer", "tikka", "coffee", "latte", "biryani", "samosa", "lassi",
+            "burger", "pizza", "noodles", "sandwich", "dosa", "idli", "chai", "mojito", "brownie", "muffin", "wrap",
+            "salad", "soup"};
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Main Course", "Desserts", "Breakfast", "Combos"};
+
+    @Param({"100000"})
+    public int items;
+
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<ItemResponse> catalog = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            catalog.add(ItemResponse.builder()
+                    .itemId("item-" + i)
+                    .name(pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + i)
+                    .description("House special " + pick(random, NOUNS) + " with " + pick(random, ADJECTIVES) + " sauce")
+                    .categoryName(pick(random, CATEGORIES))
+                    .price(BigDecimal.TEN)
+                    .build());
+        }
+        index = new ItemSearchIndex();
+        index.ensureLoaded(() -> catalog);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @Benchmark
+    public List<ItemResponse> twoWords() {
+        return index.search("masala chai", 20);
+    }
+
+    @Benchmark
+    public List<ItemResponse> singleLetterPrefix() {
+        return index.search("p", 20);
+    }
+
+    @Benchmark
+    public List<ItemResponse> typo() {
+        return index.search("panner", 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
+import com.kunal.billingSoftware.entity.UserEntity;
+import com.kunal.billingSoftware.filter.JwtRequestFilter;
+import com.kunal.billingSoftware.repository.UserRepository;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticated requests per second through JwtRequestFilter: header parsing, token verification, principal
+ * lookup and SecurityContext population. tbl_users is replaced by an in-memory stand-in so the numbers show
+ * the filter itself; {@code principalCache=false} shows the cost when every request reaches the repository.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final String EMAIL = "cashier@example.com";
+
+    @Param({"true", "false"})
+    public boolean principalCache;
+
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setup() {
+        UserEntity cashier = UserEntity.builder()
+                .userId("user-1")
+                .email(EMAIL)
+                .password("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm")
+                .role("ROLE_USER")
+                .name("Cashier")
+                .build();
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> method.getName().equals("findByEmail") ? Optional.of(cashier) : null);
+
+        UserPrincipalCache cache = new UserPrincipalCache(principalCache, 10_000, Duration.ofMinutes(5));
+        JwtUtil jwtUtil = new JwtUtil(JwtValidationBenchmark.SECRET);
+        filter = new JwtRequestFilter(new AppUserDetailsService(userRepository, cache), jwtUtil, new SimpleMeterRegistry());
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(new User(EMAIL, "", List.of()));
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/items");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtRequestFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens validated per second: the previous path (key + parser rebuilt per call, token parsed three times
+ * in validateToken plus once more in the filter) against the current single parse with a cached parser.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long!!";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET);
+        userDetails = new User("cashier@example.com", "", List.of());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyValidation() {
+        // extractUsername in the filter, then validateToken: extractUsername + isTokenExpired
+        String email = legacyClaims(token).getSubject();
+        String username = legacyClaims(token).getSubject();
+        boolean notExpired = !legacyClaims(token).getExpiration().before(new Date());
+        return email != null && username.equals(userDetails.getUsername()) && notExpired;
+    }
+
+    @Benchmark
+    public TokenClaims singleParseValidation() {
+        return jwtUtil.parseToken(token);
+    }
+
+    private Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
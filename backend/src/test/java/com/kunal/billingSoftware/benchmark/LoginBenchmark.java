@@ -0,0 +1,148 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
+import com.kunal.billingSoftware.entity.UserEntity;
+import com.kunal.billingSoftware.repository.RefreshTokenRepository;
+import com.kunal.billingSoftware.repository.UserRepository;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.service.impl.RefreshTokenServiceImpl;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logins per second on one core ({@code @Threads(1)}): the previous login (authenticate, load the user again,
+ * look the role up a third time) against the current single-read login, and a shift start served by
+ * {@code POST /refresh}, which rotates the refresh token and reads the user again. BCrypt uses the production
+ * cost factor and dominates both logins; tbl_users and tbl_refresh_tokens are in-memory stand-ins, so each
+ * saved read is worth more against a real database. The {@code userReads}
+ * secondary result counts tbl_users reads per iteration; divide by the operation count for reads per login.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String EMAIL = "cashier@example.com";
+    private static final String PASSWORD = "till-password";
+
+    private final LongAdder reads = new LongAdder();
+    private UserRepository userRepository;
+    private UserPrincipalCache principalCache;
+    private AppUserDetailsService appUserDetailsService;
+    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
+    private RefreshTokenServiceImpl refreshTokenService;
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        UserEntity cashier = UserEntity.builder()
+                .userId("user-1")
+                .email(EMAIL)
+                .password(passwordEncoder.encode(PASSWORD))
+                .role("ROLE_USER")
+                .name("Cashier")
+                .build();
+        userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        reads.increment();
+                        return Optional.of(cashier);
+                    }
+                    return null;
+                });
+
+        principalCache = new UserPrincipalCache(true, 10_000, Duration.ofMinutes(5));
+        appUserDetailsService = new AppUserDetailsService(userRepository, principalCache);
+        // Same wiring as SecurityConfig
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        authProvider.setUserDetailsService(appUserDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authenticationManager = new ProviderManager(authProvider);
+        jwtUtil = new JwtUtil(JwtValidationBenchmark.SECRET);
+        // Every redeem finds its row, so the one token below can be refreshed over and over
+        RefreshTokenRepository refreshTokenRepository = (RefreshTokenRepository) Proxy.newProxyInstance(
+                RefreshTokenRepository.class.getClassLoader(),
+                new Class<?>[]{RefreshTokenRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "deleteActive" -> 1;
+                    case "deleteExpired", "deleteByEmail" -> 0;
+                    default -> null;
+                });
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, jwtUtil);
+        refreshToken = refreshTokenService.issue(appUserDetailsService.loadUserByUsername(EMAIL));
+        reads.reset();
+    }
+
+    /** Reported by JMH next to the throughput of each benchmark. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReadCounters {
+        public long userReads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            userReads = 0;
+        }
+    }
+
+    @Benchmark
+    public String legacyLogin(ReadCounters counters) {
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        UserDetails userDetails = appUserDetailsService.loadUserByUsername(EMAIL);
+        String token = jwtUtil.generateToken(userDetails);
+        String role = userRepository.findByEmail(EMAIL).orElseThrow().getRole();
+        counters.userReads += reads.sumThenReset();
+        return token + role;
+    }
+
+    @Benchmark
+    public String login(ReadCounters counters) {
+        UserDetails userDetails = (UserDetails) authenticationManager
+                .authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD))
+                .getPrincipal();
+        principalCache.put(userDetails);
+        counters.userReads += reads.sumThenReset();
+        return jwtUtil.generateToken(userDetails) + refreshTokenService.issue(userDetails);
+    }
+
+    @Benchmark
+    public String refresh(ReadCounters counters) {
+        String email = refreshTokenService.redeem(refreshToken);
+        principalCache.evict(email);
+        UserDetails userDetails = appUserDetailsService.loadUserForToken(email);
+        counters.userReads += reads.sumThenReset();
+        return jwtUtil.generateToken(userDetails) + refreshTokenService.issue(userDetails);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoginBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
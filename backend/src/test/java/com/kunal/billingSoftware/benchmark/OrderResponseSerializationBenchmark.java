@@ -0,0 +1,77 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of OrderResponse lists the size of the latest-orders and history responses, using the
+ * same mapper configuration Spring Boot gives the HTTP message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int orders;
+
+    private ObjectMapper objectMapper;
+    private List<OrderResponse> responses;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        responses = new ArrayList<>(orders);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 10, 10, 0);
+        for (int i = 0; i < orders; i++) {
+            List<OrderResponse.OrderItemResponse> items = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                items.add(new OrderResponse.OrderItemResponse("item-" + j, "Item " + j, 20.0, 2));
+            }
+            responses.add(OrderResponse.builder()
+                    .orderId(String.format("ORD%019d", i))
+                    .customerName("Customer " + i)
+                    .phoneNumber("9876543210")
+                    .items(items)
+                    .subtotal(200.0)
+                    .tax(2.0)
+                    .grandTotal(202.0)
+                    .paymentMethod(i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.UPI)
+                    .createdAt(createdAt.plusMinutes(i))
+                    .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.COMPLETED).build())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrderResponseSerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.OrderHistoryResponse;
+import com.kunal.billingSoftware.io.OrderRequest;
+import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.ItemService;
+import com.kunal.billingSoftware.service.impl.OrderServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderServiceImpl against H2: checkout (order insert plus daily rollup update), entity to response mapping
+ * for a page of orders, and a history page read inside a transaction as open-session-in-view would run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int SEEDED_ORDERS = 200;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderServiceImpl orderService;
+    private TransactionTemplate transactionTemplate;
+    private OrderRequest request;
+    private List<OrderEntity> loadedOrders;
+    private MethodHandle convertToResponse;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderServiceImpl.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        // Checkout prices every line from the catalog, so the cart has to reference real items
+        BenchmarkApplication.seedCatalog(context, 1, itemsPerOrder);
+        request = orderRequest(context.getBean(ItemService.class).fetchItems().stream()
+                .map(ItemResponse::getItemId)
+                .toList());
+
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            orderService.createOrder(request);
+        }
+
+        // Fully initialized entities, so the mapping benchmark measures mapping only
+        OrderEntityRepository orderEntityRepository = context.getBean(OrderEntityRepository.class);
+        loadedOrders = transactionTemplate.execute(status -> {
+            List<OrderEntity> orders = orderEntityRepository.findHistoryFirstPage(PageRequest.of(0, PAGE_SIZE));
+            orders.forEach(order -> order.getItems().size());
+            return orders;
+        });
+
+        // convertToResponse is private; call it on the target object behind the transactional proxy
+        OrderServiceImpl target = AopTestUtils.getUltimateTargetObject(orderService);
+        convertToResponse = MethodHandles.privateLookupIn(OrderServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(OrderServiceImpl.class, "convertToResponse",
+                        MethodType.methodType(OrderResponse.class, OrderEntity.class))
+                .bindTo(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public void convertToResponse(Blackhole blackhole) throws Throwable {
+        for (OrderEntity order : loadedOrders) {
+            blackhole.consume((OrderResponse) convertToResponse.invokeExact(order));
+        }
+    }
+
+    @Benchmark
+    public OrderHistoryResponse orderHistoryPage() {
+        return transactionTemplate.execute(status -> orderService.getOrderHistory(null, PAGE_SIZE));
+    }
+
+    static OrderRequest orderRequest(List<String> itemIds) {
+        List<OrderRequest.OrderItemRequest> cartItems = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            cartItems.add(new OrderRequest.OrderItemRequest(itemIds.get(i), "Item " + i, 20.0, 2));
+        }
+        double subtotal = itemIds.size() * 40.0;
+        return OrderRequest.builder()
+                .customerName("Benchmark Customer")
+                .phoneNumber("9876543210")
+                .cartItems(cartItems)
+                .subtotal(subtotal)
+                .tax(subtotal * 0.01)
+                .grandTotal(subtotal * 1.01)
+                .paymentMethod("CASH")
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrderServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
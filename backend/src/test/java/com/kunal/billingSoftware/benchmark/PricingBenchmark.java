@@ -0,0 +1,66 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.service.ItemService;
+import com.kunal.billingSoftware.service.PricingService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PricingServiceImpl.quote for carts of different sizes, priced from the catalog snapshot's price index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"10", "200"})
+    public int cartLines;
+
+    private ConfigurableApplicationContext context;
+    private PricingService pricingService;
+    private List<QuoteRequest.QuoteItemRequest> cart;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedCatalog(context, 20, 25);
+        pricingService = context.getBean(PricingService.class);
+
+        List<ItemResponse> items = context.getBean(ItemService.class).fetchItems();
+        cart = new ArrayList<>(cartLines);
+        for (int i = 0; i < cartLines; i++) {
+            cart.add(new QuoteRequest.QuoteItemRequest(items.get(i % items.size()).getItemId(), 1 + i % 3));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuoteResponse quote() {
+        return pricingService.quote(cart);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PricingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.analytics.SalesCube;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalesCube queries over a year of generated orders: 300 orders a day over twelve opening hours, three lines each
+ * from a 500 item catalog in 20 categories. Covers monthly revenue for the year, daily revenue of one category
+ * and the top ten items of a month, plus recording a single order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalesCubeBenchmark {
+
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int ITEMS = 500;
+    private static final int CATEGORIES = 20;
+    private static final int ORDERS_PER_DAY = 300;
+
+    private SalesCube cube;
+    private List<SalesCube.Line> order;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cube = new SalesCube();
+        Random random = new Random(42);
+        for (int day = 0; day < 365; day++) {
+            for (int o = 0; o < ORDERS_PER_DAY; o++) {
+                LocalDateTime createdAt = YEAR_START.plusDays(day).plusHours(9 + random.nextInt(12)).plusMinutes(random.nextInt(60));
+                List<SalesCube.Line> lines = new ArrayList<>(3);
+                for (int l = 0; l < 3; l++) {
+                    lines.add(line(random.nextInt(ITEMS), 1 + random.nextInt(3)));
+                }
+                cube.add(createdAt, random.nextBoolean() ? PaymentMethod.CASH : PaymentMethod.UPI, lines, 1);
+            }
+        }
+        order = List.of(line(1, 2), line(2, 1));
+    }
+
+    @Benchmark
+    public List<SalesCube.PeriodTotal> monthlyRevenueForTheYear() {
+        return cube.totals(SalesPeriod.MONTH, YEAR_START, YEAR_START.plusYears(1), null, null);
+    }
+
+    @Benchmark
+    public List<SalesCube.PeriodTotal> dailyRevenueOfOneCategoryForTheYear() {
+        return cube.totals(SalesPeriod.DAY, YEAR_START, YEAR_START.plusYears(1), "cat-3", PaymentMethod.UPI);
+    }
+
+    @Benchmark
+    public List<SalesCube.ItemTotal> topItemsOfAMonth() {
+        return cube.topItems(YEAR_START.plusMonths(5), YEAR_START.plusMonths(6), 10, SalesMetric.REVENUE, null, null);
+    }
+
+    @Benchmark
+    public void recordOrder() {
+        cube.add(YEAR_START.plusMonths(6), PaymentMethod.CASH, order, 1);
+    }
+
+    private static SalesCube.Line line(int item, int quantity) {
+        return new SalesCube.Line("item-" + item, "Item " + item, "cat-" + item % CATEGORIES, "Category " + item % CATEGORIES,
+                (10 + item % 90) * quantity, quantity);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SalesCubeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.impl.StripeWebhookServiceImpl;
+import com.kunal.billingSoftware.util.StripeWebhookStub;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Webhook events accepted per second: signature check, parse and the payment status update, driven by the
+ * local stub sender. The database update is replaced by a counter so only the application's own cost is
+ * measured, which is what a till no longer waits on compared to a blocking PaymentIntent.retrieve.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StripeWebhookBenchmark {
+
+    static final String SECRET = "whsec_benchmark_secret";
+
+    private final AtomicInteger applied = new AtomicInteger();
+    private StripeWebhookServiceImpl webhookService;
+    private String payload;
+    private String signature;
+
+    @Setup
+    public void setup() {
+        OrderEntityRepository repository = (OrderEntityRepository) Proxy.newProxyInstance(
+                OrderEntityRepository.class.getClassLoader(),
+                new Class<?>[]{OrderEntityRepository.class},
+                (proxy, method, args) -> method.getName().equals("updatePaymentStatus") ? applied.incrementAndGet() : null);
+
+        DashboardStreamService dashboard = (DashboardStreamService) Proxy.newProxyInstance(
+                DashboardStreamService.class.getClassLoader(),
+                new Class<?>[]{DashboardStreamService.class},
+                (proxy, method, args) -> null);
+
+        webhookService = new StripeWebhookServiceImpl(repository, dashboard, new ObjectMapper(), new NoOpTransactionManager(),
+                SECRET, 300);
+
+        StripeWebhookStub stripe = new StripeWebhookStub(SECRET);
+        payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD0000000000000000042", "pi_123", "pm_123");
+        signature = stripe.sign(payload);
+    }
+
+    @Benchmark
+    public void acceptSignedEvent() {
+        webhookService.handleEvent(payload, signature);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StripeWebhookBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
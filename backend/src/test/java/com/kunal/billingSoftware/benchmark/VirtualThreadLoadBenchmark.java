@@ -0,0 +1,157 @@
+package com.kunal.billingSoftware.benchmark;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.UserEntity;
+import com.kunal.billingSoftware.enums.UserRoles;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.repository.UserRepository;
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.StripeApiStub;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the virtual-thread execution mode: 64 clients create Stripe checkout sessions against a local
+ * stub that answers after {@code stripeLatencyMs}, while 8 clients browse {@code GET /items}. Tomcat is cut
+ * down to {@code tomcatThreads} platform threads so a single JVM can saturate it; production has 200 threads
+ * and proportionally more tills.
+ * <p>
+ * With {@code virtualThreads=false} checkouts hold every Tomcat thread for the Stripe round trip and item
+ * reads queue behind them. With {@code virtualThreads=true} checkouts park, so checkout throughput is bounded by
+ * the clients instead of the pool and the item p99 drops to the cost of the read. Compare the throughput and
+ * p0.99 rows of both methods between the two runs.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200"})
+    public int stripeLatencyMs;
+
+    @Param({"32"})
+    public int tomcatThreads;
+
+    private StripeApiStub stripe;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest checkoutRequest;
+    private HttpRequest itemsRequest;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        stripe = new StripeApiStub(Duration.ofMillis(stripeLatencyMs));
+        context = BenchmarkApplication.start(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "stripe.api-base=" + stripe.baseUrl(),
+                // Neither bulkhead should be what limits this test
+                "stripe.max-concurrent-requests=1000");
+        BenchmarkApplication.seedCatalog(context, 20, 25);
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1.0";
+        String token = "Bearer " + cashierToken();
+        String orderId = pendingUpiOrderId();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        checkoutRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/payments/create-checkout-session"))
+                .header("Authorization", token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"currency\":\"INR\",\"orderId\":\"" + orderId + "\"}"))
+                .build();
+        itemsRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/items"))
+                .header("Authorization", token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        stripe.close();
+    }
+
+    @Benchmark
+    @Group("checkoutUnderLoad")
+    @GroupThreads(64)
+    public int checkout() throws IOException, InterruptedException {
+        return send(checkoutRequest, 201);
+    }
+
+    @Benchmark
+    @Group("checkoutUnderLoad")
+    @GroupThreads(8)
+    public int browseItems() throws IOException, InterruptedException {
+        return send(itemsRequest, 200);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VirtualThreadLoadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private int send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            // An error page is cheaper than the real response and would flatter the result
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    // Checkout only opens a session for a stored UPI order that is still waiting for its payment; the stub never
+    // sends the webhook, so the same order stays payable for the whole run
+    private String pendingUpiOrderId() {
+        return context.getBean(OrderEntityRepository.class).save(OrderEntity.builder()
+                .customerName("Benchmark Customer")
+                .phoneNumber("9876543210")
+                .subtotal(475.71)
+                .tax(23.79)
+                .grandTotal(499.5)
+                .paymentMethod(PaymentMethod.UPI)
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.PENDING).build())
+                .items(new ArrayList<>())
+                .build()).getOrderId();
+    }
+
+    private String cashierToken() {
+        UserEntity cashier = context.getBean(UserRepository.class).save(UserEntity.builder()
+                .userId(UUID.randomUUID().toString())
+                .email("cashier@benchmark.local")
+                .password("{noop}unused")
+                .role(UserRoles.USER.getValue())
+                .name("Benchmark Cashier")
+                .build());
+        return context.getBean(JwtUtil.class).generateToken(new User(cashier.getEmail(), "", List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.kunal.billingSoftware.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.ItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotCacheTest {
+
+    private CatalogSnapshotCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new CatalogSnapshotCache(new ObjectMapper());
+    }
+
+    @Test
+    void get_LoadsOnce_AndServesTheSameSnapshotAfterwards() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CatalogSnapshot first = cache.get(() -> {
+            loads.incrementAndGet();
+            return List.of(item("item-1", "Tea"));
+        });
+        CatalogSnapshot second = cache.get(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"itemId\":\"item-1\""));
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void rebuild_ChangesEtag_OnlyWhenCatalogContentChanges() {
+        CatalogSnapshot original = cache.rebuild(() -> List.of(item("item-1", "Tea")));
+        CatalogSnapshot unchanged = cache.rebuild(() -> List.of(item("item-1", "Tea")));
+        CatalogSnapshot changed = cache.rebuild(() -> List.of(item("item-1", "Tea"), item("item-2", "Coffee")));
+
+        assertEquals(original.etag(), unchanged.etag());
+        assertNotEquals(original.etag(), changed.etag());
+        assertEquals(2, cache.get(List::of).items().size());
+    }
+
+    @Test
+    void rebuild_NeverReplacesNewerSnapshot_WithOneThatStartedEarlier() {
+        // The slow rebuild reads the catalog before a second write, whose rebuild finishes first
+        CatalogSnapshot stale = cache.rebuild(() -> {
+            cache.rebuild(() -> List.of(item("item-1", "Tea"), item("item-2", "Coffee")));
+            return List.of(item("item-1", "Tea"));
+        });
+
+        assertEquals(2, stale.items().size());
+        assertEquals(2, cache.get(List::of).items().size());
+    }
+
+    @Test
+    void items_AreImmutable() {
+        CatalogSnapshot snapshot = cache.rebuild(() -> new ArrayList<>(List.of(item("item-1", "Tea"))));
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.items().add(item("item-2", "Coffee")));
+    }
+
+    @Test
+    void prices_AreIndexedById_WithTheSnapshotVersion() {
+        CatalogSnapshot before = cache.rebuild(() -> List.of(item("item-1", "Tea")));
+        CatalogSnapshot after = cache.rebuild(() -> List.of(item("item-1", "Tea"), item("item-2", "Coffee")));
+
+        assertEquals(before.version(), before.prices().version());
+        assertEquals(after.version(), after.prices().version());
+        assertNull(before.prices().find("item-2"));
+        assertEquals("Coffee", after.prices().find("item-2").getName());
+        assertEquals(new BigDecimal("10.00"), after.prices().find("item-1").getPrice());
+    }
+
+    private ItemResponse item(String itemId, String name) {
+        return ItemResponse.builder()
+                .itemId(itemId)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .categoryId("category-1")
+                .categoryName("Drinks")
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.ItemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ItemSearchIndex();
+        index.ensureLoaded(() -> List.of(
+                item("item-1", "Masala Chai", "Spiced milk tea", "Beverages"),
+                item("item-2", "Cold Coffee", "Iced coffee with cream", "Beverages"),
+                item("item-3", "Paneer Tikka", "Grilled cottage cheese", "Starters"),
+                item("item-4", "Crème Brûlée", "Caramelised custard", "Desserts"),
+                item("item-5", "Chai Latte", "Tea with steamed milk", "Beverages")));
+    }
+
+    private static ItemResponse item(String itemId, String name, String description, String categoryName) {
+        return ItemResponse.builder()
+                .itemId(itemId)
+                .name(name)
+                .description(description)
+                .categoryName(categoryName)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+
+    private static List<String> ids(List<ItemResponse> items) {
+        return items.stream().map(ItemResponse::getItemId).toList();
+    }
+
+    @Test
+    void search_MatchesPrefixes_AsTheUserTypes() {
+        assertEquals(List.of("item-3"), ids(index.search("pan", 10)));
+        assertEquals(List.of("item-3"), ids(index.search("Paneer Ti", 10)));
+    }
+
+    @Test
+    void search_RanksNameMatchesAboveDescriptionMatches() {
+        // "chai" is in both names; "tea" only in descriptions, so the shorter name wins the tie
+        assertEquals(List.of("item-5", "item-1"), ids(index.search("chai", 10)));
+        assertEquals(List.of("item-2"), ids(index.search("coffee", 10)));
+    }
+
+    @Test
+    void search_RequiresEveryQueryWord() {
+        assertEquals(List.of("item-1"), ids(index.search("chai spiced", 10)));
+        assertTrue(index.search("chai paneer", 10).isEmpty());
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        assertEquals(List.of("item-3"), ids(index.search("panner", 10)));
+        assertEquals(List.of("item-2"), ids(index.search("cofee", 10)));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void search_MatchesCategoryNames_AndIgnoresAccents() {
+        assertEquals(3, index.search("beverages", 10).size());
+        assertEquals(List.of("item-4"), ids(index.search("creme brulee", 10)));
+    }
+
+    @Test
+    void search_ReturnsAtMostLimitResults() {
+        assertEquals(2, index.search("beverages", 2).size());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemove_KeepTheIndexCurrent() {
+        index.put(item("item-6", "Paneer Roll", "Wrap", "Starters"));
+        assertEquals(List.of("item-6", "item-3"), ids(index.search("paneer", 10)));
+
+        index.remove("item-3");
+        assertEquals(List.of("item-6"), ids(index.search("paneer", 10)));
+        assertTrue(index.search("tikka", 10).isEmpty());
+
+        // Replacing an item re-indexes it under its new words
+        index.put(item("item-6", "Veg Roll", "Wrap", "Starters"));
+        assertTrue(index.search("paneer", 10).isEmpty());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void put_IsIgnoredBeforeTheFirstLoad() {
+        ItemSearchIndex fresh = new ItemSearchIndex();
+        fresh.put(item("item-1", "Masala Chai", "", "Beverages"));
+
+        fresh.ensureLoaded(List::of);
+
+        assertEquals(0, fresh.size());
+    }
+
+    @Test
+    void withinEditDistance_CountsTranspositionsAsOneEdit() {
+        assertTrue(ItemSearchIndex.withinEditDistance("chai", "chia", 1));
+        assertTrue(ItemSearchIndex.withinEditDistance("paneer", "panner", 1));
+        assertFalse(ItemSearchIndex.withinEditDistance("coffee", "toffees", 1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.kunal.billingSoftware.cache;
+
+import com.kunal.billingSoftware.io.PrincipalCacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    private MutableClock clock;
+    private UserPrincipalCache cache;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock();
+        cache = new UserPrincipalCache(true, 2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_ReturnsCachedPrincipalWithoutPassword_AndCountsHit() {
+        cache.put(user("a@example.com"));
+
+        UserDetails cached = cache.get("a@example.com");
+
+        assertNotNull(cached);
+        assertEquals("a@example.com", cached.getUsername());
+        assertEquals("", cached.getPassword());
+        assertEquals("ROLE_USER", cached.getAuthorities().iterator().next().getAuthority());
+        assertEquals(1L, cache.stats().getHits());
+    }
+
+    @Test
+    void get_ReturnsNull_AndCountsMissAndEviction_WhenEntryExpired() {
+        cache.put(user("a@example.com"));
+        clock.advance(Duration.ofMinutes(5));
+
+        assertNull(cache.get("a@example.com"));
+
+        PrincipalCacheStats stats = cache.stats();
+        assertEquals(1L, stats.getMisses());
+        assertEquals(1L, stats.getEvictions());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void put_EvictsEntryClosestToExpiry_WhenFull() {
+        cache.put(user("a@example.com"));
+        clock.advance(Duration.ofSeconds(1));
+        cache.put(user("b@example.com"));
+        clock.advance(Duration.ofSeconds(1));
+        cache.put(user("c@example.com"));
+
+        assertNull(cache.get("a@example.com"));
+        assertNotNull(cache.get("b@example.com"));
+        assertNotNull(cache.get("c@example.com"));
+        assertEquals(2, cache.stats().getSize());
+        assertEquals(1L, cache.stats().getEvictions());
+    }
+
+    @Test
+    void evict_RemovesEntryExplicitly() {
+        cache.put(user("a@example.com"));
+
+        cache.evict("a@example.com");
+
+        assertNull(cache.get("a@example.com"));
+        assertEquals(1L, cache.stats().getEvictions());
+    }
+
+    @Test
+    void disabledCache_AlwaysMisses() {
+        UserPrincipalCache disabled = new UserPrincipalCache(false, 2, Duration.ofMinutes(5), clock);
+        disabled.put(user("a@example.com"));
+
+        assertNull(disabled.get("a@example.com"));
+        assertFalse(disabled.stats().getEnabled());
+        assertEquals(1L, disabled.stats().getMisses());
+        assertEquals(0, disabled.stats().getSize());
+    }
+
+    private UserDetails user(String email) {
+        return new User(email, "hashed-password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-10-10T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
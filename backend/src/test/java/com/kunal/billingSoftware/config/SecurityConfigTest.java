@@ -0,0 +1,156 @@
+package com.kunal.billingSoftware.config;
+
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
+import com.kunal.billingSoftware.controller.OrderExportController;
+import com.kunal.billingSoftware.controller.StripeWebhookController;
+import com.kunal.billingSoftware.controller.UserController;
+import com.kunal.billingSoftware.enums.UserRoles;
+import com.kunal.billingSoftware.io.UserBatchResponse;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderExportService;
+import com.kunal.billingSoftware.service.UserBatchService;
+import com.kunal.billingSoftware.service.UserService;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.service.impl.StripeWebhookServiceImpl;
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.StripeWebhookStub;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the real filter chain; requests carry the servlet context path, as they do behind Tomcat
+@WebMvcTest(controllers = {StripeWebhookController.class, UserController.class, OrderExportController.class},
+        properties = {
+                "jwt.secret.key=" + SecurityConfigTest.JWT_SECRET,
+                "stripe.webhook.secret=" + SecurityConfigTest.WEBHOOK_SECRET
+        })
+@Import({SecurityConfig.class, JwtUtil.class, StripeWebhookServiceImpl.class})
+class SecurityConfigTest {
+
+    static final String JWT_SECRET = "security-config-test-secret-key-0123456789abcdef";
+    static final String WEBHOOK_SECRET = "whsec_security_config_test";
+    private static final String CONTEXT_PATH = "/api/v1.0";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+    @MockitoBean
+    private OrderEntityRepository orderEntityRepository;
+    @MockitoBean
+    private DashboardStreamService dashboardStreamService;
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+    @MockitoBean
+    private UserService userService;
+    @MockitoBean
+    private UserBatchService userBatchService;
+    @MockitoBean
+    private UserPrincipalCache userPrincipalCache;
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    private final StripeWebhookStub stripe = new StripeWebhookStub(WEBHOOK_SECRET);
+
+    @Test
+    void testStripeWebhook_ShouldBeAccepted_WhenSignedAndUnauthenticated() throws Exception {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD_1", "pi_1", "pm_1");
+
+        mockMvc.perform(post(CONTEXT_PATH + "/webhooks/stripe")
+                        .contextPath(CONTEXT_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(StripeWebhookStub.SIGNATURE_HEADER, stripe.sign(payload))
+                        .content(payload))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testStripeWebhook_ShouldBeRejected_WhenSignatureIsForged() throws Exception {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD_1", "pi_1", "pm_1");
+
+        mockMvc.perform(post(CONTEXT_PATH + "/webhooks/stripe")
+                        .contextPath(CONTEXT_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(StripeWebhookStub.SIGNATURE_HEADER, new StripeWebhookStub("whsec_other").sign(payload))
+                        .content(payload))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAdminEndpoint_ShouldBeForbidden_WhenTokenBelongsToUser() throws Exception {
+        String token = bearerTokenFor("till@example.com", UserRoles.USER);
+
+        mockMvc.perform(post(CONTEXT_PATH + "/admin/users/batch")
+                        .contextPath(CONTEXT_PATH)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"users\":[]}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userBatchService);
+    }
+
+    @Test
+    void testAdminEndpoint_ShouldBeAllowed_WhenTokenBelongsToAdmin() throws Exception {
+        String token = bearerTokenFor("admin@example.com", UserRoles.ADMIN);
+        when(userBatchService.createUsersFromCsv("name,email,password,role\n"))
+                .thenReturn(UserBatchResponse.builder().accepted(0).rejected(0).results(List.of()).build());
+
+        mockMvc.perform(post(CONTEXT_PATH + "/admin/users/batch")
+                        .contextPath(CONTEXT_PATH)
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content("name,email,password,role\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testOrderExport_ShouldBeForbidden_WhenTokenBelongsToUser() throws Exception {
+        String token = bearerTokenFor("till@example.com", UserRoles.USER);
+
+        mockMvc.perform(get(CONTEXT_PATH + "/admin/orders/export")
+                        .contextPath(CONTEXT_PATH)
+                        .header("Authorization", token)
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderExportService);
+    }
+
+    @Test
+    void testOrderExport_ShouldBeForbidden_WhenUnauthenticated() throws Exception {
+        mockMvc.perform(get(CONTEXT_PATH + "/admin/orders/export")
+                        .contextPath(CONTEXT_PATH)
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderExportService);
+    }
+
+    private String bearerTokenFor(String email, UserRoles role) {
+        UserDetails user = new User(email, "hashed", List.of(new SimpleGrantedAuthority(role.getValue())));
+        when(appUserDetailsService.loadUserForToken(email)).thenReturn(user);
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
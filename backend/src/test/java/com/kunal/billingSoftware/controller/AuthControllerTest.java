@@ -1,8 +1,9 @@
 package com.kunal.billingSoftware.controller;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.exceptions.InvalidCredentialsException;
 import com.kunal.billingSoftware.io.AuthRequest;
-import com.kunal.billingSoftware.service.UserService;
+import com.kunal.billingSoftware.service.RefreshTokenService;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
 import org.junit.jupiter.api.Test;
@@ -13,16 +14,21 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import org.springframework.http.MediaType;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,7 +57,10 @@ class AuthControllerTest {
     private JwtUtil jwtUtil;
 
     @MockitoBean
-    private UserService userService;
+    private UserPrincipalCache userPrincipalCache;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
 
     @Test
     void testLogin_ShouldReturnAuthResponse_WhenCredentialsAreValid() throws Exception {
@@ -59,12 +68,12 @@ class AuthControllerTest {
         String email = "test@example.com";
         String password = "password123";
         AuthRequest request = new AuthRequest(email, password);
-        UserDetails userDetails = mock(UserDetails.class);
+        UserDetails userDetails = new User(email, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
         Authentication authenticationMock = mock(Authentication.class);
 
-        when(appUserDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(authenticationMock.getPrincipal()).thenReturn(userDetails);
         when(jwtUtil.generateToken(userDetails)).thenReturn("fake-jwt-token");
-        when(userService.getUserRole(email)).thenReturn("USER");
+        when(refreshTokenService.issue(userDetails)).thenReturn("fake-refresh-token");
 
         // Stub authenticationManager.authenticate() so it doesn't throw
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
@@ -82,12 +91,15 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value(email))
                 .andExpect(jsonPath("$.token").value("fake-jwt-token"))
-                .andExpect(jsonPath("$.role").value("USER"));
+                .andExpect(jsonPath("$.role").value("ROLE_USER"))
+                .andExpect(jsonPath("$.refreshToken").value("fake-refresh-token"));
 
-        // Verify
+        // Verify: the user is read by the authentication manager only
         verify(authenticationManager, times(1))
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(jwtUtil, times(1)).generateToken(userDetails);
+        verify(userPrincipalCache, times(1)).put(userDetails);
+        verifyNoInteractions(appUserDetailsService);
     }
 
     @Test
@@ -123,6 +135,74 @@ class AuthControllerTest {
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
 
+    @Test
+    void testRefresh_ShouldIssueNewAccessAndRefreshToken_WhenRefreshTokenIsValid() throws Exception {
+        // Arrange
+        String email = "test@example.com";
+        UserDetails userDetails = new User(email, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(refreshTokenService.redeem("refresh-token")).thenReturn(email);
+        when(appUserDetailsService.loadUserForToken(email)).thenReturn(userDetails);
+        when(jwtUtil.generateToken(userDetails)).thenReturn("new-jwt-token");
+        when(refreshTokenService.issue(userDetails)).thenReturn("rotated-refresh-token");
+
+        // Act + Assert
+        mockMvc.perform(post("/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                              "refreshToken": "refresh-token"
+                            }
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-jwt-token"))
+                .andExpect(jsonPath("$.role").value("ROLE_USER"))
+                .andExpect(jsonPath("$.refreshToken").value("rotated-refresh-token"));
+
+        // The user is read again, so a role change since the last login shows up in the new token
+        var inOrder = inOrder(userPrincipalCache, appUserDetailsService);
+        inOrder.verify(userPrincipalCache).evict(email);
+        inOrder.verify(appUserDetailsService).loadUserForToken(email);
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void testRefresh_ShouldReturnUnauthorized_WhenTokenWasAlreadyUsedOrRevoked() throws Exception {
+        // Arrange
+        when(refreshTokenService.redeem("used-token"))
+                .thenThrow(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token"));
+
+        // Act + Assert
+        mockMvc.perform(post("/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                              "refreshToken": "used-token"
+                            }
+                            """))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(appUserDetailsService);
+        verify(refreshTokenService, never()).issue(any());
+    }
+
+    @Test
+    void testRefresh_ShouldReturnUnauthorized_WhenUserWasDeleted() throws Exception {
+        // Arrange
+        when(refreshTokenService.redeem("refresh-token")).thenReturn("gone@example.com");
+        when(appUserDetailsService.loadUserForToken("gone@example.com"))
+                .thenThrow(new UsernameNotFoundException("gone@example.com email address not found!"));
+
+        // Act + Assert
+        mockMvc.perform(post("/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                              "refreshToken": "refresh-token"
+                            }
+                            """))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void testEncodePassword_ShouldEncodePassword() throws Exception{
         String rawPassword = "Pass@123";
@@ -3,6 +3,7 @@ package com.kunal.billingSoftware.controller;
 import com.kunal.billingSoftware.io.OrderResponse;
 import com.kunal.billingSoftware.io.PaymentDetails;
 import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.service.DashboardStreamService;
 import com.kunal.billingSoftware.service.OrderService;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
@@ -13,6 +14,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
@@ -35,6 +38,9 @@ class DashboardControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private DashboardStreamService dashboardStreamService;
+
     @MockitoBean
     private AppUserDetailsService appUserDetailsService;
 
@@ -110,4 +116,14 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.recentOrders[0].customerName").value("Kunal Pawar"))
                 .andExpect(jsonPath("$.recentOrders").isArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamDashboard_ShouldOpenEventStream() throws Exception {
+        when(dashboardStreamService.subscribe()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/dashboard/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+}
@@ -1,5 +1,8 @@
 package com.kunal.billingSoftware.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
 import com.kunal.billingSoftware.io.ItemRequest;
 import com.kunal.billingSoftware.io.ItemResponse;
 import com.kunal.billingSoftware.service.ItemService;
@@ -26,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +42,8 @@ class ItemControllerTest {
     private AppUserDetailsService appUserDetailsService;
     @MockitoBean
     private ItemService itemService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Autowired
     private MockMvc mockMvc;
@@ -116,10 +122,12 @@ class ItemControllerTest {
 
     @Test
     void testReadItems_ShouldReturnItemList_WhenItemsExist() throws Exception {
-        when(itemService.fetchItems()).thenReturn(List.of(itemResponse));
+        CatalogSnapshot snapshot = new CatalogSnapshotCache(objectMapper).rebuild(() -> List.of(itemResponse));
+        when(itemService.getCatalogSnapshot()).thenReturn(snapshot);
 
         mockMvc.perform(get("/items").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", snapshot.etag()))
                 .andExpect(jsonPath("$[0].itemId").value("item-id-123"))
                 .andExpect(jsonPath("$[0].name").value("test-item-name"))
                 .andExpect(jsonPath("$[0].price").value(100000))
@@ -131,6 +139,37 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].updatedAt").isNotEmpty());
     }
 
+    @Test
+    void testReadItems_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        CatalogSnapshot snapshot = new CatalogSnapshotCache(objectMapper).rebuild(() -> List.of(itemResponse));
+        when(itemService.getCatalogSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/items").header("If-None-Match", snapshot.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", snapshot.etag()))
+                .andExpect(response -> assertEquals(0, response.getResponse().getContentLength()));
+    }
+
+    @Test
+    void testSearchItems_ShouldReturnRankedItems() throws Exception {
+        when(itemService.searchItems("test", 20)).thenReturn(List.of(itemResponse));
+
+        mockMvc.perform(get("/items/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value("item-id-123"))
+                .andExpect(jsonPath("$[0].name").value("test-item-name"));
+
+        verify(itemService, times(1)).searchItems("test", 20);
+    }
+
+    @Test
+    void testSearchItems_ShouldReturnBadRequest_WhenLimitIsOutOfRange() throws Exception {
+        mockMvc.perform(get("/items/search").param("q", "test").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).searchItems(anyString(), anyInt());
+    }
+
     @Test
     void testDeleteItem_ShouldDeleteItem_WhenItemExists() throws Exception {
         String itemId = "test-item-id";
@@ -2,7 +2,9 @@ package com.kunal.billingSoftware.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kunal.billingSoftware.io.*;
+import com.kunal.billingSoftware.service.OrderBatchService;
 import com.kunal.billingSoftware.service.OrderService;
+import com.kunal.billingSoftware.service.PricingService;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -36,6 +39,10 @@ class OrderControllerTest {
     private AppUserDetailsService appUserDetailsService;
     @MockitoBean
     private OrderService orderService;
+    @MockitoBean
+    private OrderBatchService orderBatchService;
+    @MockitoBean
+    private PricingService pricingService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -91,6 +98,83 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(any(OrderRequest.class));
     }
 
+    @Test
+    void testCreateOrders_ShouldReturnPerOrderResults_WhenBatchSubmitted() throws Exception {
+        OrderRequest request = OrderRequest.builder()
+                .customerName("Kunal Pawar")
+                .phoneNumber("9876543210")
+                .cartItems(List.of(
+                        new OrderRequest.OrderItemRequest("item-101", "Laptop", 50000.0, 1)
+                ))
+                .subtotal(50000.0)
+                .tax(2500.0)
+                .grandTotal(52500.0)
+                .paymentMethod("CASH")
+                .build();
+        OrderBatchResponse batchResponse = OrderBatchResponse.builder()
+                .accepted(1)
+                .rejected(0)
+                .results(List.of(OrderBatchResponse.OrderBatchResult.builder()
+                        .index(0)
+                        .status(OrderBatchResponse.Status.CREATED)
+                        .orderId("order-001")
+                        .build()))
+                .build();
+
+        when(orderBatchService.createOrders(anyList())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderBatchRequest(List.of(request)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].orderId").value("order-001"));
+
+        verify(orderBatchService, times(1)).createOrders(anyList());
+    }
+
+    @Test
+    void testCreateOrders_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderBatchService);
+    }
+
+    @Test
+    void testQuote_ShouldReturnServerPricedCart() throws Exception {
+        QuoteRequest request = new QuoteRequest(List.of(new QuoteRequest.QuoteItemRequest("item-101", 2)));
+        QuoteResponse quote = QuoteResponse.builder()
+                .catalogVersion("\"abc\"")
+                .items(List.of(new QuoteResponse.QuoteItemResponse("item-101", "Laptop", 50000.0, 2, 100000.0)))
+                .subtotal(100000.0)
+                .tax(5000.0)
+                .grandTotal(105000.0)
+                .build();
+        when(pricingService.quote(request.getCartItems())).thenReturn(quote);
+
+        mockMvc.perform(post("/orders/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].lineTotal").value(100000.0))
+                .andExpect(jsonPath("$.grandTotal").value(105000.0))
+                .andExpect(jsonPath("$.catalogVersion").value("\"abc\""));
+    }
+
+    @Test
+    void testQuote_ShouldReturnBadRequest_WhenQuantityIsMissing() throws Exception {
+        mockMvc.perform(post("/orders/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cartItems\":[{\"itemId\":\"item-101\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(pricingService);
+    }
+
     @Test
     void testDeleteOrder_ShouldReturnNoContent_WhenOrderExists() throws Exception {
         String orderId = "order-001";
@@ -117,6 +201,28 @@ class OrderControllerTest {
         verify(orderService, times(1)).getLatestOrders();
     }
 
+    @Test
+    void testGetOrderHistory_ShouldReturnPageWithNextCursor() throws Exception {
+        OrderHistoryResponse historyResponse = OrderHistoryResponse.builder()
+                .orders(List.of(sampleOrderResponse))
+                .nextCursor("next-cursor-token")
+                .hasMore(true)
+                .build();
+
+        when(orderService.getOrderHistory("cursor-token", 1)).thenReturn(historyResponse);
+
+        mockMvc.perform(get("/orders/history")
+                        .param("cursor", "cursor-token")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].orderId").value("order-001"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor-token"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        verify(orderService, times(1)).getOrderHistory("cursor-token", 1);
+    }
+
     @Test
     void testGetFilteredOrder_ShouldReturnFilteredList_WhenCriteriaMatch() throws Exception {
         OrderFilterRequest filterRequest = new OrderFilterRequest();
@@ -0,0 +1,106 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.io.OrderExportFormat;
+import com.kunal.billingSoftware.service.OrderExportService;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class OrderExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @Test
+    void testExportOrders_ShouldStreamCsvAttachment() throws Exception {
+        LocalDate from = LocalDate.of(2025, 10, 1);
+        LocalDate to = LocalDate.of(2025, 10, 31);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("order_id\r\nORD-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService).exportOrders(eq(from), eq(to), eq(OrderExportFormat.CSV), any());
+
+        mockMvc.perform(get("/admin/orders/export")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders_2025-10-01_2025-10-31.csv\""))
+                .andExpect(content().string("order_id\r\nORD-1\r\n"));
+    }
+
+    @Test
+    void testExportOrders_ShouldGzipBody_WhenRequested() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("{\"orderId\":\"ORD-1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService).exportOrders(any(), any(), eq(OrderExportFormat.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/admin/orders/export")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31")
+                        .param("format", "ndjson")
+                        .param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders_2025-10-01_2025-10-31.ndjson.gz\""))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("{\"orderId\":\"ORD-1\"}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExportOrders_ShouldReturnBadRequest_WhenFormatIsUnknown() throws Exception {
+        mockMvc.perform(get("/admin/orders/export")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderExportService, never()).exportOrders(any(), any(), any(), any());
+    }
+
+    @Test
+    void testExportOrders_ShouldReturnBadRequest_WhenRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/admin/orders/export")
+                        .param("from", "2025-10-31")
+                        .param("to", "2025-10-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderExportService, never()).exportOrders(any(), any(), any(), any());
+    }
+}
@@ -1,6 +1,7 @@
 package com.kunal.billingSoftware.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.io.*;
 import com.kunal.billingSoftware.service.OrderService;
 import com.kunal.billingSoftware.service.StripeService;
@@ -75,6 +76,15 @@ class PaymentControllerTest {
                     .build())
             .build();
 
+    private final OrderResponse pendingUpiOrder = OrderResponse.builder()
+            .orderId("order-001")
+            .grandTotal(52500.0)
+            .paymentMethod(PaymentMethod.UPI)
+            .paymentDetails(PaymentDetails.builder()
+                    .status(PaymentDetails.PaymentStatus.PENDING)
+                    .build())
+            .build();
+
     @BeforeEach
     void setUp() {
         mockStripeResponse.setSessionId("sess_abc123");
@@ -82,21 +92,85 @@ class PaymentControllerTest {
     }
 
     @Test
-    void testCreateCheckoutSession_ShouldReturnStripeResponse_WhenValidRequest() throws Exception {
-        PaymentRequest paymentRequest = new PaymentRequest();
-        paymentRequest.setAmount(1000.0);
-        paymentRequest.setCurrency("USD");
-
-        when(stripeService.createCheckoutSession(eq(1000.0), eq("USD"))).thenReturn(mockStripeResponse);
+    void testCreateCheckoutSession_ShouldChargeServerGrandTotal_WhenClientSendsAmount() throws Exception {
+        when(orderService.getOrder("order-001")).thenReturn(pendingUpiOrder);
+        when(stripeService.createCheckoutSession(eq(52500.0), eq("USD"), eq("order-001"))).thenReturn(mockStripeResponse);
 
+        // Older tills still send the amount; it must not reach Stripe
         mockMvc.perform(post("/payments/create-checkout-session")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                        .content("{\"amount\":1.0,\"currency\":\"USD\",\"orderId\":\"order-001\"}"))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.sessionId").value("sess_abc123"))
                 .andExpect(jsonPath("$.url").value("https://checkout.stripe.com/pay/sess_abc123"));
 
-        verify(stripeService, times(1)).createCheckoutSession(eq(1000.0), eq("USD"));
+        verify(stripeService, times(1)).createCheckoutSession(eq(52500.0), eq("USD"), eq("order-001"));
+    }
+
+    @Test
+    void testCreateCheckoutSession_ShouldReturnConflict_WhenOrderIsCash() throws Exception {
+        PaymentRequest request = new PaymentRequest("USD", "order-001");
+        when(orderService.getOrder("order-001")).thenReturn(OrderResponse.builder()
+                .orderId("order-001")
+                .grandTotal(52500.0)
+                .paymentMethod(PaymentMethod.CASH)
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.COMPLETED).build())
+                .build());
+
+        mockMvc.perform(post("/payments/create-checkout-session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        verifyNoInteractions(stripeService);
+    }
+
+    @Test
+    void testCreateCheckoutSession_ShouldReturnConflict_WhenOrderIsAlreadyPaid() throws Exception {
+        PaymentRequest request = new PaymentRequest("USD", "order-001");
+        when(orderService.getOrder("order-001")).thenReturn(OrderResponse.builder()
+                .orderId("order-001")
+                .grandTotal(52500.0)
+                .paymentMethod(PaymentMethod.UPI)
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.COMPLETED).build())
+                .build());
+
+        mockMvc.perform(post("/payments/create-checkout-session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+
+        verifyNoInteractions(stripeService);
+    }
+
+    @Test
+    void testCreateCheckoutSession_ShouldReturnBadRequest_WhenOrderIdIsMissing() throws Exception {
+        PaymentRequest request = new PaymentRequest();
+        request.setCurrency("USD");
+
+        mockMvc.perform(post("/payments/create-checkout-session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(stripeService);
+    }
+
+    @Test
+    void testCreateCheckoutSession_ShouldReturnNotFound_WhenOrderDoesNotExist() throws Exception {
+        PaymentRequest request = new PaymentRequest();
+        request.setCurrency("USD");
+        request.setOrderId("missing-order");
+
+        when(orderService.getOrder("missing-order"))
+                .thenThrow(new ResourceNotFoundException("Order", "id", "missing-order"));
+
+        mockMvc.perform(post("/payments/create-checkout-session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(stripeService);
     }
 
     @Test
@@ -122,8 +196,10 @@ class PaymentControllerTest {
     @Test
     void testCreateCheckoutSession_ShouldReturnServerError_WhenStripeThrowsException() throws Exception {
         PaymentRequest request = new PaymentRequest();
-        request.setAmount(2000.0);
         request.setCurrency("USD");
+        request.setOrderId("order-001");
+
+        when(orderService.getOrder("order-001")).thenReturn(pendingUpiOrder);
 
         ApiException apiException = new ApiException(
                 "Stripe API error",
@@ -133,7 +209,7 @@ class PaymentControllerTest {
                 null
         );
 
-        when(stripeService.createCheckoutSession(any(Double.class), any(String.class)))
+        when(stripeService.createCheckoutSession(any(Double.class), any(String.class), eq("order-001")))
                 .thenThrow(apiException);
 
         mockMvc.perform(post("/payments/create-checkout-session")
@@ -141,6 +217,6 @@ class PaymentControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isInternalServerError());
 
-        verify(stripeService, times(1)).createCheckoutSession(any(Double.class), any(String.class));
+        verify(stripeService, times(1)).createCheckoutSession(any(Double.class), any(String.class), eq("order-001"));
     }
 }
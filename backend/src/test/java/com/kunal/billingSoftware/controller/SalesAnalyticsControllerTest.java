@@ -0,0 +1,116 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import com.kunal.billingSoftware.io.SalesPeriodResponse;
+import com.kunal.billingSoftware.io.TopItemResponse;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SalesAnalyticsController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SalesAnalyticsControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 10, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 10, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Test
+    void testGetRevenue_ShouldReturnTotalsPerPeriod() throws Exception {
+        when(salesAnalyticsService.getRevenue(SalesPeriod.WEEK, FROM, TO, "cat-drinks", PaymentMethod.UPI))
+                .thenReturn(List.of(new SalesPeriodResponse(FROM.atStartOfDay(), 120.0, 12L, null)));
+
+        mockMvc.perform(get("/analytics/revenue")
+                        .param("period", "week")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31")
+                        .param("categoryId", "cat-drinks")
+                        .param("paymentMethod", "upi"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].revenue").value(120.0))
+                .andExpect(jsonPath("$[0].quantity").value(12));
+    }
+
+    @Test
+    void testGetRevenue_ShouldRejectHourlyTotalsOverLongRanges() throws Exception {
+        mockMvc.perform(get("/analytics/revenue")
+                        .param("period", "hour")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(salesAnalyticsService);
+    }
+
+    @Test
+    void testGetRevenue_ShouldRejectRangesWithTooManyPeriods() throws Exception {
+        mockMvc.perform(get("/analytics/revenue")
+                        .param("period", "day")
+                        .param("from", "0001-01-01")
+                        .param("to", "9999-12-31"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics/revenue")
+                        .param("period", "month")
+                        .param("from", "0001-01-01")
+                        .param("to", "9999-12-31"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(salesAnalyticsService);
+    }
+
+    @Test
+    void testGetTopItems_ShouldDefaultToTenItemsByRevenue() throws Exception {
+        when(salesAnalyticsService.getTopItems(FROM, TO, 10, SalesMetric.REVENUE, null, null))
+                .thenReturn(List.of(new TopItemResponse("item-tea", "Tea", "cat-drinks", "Drinks", 300.0, 30L)));
+
+        mockMvc.perform(get("/analytics/top-items")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value("item-tea"))
+                .andExpect(jsonPath("$[0].quantity").value(30));
+    }
+
+    @Test
+    void testGetTopItems_ShouldRejectInvalidParameters() throws Exception {
+        mockMvc.perform(get("/analytics/top-items")
+                        .param("from", "2025-10-31")
+                        .param("to", "2025-10-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics/top-items")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31")
+                        .param("by", "margin"))
+                .andExpect(status().isBadRequest());
+
+        verify(salesAnalyticsService, never()).getTopItems(any(), any(), anyInt(), any(), any(), any());
+    }
+}
@@ -0,0 +1,61 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SalesRollupController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SalesRollupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Test
+    void testRebuild_ShouldReturnNumberOfDaysRebuilt() throws Exception {
+        LocalDate from = LocalDate.of(2025, 10, 1);
+        LocalDate to = LocalDate.of(2025, 10, 31);
+        when(dailySalesRollupService.rebuild(from, to)).thenReturn(31);
+
+        mockMvc.perform(post("/admin/sales-rollup/rebuild")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.daysRebuilt").value(31));
+
+        verify(dailySalesRollupService, times(1)).rebuild(from, to);
+    }
+
+    @Test
+    void testRebuild_ShouldReturnBadRequest_WhenRangeIsInverted() throws Exception {
+        mockMvc.perform(post("/admin/sales-rollup/rebuild")
+                        .param("from", "2025-10-31")
+                        .param("to", "2025-10-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(dailySalesRollupService, never()).rebuild(any(), any());
+    }
+}
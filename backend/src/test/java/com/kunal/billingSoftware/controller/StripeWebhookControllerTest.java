@@ -0,0 +1,59 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.service.StripeWebhookService;
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StripeWebhookController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class StripeWebhookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StripeWebhookService stripeWebhookService;
+    @MockitoBean
+    private JwtUtil jwtUtil;
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @Test
+    void testHandleEvent_ShouldPassRawPayloadAndSignature() throws Exception {
+        String payload = "{\"id\":\"evt_1\",\"type\":\"payment_intent.succeeded\"}";
+
+        mockMvc.perform(post("/webhooks/stripe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Stripe-Signature", "t=1,v1=abc")
+                        .content(payload))
+                .andExpect(status().isOk());
+
+        verify(stripeWebhookService, times(1)).handleEvent(payload, "t=1,v1=abc");
+    }
+
+    @Test
+    void testHandleEvent_ShouldReturnBadRequest_WhenSignatureIsInvalid() throws Exception {
+        doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Stripe signature"))
+                .when(stripeWebhookService).handleEvent(any(), any());
+
+        mockMvc.perform(post("/webhooks/stripe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Stripe-Signature", "t=1,v1=forged")
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
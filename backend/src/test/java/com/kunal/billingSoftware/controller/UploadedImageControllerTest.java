@@ -0,0 +1,133 @@
+package com.kunal.billingSoftware.controller;
+
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadedImageController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class UploadedImageControllerTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final String IMAGE_PATH = "/uploads/ab/ab/" + HASH + ".png";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final Path UPLOAD_DIR;
+
+    static {
+        try {
+            UPLOAD_DIR = Files.createTempDirectory("uploads");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AppUserDetailsService appUserDetailsService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("image.upload.dir", () -> "file:" + UPLOAD_DIR + "/");
+    }
+
+    @BeforeAll
+    static void writeImages() throws IOException {
+        Path shard = Files.createDirectories(UPLOAD_DIR.resolve("ab/ab"));
+        Files.write(shard.resolve(HASH + ".png"), CONTENT);
+        Files.write(UPLOAD_DIR.resolve("legacy-name.png"), CONTENT);
+    }
+
+    @Test
+    void testServeImage_ShouldSendImmutableWithHashETag_WhenContentAddressed() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", CONTENT.length))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testServeImage_ShouldReturnNotModified_WhenIfNoneMatchCarriesETag() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH).header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testServeImage_ShouldReturnPartialContent_WhenRangeRequested() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH).header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get(IMAGE_PATH).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void testServeImage_ShouldIgnoreRange_WhenIfRangeDoesNotMatch() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH).header("Range", "bytes=2-5").header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testServeImage_ShouldReturnRangeNotSatisfiable_WhenRangeStartsPastEnd() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH).header("Range", "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void testServeImage_ShouldReturnRangeNotSatisfiable_WhenRangeStartsAtLength() throws Exception {
+        mockMvc.perform(get(IMAGE_PATH).header("Range", "bytes=10-12"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void testServeImage_ShouldRevalidate_WhenNameIsNotContentAddressed() throws Exception {
+        mockMvc.perform(get("/uploads/legacy-name.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testServeImage_ShouldReturnNotFound_WhenMissingOrOutsideUploadDir() throws Exception {
+        mockMvc.perform(get("/uploads/ab/ab/missing.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/..%2F..%2Fetc%2Fpasswd"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,9 +1,14 @@
 package com.kunal.billingSoftware.controller;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
+import com.kunal.billingSoftware.io.PrincipalCacheStats;
+import com.kunal.billingSoftware.io.UserBatchRequest;
+import com.kunal.billingSoftware.io.UserBatchResponse;
 import com.kunal.billingSoftware.exceptions.UserCreationException;
 import com.kunal.billingSoftware.io.UserRequest;
 import com.kunal.billingSoftware.io.UserResponse;
+import com.kunal.billingSoftware.service.UserBatchService;
 import com.kunal.billingSoftware.service.UserService;
 import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
 import com.kunal.billingSoftware.util.JwtUtil;
@@ -22,6 +27,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +50,10 @@ class UserControllerTest {
     private JwtUtil jwtUtil;
     @MockitoBean
     private AppUserDetailsService appUserDetailsService;
+    @MockitoBean
+    private UserPrincipalCache userPrincipalCache;
+    @MockitoBean
+    private UserBatchService userBatchService;
 
     private final Timestamp fixedTime = Timestamp.valueOf(LocalDateTime.of(2025, 10, 19, 10, 0));
 
@@ -135,4 +145,74 @@ class UserControllerTest {
 
         verify(userService, times(1)).deleteUser(invalidUserId);
     }
+
+    @Test
+    void testRegisterUsers_ShouldReturnPerRowResults_WhenBatchIsJson() throws Exception {
+        when(userBatchService.createUsers(anyList())).thenReturn(UserBatchResponse.builder()
+                .accepted(1)
+                .rejected(0)
+                .results(List.of(UserBatchResponse.UserBatchResult.builder()
+                        .index(0)
+                        .status(UserBatchResponse.Status.CREATED)
+                        .email("john.doe@example.com")
+                        .userId("user-123")
+                        .build()))
+                .build());
+
+        mockMvc.perform(post("/admin/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequest(List.of(userRequest)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].userId").value("user-123"));
+
+        verify(userBatchService, times(1)).createUsers(List.of(userRequest));
+    }
+
+    @Test
+    void testRegisterUsers_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/admin/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userBatchService);
+    }
+
+    @Test
+    void testRegisterUsersFromCsv_ShouldPassBodyToService_WhenContentTypeIsCsv() throws Exception {
+        String csv = "name,email,password,role\nJohn Doe,john.doe@example.com,password123,USER\n";
+        when(userBatchService.createUsersFromCsv(csv)).thenReturn(UserBatchResponse.builder()
+                .accepted(1)
+                .rejected(0)
+                .results(List.of())
+                .build());
+
+        mockMvc.perform(post("/admin/users/batch")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        verify(userBatchService, times(1)).createUsersFromCsv(csv);
+    }
+
+    @Test
+    void testGetPrincipalCacheStats_ShouldReturnCounters() throws Exception {
+        when(userPrincipalCache.stats()).thenReturn(PrincipalCacheStats.builder()
+                .enabled(true)
+                .size(3)
+                .hits(120L)
+                .misses(4L)
+                .evictions(1L)
+                .build());
+
+        mockMvc.perform(get("/admin/principal-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hits").value(120))
+                .andExpect(jsonPath("$.misses").value(4))
+                .andExpect(jsonPath("$.evictions").value(1));
+    }
 }
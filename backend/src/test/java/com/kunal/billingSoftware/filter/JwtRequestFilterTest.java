@@ -0,0 +1,107 @@
+package com.kunal.billingSoftware.filter;
+
+import com.kunal.billingSoftware.service.impl.AppUserDetailsService;
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.TokenClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long!!!!";
+
+    @Mock
+    private AppUserDetailsService appUserDetailsService;
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtRequestFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new JwtRequestFilter(appUserDetailsService, jwtUtil, meterRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_ShouldAuthenticate_AndTimeValidToken() throws Exception {
+        // Arrange
+        User cashier = new User("kp@gmail.com", "", List.of());
+        when(appUserDetailsService.loadUserForToken("kp@gmail.com")).thenReturn(cashier);
+
+        // Act
+        filter.doFilter(request("Bearer " + jwtUtil.generateToken(cashier)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        TokenClaims claims = TokenClaims.from(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(claims);
+        assertEquals("kp@gmail.com", claims.subject());
+        assertFalse(claims.refreshToken());
+        assertEquals(1, validationCount("valid"));
+        assertEquals(0, validationCount("invalid"));
+    }
+
+    @Test
+    void testDoFilter_ShouldTimeRejectedToken_UnderInvalidOutcome() throws Exception {
+        // Act
+        filter.doFilter(request("Bearer not-a-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, validationCount("invalid"));
+        verifyNoInteractions(appUserDetailsService);
+    }
+
+    @Test
+    void testDoFilter_ShouldNotAuthenticate_WhenBearerIsARefreshToken() throws Exception {
+        // Act
+        String refreshToken = jwtUtil.generateRefreshToken(new User("kp@gmail.com", "", List.of()), "token-1");
+        filter.doFilter(request("Bearer " + refreshToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(appUserDetailsService);
+    }
+
+    @Test
+    void testDoFilter_ShouldNotTime_WhenRequestHasNoToken() throws Exception {
+        // Act
+        filter.doFilter(request(null), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(0, validationCount("valid") + validationCount("invalid"));
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/items");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private long validationCount(String outcome) {
+        return meterRegistry.get("billing.jwt.validation").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.kunal.billingSoftware.filter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final RequestConcurrencyLimitFilter filter =
+            new RequestConcurrencyLimitFilter(1, 0, Set.of("/payments/create-checkout-session"));
+
+    @Test
+    void testDoFilter_ShouldReturn503WithRetryAfter_WhenAllPermitsAreTaken() throws Exception {
+        // Arrange
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        // The second request arrives while the first one still holds the only permit
+        FilterChain holdingChain = (request, response) -> filter.doFilter(request("/api/v1.0/items"), rejected, rejectedChain);
+
+        // Act
+        filter.doFilter(request("/api/v1.0/items"), new MockHttpServletResponse(), holdingChain);
+
+        // Assert
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertNull(rejectedChain.getRequest());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void testDoFilter_ShouldPassUnlimitedPath_WhenAllPermitsAreTaken() throws Exception {
+        // Arrange
+        MockHttpServletResponse checkout = new MockHttpServletResponse();
+        MockFilterChain checkoutChain = new MockFilterChain();
+        FilterChain holdingChain = (request, response) ->
+                filter.doFilter(request("/api/v1.0/payments/create-checkout-session"), checkout, checkoutChain);
+
+        // Act
+        filter.doFilter(request("/api/v1.0/items"), new MockHttpServletResponse(), holdingChain);
+
+        // Assert
+        assertEquals(200, checkout.getStatus());
+        assertNotNull(checkoutChain.getRequest());
+    }
+
+    @Test
+    void testDoFilter_ShouldReleasePermit_WhenRequestFails() {
+        // Arrange
+        FilterChain failingChain = (request, response) -> {
+            throw new IllegalStateException("Handler failed");
+        };
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("/api/v1.0/items"), new MockHttpServletResponse(), failingChain));
+
+        // Assert
+        assertEquals(1, filter.availablePermits());
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath("/api/v1.0");
+        return request;
+    }
+}
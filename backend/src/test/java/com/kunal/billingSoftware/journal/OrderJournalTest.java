@@ -0,0 +1,161 @@
+package com.kunal.billingSoftware.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crashes are simulated by dropping a journal without closing it and opening a new one on the same
+ * directory; the mapped pages it wrote are what a killed process leaves behind in the page cache.
+ */
+class OrderJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadUnflushed_ShouldReturnAppendedRecordsInOrder() throws IOException {
+        // Arrange
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, false);
+        journal.append(bytes("order-1"));
+        journal.append(bytes("order-2"));
+
+        // Act
+        List<OrderJournal.Entry> entries = journal.readUnflushed(10);
+
+        // Assert
+        assertEquals(List.of("order-1", "order-2"), text(entries));
+        assertTrue(journal.hasUnflushed());
+        journal.close();
+    }
+
+    @Test
+    void testRecover_ShouldReplayUnflushedRecords_WhenProcessCrashed() throws IOException {
+        // Arrange
+        OrderJournal crashed = new OrderJournal(directory, SEGMENT_SIZE, false);
+        crashed.append(bytes("order-1"));
+        crashed.append(bytes("order-2"));
+        crashed.append(bytes("order-3"));
+        crashed.markFlushed(crashed.readUnflushed(1).get(0).end());
+
+        // Act
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE, false);
+
+        // Assert
+        assertEquals(List.of("order-2", "order-3"), text(recovered.readUnflushed(10)));
+        assertEquals(2, recovered.unflushedCount());
+        recovered.close();
+    }
+
+    @Test
+    void testRecover_ShouldAppendAfterLastIntactRecord_WhenTailRecordIsTorn() throws IOException {
+        // Arrange
+        OrderJournal crashed = new OrderJournal(directory, SEGMENT_SIZE, false);
+        crashed.append(bytes("order-1"));
+        int tail = OrderJournal.HEADER_SIZE + OrderJournal.RECORD_HEADER_SIZE + "order-1".length();
+        // Length made it to disk but the payload and checksum did not
+        writeInt(onlySegment(), tail, 200);
+
+        // Act
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE, false);
+        recovered.append(bytes("order-2"));
+
+        // Assert
+        assertEquals(List.of("order-1", "order-2"), text(recovered.readUnflushed(10)));
+        recovered.close();
+        OrderJournal reopened = new OrderJournal(directory, SEGMENT_SIZE, false);
+        assertEquals(List.of("order-1", "order-2"), text(reopened.readUnflushed(10)));
+        reopened.close();
+    }
+
+    @Test
+    void testRecover_ShouldStopAtRecordWithBadChecksum() throws IOException {
+        // Arrange
+        OrderJournal crashed = new OrderJournal(directory, SEGMENT_SIZE, false);
+        crashed.append(bytes("order-1"));
+        crashed.append(bytes("order-2"));
+        crashed.append(bytes("order-3"));
+        int second = OrderJournal.HEADER_SIZE + OrderJournal.RECORD_HEADER_SIZE + "order-1".length();
+        // A page of the second record was lost
+        writeInt(onlySegment(), second + OrderJournal.RECORD_HEADER_SIZE, 0);
+
+        // Act
+        OrderJournal recovered = new OrderJournal(directory, SEGMENT_SIZE, false);
+
+        // Assert
+        assertEquals(List.of("order-1"), text(recovered.readUnflushed(10)));
+        recovered.close();
+    }
+
+    @Test
+    void testAppend_ShouldRotateSegments_AndMarkFlushedShouldDeleteFlushedOnes() throws IOException {
+        // Arrange
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, true);
+        byte[] payload = new byte[1000];
+        for (int i = 0; i < 10; i++) {
+            journal.append(payload);
+        }
+        assertTrue(segmentCount() > 1);
+
+        // Act
+        List<OrderJournal.Entry> entries = journal.readUnflushed(100);
+        journal.markFlushed(entries.get(entries.size() - 1).end());
+
+        // Assert
+        assertEquals(10, entries.size());
+        assertFalse(journal.hasUnflushed());
+        assertEquals(0, journal.unflushedCount());
+        assertEquals(1, segmentCount());
+        journal.close();
+        OrderJournal reopened = new OrderJournal(directory, SEGMENT_SIZE, false);
+        assertTrue(reopened.readUnflushed(10).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void testAppend_ShouldRejectRecordLargerThanSegment() throws IOException {
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, false);
+
+        assertThrows(IllegalArgumentException.class, () -> journal.append(new byte[SEGMENT_SIZE]));
+        journal.close();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> text(List<OrderJournal.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static void writeInt(Path file, int position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, value), position);
+        }
+    }
+}
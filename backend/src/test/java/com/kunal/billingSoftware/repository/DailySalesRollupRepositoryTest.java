@@ -0,0 +1,47 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.DailySalesRollupEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DailySalesRollupRepositoryTest {
+    @Autowired
+    private DailySalesRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testAddToDay_ShouldReturnZero_WhenDayHasNoRow() {
+        int updated = rollupRepository.addToDay(LocalDate.of(2000, 1, 1), 10.0, 1L, LocalDateTime.now());
+
+        assertEquals(0, updated);
+    }
+
+    @Test
+    void testAddToDay_ShouldIncrementTotalsInPlace() {
+        LocalDate today = LocalDate.now();
+        rollupRepository.saveAndFlush(DailySalesRollupEntity.builder()
+                .salesDate(today)
+                .totalSales(100.0)
+                .orderCount(1L)
+                .build());
+
+        rollupRepository.addToDay(today, 50.0, 1L, LocalDateTime.now());
+        int updated = rollupRepository.addToDay(today, -20.0, -1L, LocalDateTime.now());
+        entityManager.clear();
+
+        DailySalesRollupEntity row = rollupRepository.findById(today).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals(130.0, row.getTotalSales());
+        assertEquals(1L, row.getOrderCount());
+    }
+}
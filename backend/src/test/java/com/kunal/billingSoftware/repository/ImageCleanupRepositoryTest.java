@@ -0,0 +1,41 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.ImageCleanupEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ImageCleanupRepositoryTest {
+
+    @Autowired
+    private ImageCleanupRepository imageCleanupRepository;
+
+    private ImageCleanupEntity queued(String imageUrl, LocalDateTime nextAttemptAt) {
+        return imageCleanupRepository.save(ImageCleanupEntity.builder()
+                .imageUrl(imageUrl)
+                .createdAt(nextAttemptAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    @Test
+    void testFindDue_ShouldReturnDueEntriesOldestFirst_UpToTheBatchSize() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 10, 0);
+        queued("first.png", now.minusMinutes(5));
+        queued("second.png", now);
+        queued("third.png", now.minusMinutes(1));
+        queued("retry-later.png", now.plusMinutes(1));
+
+        List<ImageCleanupEntity> due = imageCleanupRepository.findDue(now, PageRequest.of(0, 2));
+
+        assertEquals(List.of("first.png", "second.png"), due.stream().map(ImageCleanupEntity::getImageUrl).toList());
+        assertEquals(3, imageCleanupRepository.findDue(now, PageRequest.of(0, 10)).size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(OrderBatchJdbcRepository.class)
+class OrderBatchJdbcRepositoryTest {
+    @Autowired
+    private OrderBatchJdbcRepository orderBatchJdbcRepository;
+
+    @Autowired
+    private OrderEntityRepository orderEntityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private OrderEntity order(String orderId, PaymentMethod paymentMethod, PaymentDetails.PaymentStatus status, int itemCount) {
+        List<OrderItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemEntity.builder()
+                    .itemId("item-" + i)
+                    .name("Item " + i)
+                    .price(10.0)
+                    .quantity(i + 1)
+                    .build());
+        }
+        return OrderEntity.builder()
+                .orderId(orderId)
+                .customerName("Kunal Pawar")
+                .phoneNumber("9876543210")
+                .subtotal(100.0)
+                .tax(5.0)
+                .grandTotal(105.0)
+                .createdAt(LocalDateTime.of(2025, 10, 10, 12, 0))
+                .paymentMethod(paymentMethod)
+                .paymentDetails(PaymentDetails.builder().status(status).build())
+                .items(items)
+                .build();
+    }
+
+    @Test
+    void testInsertOrders_ShouldPersistOrdersAndItems_ReadableThroughJpa() {
+        OrderEntity cash = order("ORD-BATCH-1", PaymentMethod.CASH, PaymentDetails.PaymentStatus.COMPLETED, 2);
+        OrderEntity upi = order("ORD-BATCH-2", PaymentMethod.UPI, PaymentDetails.PaymentStatus.PENDING, 1);
+
+        // Act
+        orderBatchJdbcRepository.insertOrders(List.of(cash, upi));
+        entityManager.clear();
+
+        // Assert
+        assertNotNull(cash.getId());
+        assertNotNull(upi.getId());
+        assertNotEquals(cash.getId(), upi.getId());
+
+        OrderEntity savedCash = orderEntityRepository.findByOrderId("ORD-BATCH-1").orElseThrow();
+        assertEquals(cash.getId(), savedCash.getId());
+        assertEquals(2, savedCash.getItems().size());
+        assertEquals(PaymentMethod.CASH, savedCash.getPaymentMethod());
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, savedCash.getPaymentDetails().getStatus());
+
+        OrderEntity savedUpi = orderEntityRepository.findByOrderId("ORD-BATCH-2").orElseThrow();
+        assertEquals(1, savedUpi.getItems().size());
+        assertEquals(PaymentDetails.PaymentStatus.PENDING, savedUpi.getPaymentDetails().getStatus());
+    }
+
+    @Test
+    void testFindOrderIdsByClientOrderIds_ShouldMapStoredClientIdsToOrderIds() {
+        OrderEntity offline = order("ORD-BATCH-3", PaymentMethod.CASH, PaymentDetails.PaymentStatus.COMPLETED, 1);
+        offline.setClientOrderId("till-3-000127");
+        OrderEntity online = order("ORD-BATCH-4", PaymentMethod.CASH, PaymentDetails.PaymentStatus.COMPLETED, 1);
+        orderBatchJdbcRepository.insertOrders(List.of(offline, online));
+
+        // Act
+        Map<String, String> stored = orderBatchJdbcRepository.findOrderIdsByClientOrderIds(Set.of("till-3-000127", "till-3-000999"));
+
+        // Assert
+        assertEquals(Map.of("till-3-000127", "ORD-BATCH-3"), stored);
+        assertEquals("till-3-000127", orderEntityRepository.findByOrderId("ORD-BATCH-3").orElseThrow().getClientOrderId());
+    }
+}
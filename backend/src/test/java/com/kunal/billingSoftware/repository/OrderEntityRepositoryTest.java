@@ -1,10 +1,14 @@
 package com.kunal.billingSoftware.repository;
 
 import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.io.PaymentDetails;
 import com.kunal.billingSoftware.io.PaymentMethod;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,6 +22,9 @@ class OrderEntityRepositoryTest {
     @Autowired
     private OrderEntityRepository orderEntityRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testFindByOrderId_WhenOrderExists() {
         OrderEntity demoOrder = OrderEntity.builder()
@@ -38,6 +45,49 @@ class OrderEntityRepositoryTest {
         assertEquals(110.0, response.get().getGrandTotal());
     }
 
+    @Test
+    void testSave_ShouldAssignDistinctOrderIds_WhenOrdersAreCreatedTogether() {
+        List<OrderEntity> saved = orderEntityRepository.saveAll(List.of(
+                OrderEntity.builder().customerName("A").grandTotal(10.0).paymentMethod(PaymentMethod.CASH).build(),
+                OrderEntity.builder().customerName("B").grandTotal(20.0).paymentMethod(PaymentMethod.CASH).build(),
+                OrderEntity.builder().customerName("C").grandTotal(30.0).paymentMethod(PaymentMethod.UPI).build()
+        ));
+
+        assertEquals(3, saved.stream().map(OrderEntity::getOrderId).distinct().count());
+    }
+
+    @Test
+    void testSave_ShouldRejectDuplicateOrderId() {
+        orderEntityRepository.saveAndFlush(OrderEntity.builder()
+                .orderId("ORD-DUPLICATE").customerName("A").grandTotal(10.0).paymentMethod(PaymentMethod.CASH).build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> orderEntityRepository.saveAndFlush(OrderEntity.builder()
+                .orderId("ORD-DUPLICATE").customerName("B").grandTotal(20.0).paymentMethod(PaymentMethod.CASH).build()));
+    }
+
+    @Test
+    void testUpdatePaymentStatus_ShouldCompletePendingOrder_AndNeverDowngradeIt() {
+        orderEntityRepository.saveAndFlush(OrderEntity.builder()
+                .orderId("ORD-UPI-1")
+                .customerName("A")
+                .grandTotal(10.0)
+                .paymentMethod(PaymentMethod.UPI)
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.PENDING).build())
+                .build());
+
+        int completed = orderEntityRepository.updatePaymentStatus("ORD-UPI-1", PaymentDetails.PaymentStatus.COMPLETED, "pi_1", "pm_1");
+        // A late or duplicated failure event must not undo the completed payment
+        int lateFailure = orderEntityRepository.updatePaymentStatus("ORD-UPI-1", PaymentDetails.PaymentStatus.FAILED, "pi_1", null);
+        entityManager.clear();
+
+        PaymentDetails paymentDetails = orderEntityRepository.findByOrderId("ORD-UPI-1").orElseThrow().getPaymentDetails();
+        assertEquals(1, completed);
+        assertEquals(0, lateFailure);
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, paymentDetails.getStatus());
+        assertEquals("pi_1", paymentDetails.getStripePaymentIntentId());
+        assertEquals("pm_1", paymentDetails.getStripePaymentMethodId());
+    }
+
     @Test
     void testFindByOrderId_WhenOrderDoesNotExist() {
         Optional<OrderEntity> response = orderEntityRepository.findByOrderId("invalid-order-id");
@@ -90,6 +140,29 @@ class OrderEntityRepositoryTest {
         assertEquals("Alice", result.get(2).getCustomerName());
     }
 
+    @Test
+    void testHistoryKeysetPages_ShouldWalkAllOrdersWithoutGapsOrDuplicates() {
+        // Arrange - two orders share the same timestamp so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2025, 10, 10, 10, 0);
+        orderEntityRepository.saveAll(List.of(
+                OrderEntity.builder().customerName("A").grandTotal(10.0).paymentMethod(PaymentMethod.CASH).createdAt(base).build(),
+                OrderEntity.builder().customerName("B").grandTotal(20.0).paymentMethod(PaymentMethod.CASH).createdAt(base).build(),
+                OrderEntity.builder().customerName("C").grandTotal(30.0).paymentMethod(PaymentMethod.UPI).createdAt(base.plusMinutes(1)).build()
+        ));
+
+        // Act
+        List<OrderEntity> firstPage = orderEntityRepository.findHistoryFirstPage(PageRequest.of(0, 2));
+        OrderEntity last = firstPage.get(firstPage.size() - 1);
+        List<OrderEntity> secondPage = orderEntityRepository.findHistoryPageAfter(last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+
+        // Assert
+        assertEquals(2, firstPage.size());
+        assertEquals("C", firstPage.get(0).getCustomerName());
+        assertEquals("B", firstPage.get(1).getCustomerName()); // same timestamp, higher id first
+        assertEquals(1, secondPage.size());
+        assertEquals("A", secondPage.get(0).getCustomerName());
+    }
+
     @Test
     void testSumSalesByDate_ShouldReturnCorrectTotal() {
         // Arrange
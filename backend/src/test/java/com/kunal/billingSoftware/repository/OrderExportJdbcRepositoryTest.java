@@ -0,0 +1,85 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(OrderExportJdbcRepository.class)
+class OrderExportJdbcRepositoryTest {
+    @Autowired
+    private OrderExportJdbcRepository orderExportJdbcRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private OrderEntity persistOrder(String orderId, LocalDateTime createdAt, int itemCount) {
+        List<OrderItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemEntity.builder()
+                    .itemId("item-" + i)
+                    .name("Item " + i)
+                    .price(10.0)
+                    .quantity(i + 1)
+                    .build());
+        }
+        return entityManager.persist(OrderEntity.builder()
+                .orderId(orderId)
+                .customerName("Kunal Pawar")
+                .phoneNumber("9876543210")
+                .subtotal(100.0)
+                .tax(5.0)
+                .grandTotal(105.0)
+                .createdAt(createdAt)
+                .paymentMethod(PaymentMethod.UPI)
+                .paymentDetails(PaymentDetails.builder()
+                        .status(PaymentDetails.PaymentStatus.COMPLETED)
+                        .stripePaymentIntentId("pi_" + orderId)
+                        .build())
+                .items(items)
+                .build());
+    }
+
+    @Test
+    void testStreamOrderRows_ShouldEmitOneRowPerItem_InCreationOrder() {
+        // Arrange
+        persistOrder("ORD-LATER", LocalDateTime.of(2025, 10, 20, 9, 0), 0);
+        persistOrder("ORD-EARLIER", LocalDateTime.of(2025, 10, 5, 9, 0), 2);
+        persistOrder("ORD-OUTSIDE", LocalDateTime.of(2025, 11, 1, 0, 0), 1);
+        entityManager.flush();
+
+        // Act
+        List<OrderExportRow> rows = new ArrayList<>();
+        orderExportJdbcRepository.streamOrderRows(LocalDateTime.of(2025, 10, 1, 0, 0),
+                LocalDateTime.of(2025, 11, 1, 0, 0), rows::add);
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("ORD-EARLIER", rows.get(0).orderId());
+        assertEquals("item-0", rows.get(0).itemId());
+        assertEquals("item-1", rows.get(1).itemId());
+        assertEquals(2, rows.get(1).itemQuantity());
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, rows.get(0).paymentStatus());
+        assertEquals("UPI", rows.get(0).paymentMethod());
+        assertEquals("pi_ORD-EARLIER", rows.get(0).stripePaymentIntentId());
+        assertEquals(105.0, rows.get(0).grandTotal());
+
+        // An order without items still appears, with empty item columns
+        assertEquals("ORD-LATER", rows.get(2).orderId());
+        assertFalse(rows.get(2).hasItem());
+        assertEquals(LocalDateTime.of(2025, 10, 20, 9, 0), rows.get(2).createdAt());
+    }
+}
@@ -0,0 +1,112 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL behind the dashboard, order history, filter and lookup queries and fails when the
+ * plan reads the whole table. Works on the embedded H2 used by the tests and on MySQL when the test database
+ * is pointed at one.
+ */
+@DataJpaTest
+class OrderQueryPlanTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2025, 10, 18, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void seedOrders() {
+        for (int i = 0; i < 200; i++) {
+            entityManager.persist(OrderEntity.builder()
+                    .orderId("ORD-PLAN-" + i)
+                    .customerName("Customer " + i)
+                    .grandTotal(10.0 * (i % 20))
+                    .paymentMethod(i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.UPI)
+                    .createdAt(DAY_START.minusHours(i))
+                    .items(List.of(OrderItemEntity.builder().itemId("item-" + i).name("Item").price(10.0).quantity(1).build()))
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testDashboardDayTotals_ShouldUseCreatedAtIndex() {
+        assertUsesIndex("SELECT SUM(grand_total) FROM tbl_orders WHERE created_at >= ? AND created_at < ?",
+                "idx_orders_created_at", DAY_START, DAY_START.plusDays(1));
+        assertUsesIndex("SELECT COUNT(*) FROM tbl_orders WHERE created_at >= ? AND created_at < ?",
+                "idx_orders_created_at", DAY_START, DAY_START.plusDays(1));
+    }
+
+    @Test
+    void testHistoryPageAfterCursor_ShouldUseCreatedAtIndex() {
+        assertUsesIndex("SELECT id FROM tbl_orders WHERE created_at <= ? AND (created_at < ? OR id < ?) " +
+                        "ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_created_at", DAY_START, DAY_START, 100L);
+    }
+
+    @Test
+    void testOrderFilter_ShouldUsePaymentMethodTotalIndex() {
+        assertUsesIndex("SELECT id FROM tbl_orders WHERE payment_method = ? AND grand_total = ?",
+                "idx_orders_payment_method_total", "CASH", 50.0);
+    }
+
+    @Test
+    void testOrderLookups_ShouldUseOrderIdIndexes() {
+        assertUsesIndex("SELECT id FROM tbl_orders WHERE order_id = ?", "uk_orders_order_id", "ORD-PLAN-7");
+        // The order_items index only has the generated foreign key name, so don't pin it
+        assertNoTableScan("SELECT id FROM tbl_order_items WHERE order_id = ?", 1L);
+    }
+
+    private void assertUsesIndex(String sql, String indexNamePrefix, Object... params) {
+        assertPlan(sql, indexNamePrefix, params);
+    }
+
+    private void assertNoTableScan(String sql, Object... params) {
+        assertPlan(sql, null, params);
+    }
+
+    private void assertPlan(String sql, String indexNamePrefix, Object... params) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, params);
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+
+        if ("MySQL".equalsIgnoreCase(database)) {
+            // One row per table; access type ALL is a full scan
+            assertTrue(plan.stream().noneMatch(row -> "ALL".equals(row.get("type"))), () -> "Full scan: " + plan);
+            if (indexNamePrefix == null) {
+                return;
+            }
+            assertTrue(plan.stream().anyMatch(row -> String.valueOf(row.get("key")).toLowerCase(Locale.ROOT)
+                    .startsWith(indexNamePrefix.toLowerCase(Locale.ROOT))), () -> "Index not used: " + plan);
+        } else {
+            // H2 returns the rewritten statement with the chosen index in a comment, e.g. /* PUBLIC.IDX_X: A = ?1 */
+            String text = String.valueOf(plan.get(0).values().iterator().next());
+            assertFalse(text.contains(".tableScan"), () -> "Full scan: " + text);
+            if (indexNamePrefix == null) {
+                return;
+            }
+            assertTrue(text.toUpperCase(Locale.ROOT).contains("." + indexNamePrefix.toUpperCase(Locale.ROOT)),
+                    () -> "Index not used: " + text);
+        }
+    }
+}
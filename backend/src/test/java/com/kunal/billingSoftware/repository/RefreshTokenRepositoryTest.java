@@ -0,0 +1,58 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.RefreshTokenEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class RefreshTokenRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private void stored(String tokenId, String email, LocalDateTime expiresAt) {
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenId(tokenId)
+                .email(email)
+                .createdAt(NOW.minusDays(1))
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Test
+    void testDeleteActive_ShouldSucceedOnce_WhenTokenIsRedeemedTwice() {
+        stored("token-1", "cashier@example.com", NOW.plusDays(6));
+
+        assertEquals(1, refreshTokenRepository.deleteActive("token-1", NOW));
+        assertEquals(0, refreshTokenRepository.deleteActive("token-1", NOW));
+    }
+
+    @Test
+    void testDeleteActive_ShouldNotRedeem_WhenTokenExpired() {
+        stored("token-1", "cashier@example.com", NOW.minusMinutes(1));
+
+        assertEquals(0, refreshTokenRepository.deleteActive("token-1", NOW));
+    }
+
+    @Test
+    void testDeleteByEmail_ShouldRevokeOnlyThatUsersTokens() {
+        stored("token-1", "cashier@example.com", NOW.plusDays(6));
+        stored("token-2", "cashier@example.com", NOW.plusDays(6));
+        stored("token-3", "manager@example.com", NOW.plusDays(6));
+
+        // Act
+        int revoked = refreshTokenRepository.deleteByEmail("cashier@example.com");
+
+        // Assert
+        assertEquals(2, revoked);
+        assertEquals(1, refreshTokenRepository.count());
+        assertEquals(1, refreshTokenRepository.deleteActive("token-3", NOW));
+    }
+}
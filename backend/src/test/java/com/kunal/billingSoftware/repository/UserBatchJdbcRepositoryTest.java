@@ -0,0 +1,62 @@
+package com.kunal.billingSoftware.repository;
+
+import com.kunal.billingSoftware.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(UserBatchJdbcRepository.class)
+class UserBatchJdbcRepositoryTest {
+    @Autowired
+    private UserBatchJdbcRepository userBatchJdbcRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UserEntity user(String userId, String email) {
+        return UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .password("$2a$04$hash")
+                .role("ROLE_USER")
+                .name("Cashier " + userId)
+                .build();
+    }
+
+    @Test
+    void testInsertUsers_ShouldPersistUsers_ReadableThroughJpa() {
+        // Act
+        userBatchJdbcRepository.insertUsers(List.of(user("user-1", "one@kp.com"), user("user-2", "two@kp.com")));
+        entityManager.clear();
+
+        // Assert
+        UserEntity saved = userRepository.findByEmail("two@kp.com").orElseThrow();
+        assertEquals("user-2", saved.getUserId());
+        assertEquals("ROLE_USER", saved.getRole());
+        assertNotNull(saved.getCreatedAt());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void testFindExistingEmails_ShouldReturnOnlyRegisteredEmails() {
+        entityManager.persist(user("user-1", "one@kp.com"));
+        entityManager.flush();
+
+        // Act
+        Set<String> existing = userBatchJdbcRepository.findExistingEmails(List.of("one@kp.com", "new@kp.com"));
+
+        // Assert
+        assertEquals(Set.of("one@kp.com"), existing);
+    }
+}
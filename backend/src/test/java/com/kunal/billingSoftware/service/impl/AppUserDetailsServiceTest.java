@@ -3,6 +3,7 @@ package com.kunal.billingSoftware.service.impl;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.entity.UserEntity;
 import com.kunal.billingSoftware.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,6 +23,9 @@ class AppUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private AppUserDetailsService appUserDetailsService;
 
@@ -63,4 +69,32 @@ class AppUserDetailsServiceTest {
         // Also verify repository was called
         verify(userRepository).findByEmail("missing@example.com");
     }
-}
\ No newline at end of file
+
+    // Scenario 3 - Token path → a cached principal is served without touching the repository.
+    @Test
+    void loadUserForToken_WhenPrincipalIsCached_DoesNotQueryRepository() {
+        UserDetails cached = new User("test@example.com", "", List.of());
+        when(userPrincipalCache.get("test@example.com")).thenReturn(cached);
+
+        UserDetails userDetails = appUserDetailsService.loadUserForToken("test@example.com");
+
+        assertSame(cached, userDetails);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    // Scenario 4 - Token path → a cache miss loads from the repository and populates the cache.
+    @Test
+    void loadUserForToken_WhenPrincipalIsNotCached_LoadsAndCachesIt() {
+        UserEntity mockUser = new UserEntity();
+        mockUser.setEmail("test@example.com");
+        mockUser.setPassword("password@123");
+        mockUser.setRole("ROLE_USER");
+        when(userPrincipalCache.get("test@example.com")).thenReturn(null);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
+
+        UserDetails userDetails = appUserDetailsService.loadUserForToken("test@example.com");
+
+        assertEquals("test@example.com", userDetails.getUsername());
+        verify(userPrincipalCache).put(userDetails);
+    }
+}
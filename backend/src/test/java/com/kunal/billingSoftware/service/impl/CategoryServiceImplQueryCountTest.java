@@ -0,0 +1,98 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.CategoryEntity;
+import com.kunal.billingSoftware.entity.ItemEntity;
+import com.kunal.billingSoftware.io.CategoryResponse;
+import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CategoryServiceImpl.class)
+class CategoryServiceImplQueryCountTest {
+
+    @Autowired
+    private CategoryServiceImpl categoryService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private FileUploadService fileUploadService;
+
+    @MockitoBean
+    private ImageCleanupService imageCleanupService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void testGetAll_ShouldIssueSameNumberOfStatements_RegardlessOfCategoryCount() {
+        long withFewCategories = statementsForGetAll(3);
+        long withManyCategories = statementsForGetAll(30);
+
+        assertEquals(2, withFewCategories); // categories + one grouped item count
+        assertEquals(withFewCategories, withManyCategories);
+    }
+
+    @Test
+    void testGetAll_ShouldReturnItemCountPerCategory() {
+        persistCategories(2, 3);
+
+        List<CategoryResponse> response = categoryService.getAll();
+
+        assertEquals(2, response.size());
+        response.forEach(category -> assertEquals(3, category.getItems()));
+    }
+
+    private long statementsForGetAll(int categories) {
+        persistCategories(categories, 2);
+
+        statistics.clear();
+        List<CategoryResponse> response = categoryService.getAll();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertFalse(response.isEmpty());
+        return statements;
+    }
+
+    private void persistCategories(int categories, int itemsPerCategory) {
+        for (int c = 0; c < categories; c++) {
+            String suffix = System.nanoTime() + "-" + c;
+            CategoryEntity category = entityManager.persist(CategoryEntity.builder()
+                    .categoryId("cat-" + suffix)
+                    .name("Category " + suffix)
+                    .build());
+            for (int i = 0; i < itemsPerCategory; i++) {
+                entityManager.persist(ItemEntity.builder()
+                        .itemId("item-" + suffix + "-" + i)
+                        .name("Item " + i)
+                        .price(BigDecimal.valueOf(10))
+                        .category(category)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -3,9 +3,12 @@ package com.kunal.billingSoftware.service.impl;
 import com.kunal.billingSoftware.entity.CategoryEntity;
 import com.kunal.billingSoftware.io.CategoryRequest;
 import com.kunal.billingSoftware.io.CategoryResponse;
+import com.kunal.billingSoftware.io.StoredImage;
+import com.kunal.billingSoftware.projection.CategoryItemCountProjection;
 import com.kunal.billingSoftware.repository.CategoryRepository;
 import com.kunal.billingSoftware.repository.ItemRepository;
 import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +22,7 @@ import java.sql.Array;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +42,9 @@ class CategoryServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ImageCleanupService imageCleanupService;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -72,9 +79,8 @@ class CategoryServiceImplTest {
     void testAddCategory_Success() {
         // Arrange
         MultipartFile file = mock(MultipartFile.class);
-        when(fileUploadService.uploadFile(file)).thenReturn("img-url.png");
+        when(fileUploadService.uploadFile(file)).thenReturn(new StoredImage("img-url.png", "img-url_thumb.jpg"));
         when(categoryRepository.save(any(CategoryEntity.class))).thenReturn(categoryEntity);
-        when(itemRepository.countByCategoryId(anyLong())).thenReturn(0);
 
         // Act
         CategoryResponse categoryResponse = categoryService.add(categoryRequest, file);
@@ -83,18 +89,22 @@ class CategoryServiceImplTest {
         assertNotNull(categoryResponse);
         assertTrue("Electronics".equals(categoryResponse.getName()));
         assertEquals("img-url.png", categoryResponse.getImageUrl());
+        assertEquals(0, categoryResponse.getItems());
+        // The saved entity predates thumbnails, so the full image is served as the thumbnail
+        assertEquals("img-url.png", categoryResponse.getThumbnailUrl());
 
         // Checking if method is called at least once
         verify(fileUploadService).uploadFile(file);
         verify(categoryRepository).save(any(CategoryEntity.class));
-        verify(itemRepository).countByCategoryId(anyLong());
+        // A new category has no items yet, so there is nothing to count
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void testGetAllCategories_Success() {
         // Arrange
         when(categoryRepository.findAll()).thenReturn(Arrays.asList(categoryEntity));
-        when(itemRepository.countByCategoryId(categoryEntity.getId())).thenReturn(5);
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(List.of(itemCount(categoryEntity.getId(), 5L)));
 
         // Act
         var response = categoryService.getAll();
@@ -103,6 +113,37 @@ class CategoryServiceImplTest {
         assertTrue(1 == response.size());
         assertEquals("Electronics", response.get(0).getName());
         assertEquals(5, response.get(0).getItems());
+
+        // Counts come from the single grouped query, never from a per-category COUNT
+        verify(itemRepository, times(1)).countItemsGroupedByCategory();
+        verify(itemRepository, never()).countByCategoryId(anyLong());
+    }
+
+    @Test
+    void testGetAllCategories_ShouldReturnZeroItems_WhenCategoryHasNoItems() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(categoryEntity));
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(List.of());
+
+        // Act
+        var response = categoryService.getAll();
+
+        // Assert
+        assertEquals(0, response.get(0).getItems());
+    }
+
+    private CategoryItemCountProjection itemCount(Long categoryId, Long count) {
+        return new CategoryItemCountProjection() {
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public Long getItemCount() {
+                return count;
+            }
+        };
     }
 
     @Test
@@ -111,13 +152,13 @@ class CategoryServiceImplTest {
         when(categoryRepository.findByCategoryId(categoryEntity.getCategoryId()))
                 .thenReturn(Optional.of(categoryEntity));
 
-        when(fileUploadService.deleteFile(anyString())).thenReturn(true);
         doNothing().when(categoryRepository).deleteById(anyLong());
         // Act
         categoryService.delete(categoryEntity.getCategoryId());
 
         // Assert
-        verify(fileUploadService).deleteFile(categoryEntity.getImageUrl());
+        verify(imageCleanupService).enqueue(categoryEntity.getImageUrl());
+        verify(fileUploadService, never()).deleteFile(anyString());
         verify(categoryRepository).deleteById(categoryEntity.getId());
     }
 
@@ -133,7 +174,7 @@ class CategoryServiceImplTest {
         assertEquals(("Category not found with id: " + categoryId), exception.getMessage());
 
         // Checking if method is never called
-        verify(fileUploadService, never()).deleteFile(anyString());
+        verify(imageCleanupService, never()).enqueue(anyString());
         verify(categoryRepository, never()).deleteById(anyLong());
     }
 }
\ No newline at end of file
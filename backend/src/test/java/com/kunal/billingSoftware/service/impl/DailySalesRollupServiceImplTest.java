@@ -0,0 +1,138 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.DailySalesRollupEntity;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.repository.DailySalesRollupRepository;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySalesRollupServiceImplTest {
+
+    @Mock
+    private DailySalesRollupRepository rollupRepository;
+    @Mock
+    private OrderEntityRepository orderEntityRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DailySalesRollupServiceImpl rollupService;
+    private OrderEntity order;
+    private final LocalDate day = LocalDate.of(2025, 10, 10);
+
+    @BeforeEach
+    void setup() {
+        rollupService = new DailySalesRollupServiceImpl(rollupRepository, orderEntityRepository, transactionManager);
+
+        order = OrderEntity.builder()
+                .orderId("order-123")
+                .grandTotal(110.0)
+                .createdAt(day.atTime(12, 30))
+                .build();
+    }
+
+    @Test
+    void testRecordOrder_ShouldIncrementExistingRow() {
+        when(rollupRepository.addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        rollupService.recordOrder(order);
+
+        verify(rollupRepository, times(1)).addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class));
+        verify(rollupRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testRecordSales_ShouldApplyAggregatedDeltaInOneUpdate() {
+        when(rollupRepository.addToDay(eq(day), eq(300.0), eq(3L), any(LocalDateTime.class))).thenReturn(1);
+
+        rollupService.recordSales(day, 300.0, 3L);
+
+        verify(rollupRepository, times(1)).addToDay(eq(day), eq(300.0), eq(3L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRecordOrder_ShouldCreateRowThenIncrement_WhenDayHasNoRow() {
+        when(rollupRepository.addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class))).thenReturn(0, 1);
+        when(rollupRepository.existsById(day)).thenReturn(false);
+
+        rollupService.recordOrder(order);
+
+        verify(rollupRepository, times(1)).saveAndFlush(argThat((DailySalesRollupEntity row) ->
+                day.equals(row.getSalesDate()) && row.getTotalSales() == 0.0 && row.getOrderCount() == 0L));
+        verify(rollupRepository, times(2)).addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRecordOrder_ShouldStillIncrement_WhenAnotherTillCreatedRowConcurrently() {
+        when(rollupRepository.addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class))).thenReturn(0, 1);
+        when(rollupRepository.existsById(day)).thenReturn(false);
+        when(rollupRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertDoesNotThrow(() -> rollupService.recordOrder(order));
+
+        verify(rollupRepository, times(2)).addToDay(eq(day), eq(110.0), eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testReverseOrder_ShouldDecrementRow() {
+        when(rollupRepository.addToDay(eq(day), eq(-110.0), eq(-1L), any(LocalDateTime.class))).thenReturn(1);
+
+        rollupService.reverseOrder(order);
+
+        verify(rollupRepository, times(1)).addToDay(eq(day), eq(-110.0), eq(-1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testGetTotals_ShouldReadRowByPrimaryKey() {
+        DailySalesRollupEntity row = DailySalesRollupEntity.builder()
+                .salesDate(day)
+                .totalSales(330.0)
+                .orderCount(2L)
+                .build();
+        when(rollupRepository.findById(day)).thenReturn(Optional.of(row));
+
+        assertEquals(330.0, rollupService.getTotalSales(day));
+        assertEquals(2L, rollupService.getOrderCount(day));
+    }
+
+    @Test
+    void testGetTotals_ShouldReturnNullSalesAndZeroCount_WhenDayHasNoRow() {
+        when(rollupRepository.findById(day)).thenReturn(Optional.empty());
+
+        assertNull(rollupService.getTotalSales(day));
+        assertEquals(0L, rollupService.getOrderCount(day));
+    }
+
+    @Test
+    void testRebuild_ShouldRecountEveryDayInRangeFromOrders() {
+        DailySalesRollupEntity row = DailySalesRollupEntity.builder()
+                .salesDate(day)
+                .totalSales(999.0)
+                .orderCount(99L)
+                .build();
+        when(rollupRepository.existsById(any(LocalDate.class))).thenReturn(true);
+        when(rollupRepository.findForUpdate(any(LocalDate.class))).thenReturn(Optional.of(row));
+        when(orderEntityRepository.sumSalesBetween(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(330.0);
+        when(orderEntityRepository.countBetween(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(2L);
+
+        int days = rollupService.rebuild(day, day.plusDays(2));
+
+        assertEquals(3, days);
+        assertEquals(330.0, row.getTotalSales());
+        assertEquals(2L, row.getOrderCount());
+        verify(orderEntityRepository).sumSalesBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,110 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.DashboardResponse;
+import com.kunal.billingSoftware.io.DashboardUpdateResponse;
+import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStreamServiceImplTest {
+
+    private static final long PUSH_INTERVAL_MS = 200;
+
+    @Mock
+    private ObjectProvider<OrderService> orderServiceProvider;
+
+    @Mock
+    private OrderService orderService;
+
+    private DashboardStreamServiceImpl dashboardStream;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(orderServiceProvider.getObject()).thenReturn(orderService);
+        lenient().when(orderService.findRecentOrders()).thenReturn(List.of(order("ORD1", PaymentDetails.PaymentStatus.COMPLETED)));
+        dashboardStream = new DashboardStreamServiceImpl(orderServiceProvider, new ObjectMapper().findAndRegisterModules(),
+                PUSH_INTERVAL_MS, 60_000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardStream.shutdown();
+    }
+
+    @Test
+    void testMarkChanged_ShouldCoalesceBurstIntoOneFrame_ForAllSubscribers() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            dashboardStream.subscribe();
+        }
+        // The first snapshot is computed once and shared by everyone who subscribes before the next change
+        verify(orderService, timeout(1000).times(1)).findRecentOrders();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            dashboardStream.markChanged();
+        }
+
+        // Assert
+        verify(orderService, after(3 * PUSH_INTERVAL_MS).times(2)).findRecentOrders();
+        assertEquals(50, dashboardStream.subscriberCount());
+    }
+
+    @Test
+    void testMarkChanged_ShouldNotQueryOrders_WhenNobodyIsSubscribed() {
+        // Act
+        dashboardStream.markChanged();
+
+        // Assert
+        verify(orderServiceProvider, after(2 * PUSH_INTERVAL_MS).never()).getObject();
+    }
+
+    @Test
+    void testDiff_ShouldReportChangedAndRemovedRecentOrders() {
+        // Arrange
+        OrderResponse unchanged = order("ORD1", PaymentDetails.PaymentStatus.COMPLETED);
+        DashboardResponse previous = new DashboardResponse(100.0, 2L, List.of(
+                unchanged,
+                order("ORD2", PaymentDetails.PaymentStatus.PENDING),
+                order("ORD3", PaymentDetails.PaymentStatus.COMPLETED)));
+        DashboardResponse next = new DashboardResponse(150.0, 3L, List.of(
+                order("ORD4", PaymentDetails.PaymentStatus.COMPLETED),
+                unchanged,
+                order("ORD2", PaymentDetails.PaymentStatus.COMPLETED)));
+
+        // Act
+        DashboardUpdateResponse update = DashboardStreamServiceImpl.diff(previous, next);
+
+        // Assert
+        assertEquals(150.0, update.getTodaySales());
+        assertEquals(3L, update.getTodayOrderCount());
+        assertEquals(List.of("ORD4", "ORD2"), update.getChangedOrders().stream().map(OrderResponse::getOrderId).toList());
+        assertEquals(List.of("ORD3"), update.getRemovedOrderIds());
+    }
+
+    private static OrderResponse order(String orderId, PaymentDetails.PaymentStatus status) {
+        return OrderResponse.builder()
+                .orderId(orderId)
+                .customerName("Kunal Pawar")
+                .grandTotal(50.0)
+                .items(List.of())
+                .paymentDetails(PaymentDetails.builder().status(status).build())
+                .createdAt(LocalDateTime.of(2025, 10, 18, 12, 0))
+                .build();
+    }
+}
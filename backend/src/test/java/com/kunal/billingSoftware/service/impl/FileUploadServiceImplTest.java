@@ -1,17 +1,29 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.io.StoredImage;
+import com.kunal.billingSoftware.repository.CategoryRepository;
+import com.kunal.billingSoftware.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,9 +39,21 @@ class FileUploadServiceImplTest {
     @Mock
     MultipartFile file;
 
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
     @BeforeEach
     void setup() {
-        svc = new FileUploadServiceImpl(tempDir.toString());
+        svc = new FileUploadServiceImpl(tempDir.toString(), 256, itemRepository, categoryRepository);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
     }
 
     @Test
@@ -38,40 +62,74 @@ class FileUploadServiceImplTest {
         assertFalse(Files.exists(nested));
 
         // Constructor check (using a new instance)
-        FileUploadServiceImpl newSvc = new FileUploadServiceImpl(nested.toString());
+        FileUploadServiceImpl newSvc = new FileUploadServiceImpl(nested.toString(), 256, itemRepository, categoryRepository);
 
         assertTrue(Files.exists(nested));
         assertTrue(Files.isDirectory(nested));
     }
 
     @Test
-    void uploadFile_savesFileAndReturnsFilename() throws Exception {
-        when(file.getOriginalFilename()).thenReturn("photo.png");
+    void uploadFile_storesFileUnderShardedContentHash() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "Photo.PNG", "image/png", png(40, 20)));
+
+        assertTrue(stored.imageUrl().matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png"));
+        String hash = stored.imageUrl().substring(6, 70);
+        assertTrue(hash.startsWith(stored.imageUrl().substring(0, 2) + stored.imageUrl().substring(3, 5)));
+        assertTrue(Files.exists(tempDir.resolve(stored.imageUrl())));
+    }
+
+    @Test
+    void uploadFile_storesDuplicateContentOnce() throws Exception {
+        byte[] content = png(40, 20);
+
+        StoredImage first = svc.uploadFile(new MockMultipartFile("file", "a.png", "image/png", content));
+        StoredImage second = svc.uploadFile(new MockMultipartFile("file", "b.png", "image/png", content));
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            // The image and its thumbnail, no leftover temporary files
+            assertEquals(2, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void uploadFile_writesThumbnailFittingTheConfiguredSize() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "wide.png", "image/png", png(1200, 600)));
 
-        doAnswer(invocation -> {
-            File dest = invocation.getArgument(0, File.class);
-            Files.createFile(dest.toPath());
-            return null;
-        }).when(file).transferTo(any(File.class));
+        assertTrue(stored.thumbnailUrl().endsWith(FileUploadServiceImpl.THUMBNAIL_SUFFIX));
+        BufferedImage thumbnail = ImageIO.read(tempDir.resolve(stored.thumbnailUrl()).toFile());
+        assertEquals(256, thumbnail.getWidth());
+        assertEquals(128, thumbnail.getHeight());
+    }
 
-        String returned = svc.uploadFile(file);
-        assertNotNull(returned);
-        assertTrue(returned.endsWith(".png"));
+    @Test
+    void uploadFile_usesImageAsThumbnail_whenFormatCannotBeDecoded() {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "logo.svg", "image/svg+xml",
+                "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8)));
 
-        verify(file, times(1)).transferTo(any(File.class));
-        assertTrue(Files.exists(tempDir.resolve(returned)));
+        assertEquals(stored.imageUrl(), stored.thumbnailUrl());
     }
 
     @Test
     void uploadFile_throwsRuntimeException_whenTransferFails() throws Exception {
-        when(file.getOriginalFilename()).thenReturn("error.txt");
-        doThrow(new IOException("disk error")).when(file).transferTo(any(File.class));
+        doThrow(new IOException("disk error")).when(file).getInputStream();
 
         assertThrows(RuntimeException.class, () -> svc.uploadFile(file));
     }
 
     @Test
-    void deleteFile_deletesExistingFileAndReturnsTrue() throws Exception {
+    void deleteFile_deletesImageAndThumbnail() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "photo.png", "image/png", png(40, 20)));
+
+        boolean result = svc.deleteFile(stored.imageUrl());
+
+        assertTrue(result);
+        assertFalse(Files.exists(tempDir.resolve(stored.imageUrl())));
+        assertFalse(Files.exists(tempDir.resolve(stored.thumbnailUrl())));
+    }
+
+    @Test
+    void deleteFile_deletesLegacyFlatFile() throws Exception {
         Path f = tempDir.resolve("toDelete.jpg");
         Files.createFile(f);
 
@@ -80,9 +138,87 @@ class FileUploadServiceImplTest {
         assertFalse(Files.exists(f));
     }
 
+    @Test
+    void deleteFile_keepsImage_whenStillReferenced() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "photo.png", "image/png", png(40, 20)));
+        when(itemRepository.existsByImgUrl(stored.imageUrl())).thenReturn(true);
+
+        assertFalse(svc.deleteFile(stored.imageUrl()));
+        assertTrue(Files.exists(tempDir.resolve(stored.imageUrl())));
+    }
+
     @Test
     void deleteFile_returnsFalseWhenFileMissing() {
         boolean result = svc.deleteFile("missing.png");
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteFile_refusesPathsOutsideUploadDirectory() throws Exception {
+        Path outside = Files.createTempFile("outside", ".png");
+        try {
+            assertFalse(svc.deleteFile("../" + outside.getFileName()));
+            assertFalse(svc.deleteFile(outside.toString()));
+            assertTrue(Files.exists(outside));
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+    }
+
+    @Test
+    void deleteStoredImage_deletesWithoutCheckingReferences() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "photo.png", "image/png", png(40, 20)));
+
+        assertTrue(svc.deleteStoredImage(stored.imageUrl(), Instant.now().plusSeconds(60)));
+        assertFalse(Files.exists(tempDir.resolve(stored.imageUrl())));
+        assertFalse(Files.exists(tempDir.resolve(stored.thumbnailUrl())));
+        verifyNoInteractions(itemRepository, categoryRepository);
+    }
+
+    @Test
+    void deleteStoredImage_keepsImage_whenUploadedAgainAfterCutoff() throws Exception {
+        byte[] content = png(40, 20);
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "a.png", "image/png", content));
+        Path image = tempDir.resolve(stored.imageUrl());
+        Instant queuedAt = Instant.now().minusSeconds(3600);
+        Files.setLastModifiedTime(image, FileTime.from(queuedAt.minusSeconds(60)));
+
+        // Same content again: the file is not rewritten, but marked as in use
+        svc.uploadFile(new MockMultipartFile("file", "b.png", "image/png", content));
+
+        assertFalse(svc.deleteStoredImage(stored.imageUrl(), queuedAt));
+        assertTrue(Files.exists(image));
+    }
+
+    @Test
+    void listStoredImages_skipsThumbnailsTempFilesAndRecentFiles() throws Exception {
+        StoredImage stored = svc.uploadFile(new MockMultipartFile("file", "photo.png", "image/png", png(40, 20)));
+        Path legacy = Files.createFile(tempDir.resolve("legacy.jpg"));
+        Files.createFile(tempDir.resolve(".upload-123.tmp"));
+        Files.createFile(tempDir.resolve("recent.jpg"));
+        Instant cutoff = Instant.now().minusSeconds(60);
+        for (String old : List.of(stored.imageUrl(), stored.thumbnailUrl(), "legacy.jpg", ".upload-123.tmp")) {
+            Files.setLastModifiedTime(tempDir.resolve(old), FileTime.from(cutoff.minusSeconds(60)));
+        }
+
+        List<String> images = svc.listStoredImages(cutoff);
+
+        assertEquals(Set.of(stored.imageUrl(), "legacy.jpg"), Set.copyOf(images));
+        assertTrue(Files.exists(legacy));
+    }
+
+    @Test
+    void deleteAbandonedTempFiles_deletesOnlyOldTempFiles() throws Exception {
+        Path oldUpload = Files.createFile(tempDir.resolve(".upload-1.tmp"));
+        Path freshUpload = Files.createFile(tempDir.resolve(".upload-2.tmp"));
+        Path image = Files.createFile(tempDir.resolve("image.tmp"));
+        Instant cutoff = Instant.now().minusSeconds(60);
+        Files.setLastModifiedTime(oldUpload, FileTime.from(cutoff.minusSeconds(60)));
+        Files.setLastModifiedTime(image, FileTime.from(cutoff.minusSeconds(60)));
+
+        assertEquals(1, svc.deleteAbandonedTempFiles(cutoff));
+        assertFalse(Files.exists(oldUpload));
+        assertTrue(Files.exists(freshUpload));
+        assertTrue(Files.exists(image));
+    }
+}
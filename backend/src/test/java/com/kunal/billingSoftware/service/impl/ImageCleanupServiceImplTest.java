@@ -0,0 +1,162 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.ImageCleanupEntity;
+import com.kunal.billingSoftware.repository.CategoryRepository;
+import com.kunal.billingSoftware.repository.ImageCleanupRepository;
+import com.kunal.billingSoftware.repository.ItemRepository;
+import com.kunal.billingSoftware.service.FileUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageCleanupServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+    private static final LocalDateTime QUEUED_AT = LocalDateTime.of(2026, 10, 18, 9, 0);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private ImageCleanupRepository imageCleanupRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private FileUploadService fileUploadService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<Iterable<ImageCleanupEntity>> settledCaptor;
+    @Captor
+    private ArgumentCaptor<Iterable<ImageCleanupEntity>> retryCaptor;
+
+    private ImageCleanupServiceImpl imageCleanupService;
+
+    @BeforeEach
+    void setup() {
+        imageCleanupService = new ImageCleanupServiceImpl(imageCleanupRepository, itemRepository, categoryRepository,
+                fileUploadService, transactionManager, Clock.fixed(NOW, ZoneOffset.UTC), 10_000, 10, MAX_ATTEMPTS, 3_600_000);
+    }
+
+    private static ImageCleanupEntity queued(long id, String imageUrl, int attempts) {
+        return ImageCleanupEntity.builder()
+                .id(id)
+                .imageUrl(imageUrl)
+                .attempts(attempts)
+                .createdAt(QUEUED_AT)
+                .nextAttemptAt(QUEUED_AT)
+                .build();
+    }
+
+    @Test
+    void testReap_ShouldDeleteUnreferencedImages_AndSettleReferencedOnesWithoutDeleting() {
+        // Arrange
+        ImageCleanupEntity orphan = queued(1, "ab/cd/orphan.png", 0);
+        ImageCleanupEntity shared = queued(2, "ab/cd/shared.png", 0);
+        ImageCleanupEntity legacy = queued(3, "http://localhost:8080/api/v1.0/uploads/legacy.png", 0);
+        when(imageCleanupRepository.findDue(eq(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC)), any(Pageable.class)))
+                .thenReturn(List.of(orphan, shared, legacy));
+        when(itemRepository.findReferencedImgUrls(anyCollection())).thenReturn(List.of("ab/cd/shared.png"));
+        when(categoryRepository.findReferencedImageUrls(anyCollection())).thenReturn(List.of());
+
+        // Act
+        int settled = imageCleanupService.reap();
+
+        // Assert
+        assertEquals(3, settled);
+        Instant queuedAt = QUEUED_AT.toInstant(ZoneOffset.UTC);
+        verify(fileUploadService).deleteStoredImage("ab/cd/orphan.png", queuedAt);
+        verify(fileUploadService).deleteStoredImage("legacy.png", queuedAt);
+        verify(fileUploadService, never()).deleteStoredImage(eq("ab/cd/shared.png"), any());
+        verify(imageCleanupRepository).deleteAllInBatch(settledCaptor.capture());
+        assertEquals(List.of(orphan, shared, legacy), settledCaptor.getValue());
+    }
+
+    @Test
+    void testReap_ShouldRescheduleWithBackoff_WhenDeleteFails() {
+        // Arrange
+        ImageCleanupEntity locked = queued(1, "ab/cd/locked.png", 1);
+        when(imageCleanupRepository.findDue(any(), any(Pageable.class))).thenReturn(List.of(locked));
+        when(fileUploadService.deleteStoredImage(eq("ab/cd/locked.png"), any()))
+                .thenThrow(new UncheckedIOException(new IOException("Device or resource busy")));
+
+        // Act
+        int settled = imageCleanupService.reap();
+
+        // Assert
+        assertEquals(0, settled);
+        verify(imageCleanupRepository).saveAll(retryCaptor.capture());
+        assertEquals(List.of(locked), retryCaptor.getValue());
+        assertEquals(2, locked.getAttempts());
+        assertTrue(locked.getLastError().contains("Device or resource busy"));
+        // Second attempt failed: twice the cleanup interval
+        assertEquals(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).plusSeconds(20), locked.getNextAttemptAt());
+    }
+
+    @Test
+    void testReap_ShouldDropEntry_AfterMaxAttempts() {
+        // Arrange
+        ImageCleanupEntity locked = queued(1, "ab/cd/locked.png", MAX_ATTEMPTS - 1);
+        when(imageCleanupRepository.findDue(any(), any(Pageable.class))).thenReturn(List.of(locked));
+        when(fileUploadService.deleteStoredImage(eq("ab/cd/locked.png"), any()))
+                .thenThrow(new UncheckedIOException(new IOException("Permission denied")));
+
+        // Act
+        int settled = imageCleanupService.reap();
+
+        // Assert: left to the sweep
+        assertEquals(1, settled);
+        verify(imageCleanupRepository).deleteAllInBatch(settledCaptor.capture());
+        assertEquals(List.of(locked), settledCaptor.getValue());
+    }
+
+    @Test
+    void testSweep_ShouldDeleteOnlyUnreferencedFiles_OlderThanMinAge() {
+        // Arrange
+        Instant cutoff = NOW.minusSeconds(3600);
+        when(itemRepository.findAllImgUrls()).thenReturn(List.of("ab/cd/item.png"));
+        when(categoryRepository.findAllImageUrls()).thenReturn(List.of("http://localhost:8080/api/v1.0/uploads/category.png"));
+        when(fileUploadService.listStoredImages(cutoff))
+                .thenReturn(List.of("ab/cd/item.png", "category.png", "ab/cd/orphan.png"));
+        when(fileUploadService.deleteStoredImage("ab/cd/orphan.png", cutoff)).thenReturn(true);
+        when(fileUploadService.deleteAbandonedTempFiles(cutoff)).thenReturn(2);
+
+        // Act
+        int deleted = imageCleanupService.sweep();
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(fileUploadService, times(1)).deleteStoredImage(anyString(), any());
+    }
+
+    @Test
+    void testEnqueue_ShouldIgnoreMissingImage() {
+        // Act
+        imageCleanupService.enqueue(null);
+        imageCleanupService.enqueue("ab/cd/image.png");
+
+        // Assert
+        verify(imageCleanupRepository, times(1)).save(argThat(cleanup ->
+                cleanup.getImageUrl().equals("ab/cd/image.png") && cleanup.getAttempts() == 0));
+    }
+}
@@ -1,12 +1,18 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.cache.CatalogSnapshot;
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
+import com.kunal.billingSoftware.cache.ItemSearchIndex;
 import com.kunal.billingSoftware.entity.CategoryEntity;
 import com.kunal.billingSoftware.entity.ItemEntity;
 import com.kunal.billingSoftware.io.ItemRequest;
 import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.StoredImage;
 import com.kunal.billingSoftware.repository.CategoryRepository;
 import com.kunal.billingSoftware.repository.ItemRepository;
 import com.kunal.billingSoftware.service.FileUploadService;
+import com.kunal.billingSoftware.service.ImageCleanupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +40,8 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
+    private ImageCleanupService imageCleanupService;
+    @Mock
     MultipartFile file;
 
     private ItemServiceImpl itemService;
@@ -45,7 +53,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setup() {
-        itemService = new ItemServiceImpl(fileUploadService, categoryRepository, itemRepository);
+        itemService = new ItemServiceImpl(fileUploadService, categoryRepository, itemRepository,
+                new CatalogSnapshotCache(new ObjectMapper()), new ItemSearchIndex(), imageCleanupService);
 
         fixedTime = Timestamp.valueOf(LocalDateTime.of(2025, 10, 10, 10, 0));
 
@@ -86,9 +95,10 @@ class ItemServiceImplTest {
     @Test
     void testAddItem_WhenItemRequestAndFileIsValid_Success() {
         // Arrange
-        when(fileUploadService.uploadFile(file)).thenReturn("image-url");
+        when(fileUploadService.uploadFile(file)).thenReturn(new StoredImage("image-url", "image-url_thumb.jpg"));
         when(categoryRepository.findByCategoryId("category-id-123")).thenReturn(Optional.of(category));
         when(itemRepository.save(any(ItemEntity.class))).thenAnswer(i -> i.getArgument(0));
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(itemEntity));
 
         // Act
         ItemResponse newItemResponse = itemService.add(itemRequest, file);
@@ -96,6 +106,7 @@ class ItemServiceImplTest {
         // Verify
         assertTrue(("Demo Mobile").equals(newItemResponse.getName()));
         assertEquals("image-url", newItemResponse.getImageUrl());
+        assertEquals("image-url_thumb.jpg", newItemResponse.getThumbnailUrl());
         assertEquals("category-id-123", newItemResponse.getCategoryId());
 
         verify(fileUploadService, times(1)).uploadFile(file);
@@ -106,7 +117,7 @@ class ItemServiceImplTest {
     @Test
     void testAddItem_WhenCategoryIdDoesNotExist_Failure() {
         // Arrange
-        when(fileUploadService.uploadFile(file)).thenReturn("image-url");
+        when(fileUploadService.uploadFile(file)).thenReturn(new StoredImage("image-url", "image-url_thumb.jpg"));
         when(categoryRepository.findByCategoryId(anyString())).thenReturn(Optional.empty());
 
         // Assert + Act
@@ -123,7 +134,7 @@ class ItemServiceImplTest {
     @Test
     void testFetchItems_ShouldReturnList_WhenItemsExist() {
         // Arrange
-        when(itemRepository.findAll()).thenReturn(List.of(itemEntity));
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(itemEntity));
 
         // Act
         var response = itemService.fetchItems();
@@ -138,13 +149,13 @@ class ItemServiceImplTest {
         assertEquals("category-id-123", response.get(0).getCategoryId());
 
         // verify
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllWithCategory();
     }
 
     @Test
     void testFetchItems_ShouldReturnEmptyList_WhenItemsDoNotExist() {
         // Arrange
-        when(itemRepository.findAll()).thenReturn(List.of());
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of());
 
         // Act
         var response = itemService.fetchItems();
@@ -154,22 +165,81 @@ class ItemServiceImplTest {
         assertEquals(0, response.size());
 
         // verify
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllWithCategory();
+    }
+
+    @Test
+    void testFetchItems_ShouldServeSnapshot_WithoutQueryingAgain() {
+        // Arrange
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(itemEntity));
+
+        // Act
+        CatalogSnapshot first = itemService.getCatalogSnapshot();
+        var items = itemService.fetchItems();
+        CatalogSnapshot second = itemService.getCatalogSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, items.size());
+        verify(itemRepository, times(1)).findAllWithCategory();
+    }
+
+    @Test
+    void testDeleteItem_ShouldRebuildSnapshot_SoNextReadDropsTheItem() {
+        // Arrange
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(itemEntity), List.of());
+        when(itemRepository.findByItemId(itemEntity.getItemId())).thenReturn(Optional.of(itemEntity));
+        CatalogSnapshot before = itemService.getCatalogSnapshot();
+
+        // Act
+        itemService.deleteItem(itemEntity.getItemId());
+        CatalogSnapshot after = itemService.getCatalogSnapshot();
+
+        // Assert
+        assertEquals(1, before.items().size());
+        assertEquals(0, after.items().size());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void testSearchItems_ShouldLoadIndexFromSnapshot_AndFollowAddsAndDeletes() {
+        // Arrange
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of(itemEntity));
+        when(itemRepository.findByItemId(itemEntity.getItemId())).thenReturn(Optional.of(itemEntity));
+        when(fileUploadService.uploadFile(file)).thenReturn(new StoredImage("image-url", "image-url_thumb.jpg"));
+        when(categoryRepository.findByCategoryId("category-id-123")).thenReturn(Optional.of(category));
+        when(itemRepository.save(any(ItemEntity.class))).thenAnswer(i -> i.getArgument(0));
+
+        // Act + Assert
+        assertEquals(1, itemService.searchItems("mobile", 10).size());
+
+        itemService.add(ItemRequest.builder()
+                .name("Demo Tablet")
+                .description("Demo desc")
+                .price(new BigDecimal(200.00))
+                .categoryId("category-id-123")
+                .build(), file);
+        assertEquals(2, itemService.searchItems("demo", 10).size());
+
+        itemService.deleteItem(itemEntity.getItemId());
+        assertEquals(0, itemService.searchItems("mobile", 10).size());
+        assertEquals("Demo Tablet", itemService.searchItems("demo", 10).get(0).getName());
     }
 
     @Test
     void testDeleteItem_ShouldDeleteItem_WhenItemIdExist() {
         // Arrange
         when(itemRepository.findByItemId(anyString())).thenReturn(Optional.of(itemEntity));
-        when(fileUploadService.deleteFile(anyString())).thenReturn(true);
         doNothing().when(itemRepository).delete(itemEntity);
+        when(itemRepository.findAllWithCategory()).thenReturn(List.of());
 
         // Act
         itemService.deleteItem(anyString());
 
         // Assert + Verify
         verify(itemRepository, times(1)).findByItemId(anyString());
-        verify(fileUploadService, times(1)).deleteFile(anyString());
+        verify(imageCleanupService, times(1)).enqueue(itemEntity.getImgUrl());
+        verify(fileUploadService, times(0)).deleteFile(anyString());
         verify(itemRepository, times(1)).delete(itemEntity);
     }
 
@@ -187,7 +257,7 @@ class ItemServiceImplTest {
 
         // Verify
         verify(itemRepository, times(1)).findByItemId(anyString());
-        verify(fileUploadService, times(0)).deleteFile(anyString());
+        verify(imageCleanupService, times(0)).enqueue(anyString());
         verify(itemRepository, times(0)).delete(itemEntity);
     }
 }
\ No newline at end of file
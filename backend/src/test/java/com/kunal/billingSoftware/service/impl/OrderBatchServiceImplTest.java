@@ -0,0 +1,267 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.io.OrderBatchResponse;
+import com.kunal.billingSoftware.io.OrderRequest;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.repository.OrderBatchJdbcRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.PricingService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.util.OrderIdGenerator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchServiceImplTest {
+
+    @Mock
+    private OrderBatchJdbcRepository orderBatchJdbcRepository;
+    @Mock
+    private DailySalesRollupService dailySalesRollupService;
+    @Mock
+    private SalesAnalyticsService salesAnalyticsService;
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+    @Mock
+    private PricingService pricingService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Every catalog item costs this much, tax free, so an order's total decides its quantity
+    private static final double UNIT_PRICE = 5.0;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private OrderBatchServiceImpl orderBatchService;
+
+    @BeforeEach
+    void setup() {
+        orderBatchService = new OrderBatchServiceImpl(validator, orderBatchJdbcRepository, dailySalesRollupService, salesAnalyticsService,
+                dashboardStreamService, pricingService, new OrderIdGenerator(0), transactionManager, 2);
+        lenient().when(pricingService.quote(anyList()))
+                .thenAnswer(invocation -> quoteAtUnitPrice(invocation.getArgument(0)));
+    }
+
+    private QuoteResponse quoteAtUnitPrice(List<QuoteRequest.QuoteItemRequest> cartItems) {
+        List<QuoteResponse.QuoteItemResponse> lines = cartItems.stream()
+                .map(cartItem -> QuoteResponse.QuoteItemResponse.builder()
+                        .itemId(cartItem.getItemId())
+                        .name("Catalog " + cartItem.getItemId())
+                        .price(UNIT_PRICE)
+                        .quantity(cartItem.getQuantity())
+                        .lineTotal(UNIT_PRICE * cartItem.getQuantity())
+                        .build())
+                .toList();
+        double subtotal = lines.stream().mapToDouble(QuoteResponse.QuoteItemResponse::getLineTotal).sum();
+        return QuoteResponse.builder().items(lines).subtotal(subtotal).tax(0.0).grandTotal(subtotal).build();
+    }
+
+    private OrderRequest validRequest(String paymentMethod, double grandTotal) {
+        return OrderRequest.builder()
+                .customerName("Kunal Pawar")
+                .phoneNumber("9876543210")
+                .cartItems(List.of(new OrderRequest.OrderItemRequest("item-101", "Laptop", UNIT_PRICE, (int) (grandTotal / UNIT_PRICE))))
+                .subtotal(grandTotal)
+                .tax(0.0)
+                .grandTotal(grandTotal)
+                .paymentMethod(paymentMethod)
+                .build();
+    }
+
+    @Test
+    void testCreateOrders_ShouldInsertValidOrdersInChunks_AndRollUpPerDay() {
+        List<OrderRequest> requests = List.of(
+                validRequest("CASH", 100.0),
+                validRequest("UPI", 50.0),
+                validRequest("CASH", 25.0));
+        List<OrderEntity> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(orderBatchJdbcRepository).insertOrders(anyList());
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(requests);
+
+        // Assert
+        assertEquals(3, response.getAccepted());
+        assertEquals(0, response.getRejected());
+        verify(orderBatchJdbcRepository, times(2)).insertOrders(anyList());
+        verify(dailySalesRollupService).recordSales(LocalDate.now(), 150.0, 2L);
+        verify(dailySalesRollupService).recordSales(LocalDate.now(), 25.0, 1L);
+        verify(salesAnalyticsService, times(2)).recordOrders(anyList());
+
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, inserted.get(0).getPaymentDetails().getStatus());
+        assertEquals(PaymentDetails.PaymentStatus.PENDING, inserted.get(1).getPaymentDetails().getStatus());
+        Set<String> orderIds = new HashSet<>();
+        for (OrderBatchResponse.OrderBatchResult result : response.getResults()) {
+            assertEquals(OrderBatchResponse.Status.CREATED, result.getStatus());
+            assertTrue(orderIds.add(result.getOrderId()), "Order ids must be unique within a batch");
+        }
+    }
+
+    @Test
+    void testCreateOrders_ShouldReportFieldErrors_WhenOrderIsInvalid() {
+        OrderRequest invalid = validRequest("CARD", 10.0);
+        invalid.setPhoneNumber("123");
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(invalid, validRequest("CASH", 10.0)));
+
+        // Assert
+        OrderBatchResponse.OrderBatchResult rejected = response.getResults().get(0);
+        assertEquals(OrderBatchResponse.Status.INVALID, rejected.getStatus());
+        assertEquals(0, rejected.getIndex());
+        assertEquals("Phone number must be 10 digits", rejected.getErrors().get("phoneNumber"));
+        assertEquals("Payment method must be one of CASH or UPI", rejected.getErrors().get("paymentMethod"));
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(1).getStatus());
+        assertEquals(1, response.getAccepted());
+        assertEquals(1, response.getRejected());
+        verify(orderBatchJdbcRepository, times(1)).insertOrders(argThat((List<OrderEntity> orders) -> orders.size() == 1));
+    }
+
+    @Test
+    void testCreateOrders_ShouldFailOnlyTheBrokenChunk_WhenInsertThrows() {
+        List<OrderRequest> requests = List.of(
+                validRequest("CASH", 10.0),
+                validRequest("CASH", 20.0),
+                validRequest("CASH", 30.0));
+        doThrow(new DataIntegrityViolationException("duplicate order id"))
+                .doNothing()
+                .when(orderBatchJdbcRepository).insertOrders(anyList());
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(requests);
+
+        // Assert
+        assertEquals(OrderBatchResponse.Status.FAILED, response.getResults().get(0).getStatus());
+        assertEquals(OrderBatchResponse.Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(2).getStatus());
+        assertEquals(1, response.getAccepted());
+        verify(dailySalesRollupService, times(1)).recordSales(any(LocalDate.class), eq(30.0), eq(1L));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void testCreateOrders_ShouldKeepSaleTimeAndClientOrderId_WhenTillSyncsOfflineOrders() {
+        LocalDateTime soldAt = LocalDateTime.of(2025, 10, 17, 21, 45);
+        OrderRequest offline = validRequest("CASH", 40.0);
+        offline.setClientOrderId("till-3-000127");
+        offline.setSoldAt(soldAt);
+        List<OrderEntity> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(orderBatchJdbcRepository).insertOrders(anyList());
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(offline));
+
+        // Assert
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(0).getStatus());
+        assertEquals("till-3-000127", inserted.get(0).getClientOrderId());
+        assertEquals(soldAt, inserted.get(0).getCreatedAt());
+        verify(dailySalesRollupService).recordSales(soldAt.toLocalDate(), 40.0, 1L);
+    }
+
+    @Test
+    void testCreateOrders_ShouldReturnStoredOrderIds_WhenSyncIsRetried() {
+        OrderRequest stored = validRequest("CASH", 40.0);
+        stored.setClientOrderId("till-3-000127");
+        OrderRequest fresh = validRequest("CASH", 15.0);
+        fresh.setClientOrderId("till-3-000128");
+        when(orderBatchJdbcRepository.findOrderIdsByClientOrderIds(Set.of("till-3-000127", "till-3-000128")))
+                .thenReturn(Map.of("till-3-000127", "ORD-EARLIER"));
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(stored, fresh));
+
+        // Assert
+        OrderBatchResponse.OrderBatchResult duplicate = response.getResults().get(0);
+        assertEquals(OrderBatchResponse.Status.DUPLICATE, duplicate.getStatus());
+        assertEquals("ORD-EARLIER", duplicate.getOrderId());
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(1).getStatus());
+        assertEquals(2, response.getAccepted());
+        assertEquals(0, response.getRejected());
+        verify(orderBatchJdbcRepository, times(1)).insertOrders(argThat((List<OrderEntity> orders) ->
+                orders.size() == 1 && orders.get(0).getClientOrderId().equals("till-3-000128")));
+    }
+
+    @Test
+    void testCreateOrders_ShouldRejectRepeatedClientOrderId_WithinOneBatch() {
+        OrderRequest first = validRequest("CASH", 40.0);
+        first.setClientOrderId("till-3-000127");
+        OrderRequest repeated = validRequest("CASH", 40.0);
+        repeated.setClientOrderId("till-3-000127");
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(first, repeated));
+
+        // Assert
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(OrderBatchResponse.Status.INVALID, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getErrors().containsKey("clientOrderId"));
+        verify(orderBatchJdbcRepository, times(1)).insertOrders(argThat((List<OrderEntity> orders) -> orders.size() == 1));
+    }
+
+    @Test
+    void testCreateOrders_ShouldBillCatalogPrices_WhenTillSendsOtherAmounts() {
+        OrderRequest tampered = validRequest("UPI", 40.0);
+        tampered.setSubtotal(1.0);
+        tampered.setTax(0.0);
+        tampered.setGrandTotal(1.0);
+        tampered.getCartItems().get(0).setPrice(0.125);
+        List<OrderEntity> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(orderBatchJdbcRepository).insertOrders(anyList());
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(tampered));
+
+        // Assert
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(40.0, inserted.get(0).getSubtotal());
+        assertEquals(40.0, inserted.get(0).getGrandTotal());
+        assertEquals(UNIT_PRICE, inserted.get(0).getItems().get(0).getPrice());
+        assertEquals("Catalog item-101", inserted.get(0).getItems().get(0).getName());
+        verify(dailySalesRollupService).recordSales(LocalDate.now(), 40.0, 1L);
+    }
+
+    @Test
+    void testCreateOrders_ShouldRejectOrder_WhenCartHasUnknownItem() {
+        OrderRequest unknown = validRequest("CASH", 10.0);
+        unknown.getCartItems().get(0).setItemId("item-gone");
+        when(pricingService.quote(argThat(items -> items != null && items.get(0).getItemId().equals("item-gone"))))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown item: item-gone"));
+
+        // Act
+        OrderBatchResponse response = orderBatchService.createOrders(List.of(unknown, validRequest("CASH", 10.0)));
+
+        // Assert
+        OrderBatchResponse.OrderBatchResult rejected = response.getResults().get(0);
+        assertEquals(OrderBatchResponse.Status.INVALID, rejected.getStatus());
+        assertEquals("Unknown item: item-gone", rejected.getErrors().get("cartItems"));
+        assertEquals(OrderBatchResponse.Status.CREATED, response.getResults().get(1).getStatus());
+        verify(orderBatchJdbcRepository, times(1)).insertOrders(argThat((List<OrderEntity> orders) -> orders.size() == 1));
+    }
+}
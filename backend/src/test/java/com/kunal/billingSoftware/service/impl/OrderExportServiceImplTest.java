@@ -0,0 +1,145 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.OrderExportFormat;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import com.kunal.billingSoftware.repository.OrderExportJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    @Mock
+    private OrderExportJdbcRepository orderExportJdbcRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderExportServiceImpl orderExportService;
+
+    @BeforeEach
+    void setup() {
+        orderExportService = new OrderExportServiceImpl(orderExportJdbcRepository, objectMapper);
+    }
+
+    private OrderExportRow row(long id, String orderId, String customerName, String itemId, Integer quantity) {
+        return new OrderExportRow(id, orderId, customerName, "9876543210", 100.0, 5.0, 105.0,
+                LocalDateTime.of(2025, 10, 10, 12, 0), "CASH", PaymentDetails.PaymentStatus.COMPLETED, null,
+                itemId, itemId == null ? null : "Name " + itemId, itemId == null ? null : 50.0, quantity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(OrderExportRow... rows) {
+        doAnswer(invocation -> {
+            Consumer<OrderExportRow> consumer = invocation.getArgument(2);
+            for (OrderExportRow row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(orderExportJdbcRepository).streamOrderRows(
+                eq(LocalDateTime.of(2025, 10, 1, 0, 0)), eq(LocalDateTime.of(2025, 11, 1, 0, 0)), any(Consumer.class));
+    }
+
+    @Test
+    void testExportOrders_ShouldWriteCsvLinePerItem_WithEscapedFields() throws IOException {
+        // Arrange
+        givenRows(
+                row(1, "ORD-1", "Pawar, Kunal", "item-1", 1),
+                row(1, "ORD-1", "Pawar, Kunal", "item-2", 2),
+                row(2, "ORD-2", "Say \"Hi\"", null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderExportService.exportOrders(LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), OrderExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, lines.length);
+        assertEquals(OrderExportServiceImpl.CSV_HEADER, lines[0]);
+        assertEquals("ORD-1,2025-10-10T12:00:00,\"Pawar, Kunal\",9876543210,CASH,COMPLETED,,100.0,5.0,105.0,item-1,Name item-1,50.0,1", lines[1]);
+        assertTrue(lines[2].endsWith(",item-2,Name item-2,50.0,2"));
+        assertEquals("ORD-2,2025-10-10T12:00:00,\"Say \"\"Hi\"\"\",9876543210,CASH,COMPLETED,,100.0,5.0,105.0,,,,", lines[3]);
+    }
+
+    @Test
+    void testExportOrders_ShouldDefuseFormulas_InCsvTextFields() throws IOException {
+        // Arrange
+        givenRows(new OrderExportRow(1, "ORD-1", "=HYPERLINK(\"http://evil\",\"x\")", "9876543210", 100.0, 5.0, 105.0,
+                LocalDateTime.of(2025, 10, 10, 12, 0), "CASH", PaymentDetails.PaymentStatus.COMPLETED, null,
+                "item-1", "@SUM(A1:A2)", 50.0, 1));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderExportService.exportOrders(LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), OrderExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("ORD-1,2025-10-10T12:00:00,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",9876543210,CASH,COMPLETED,,"
+                + "100.0,5.0,105.0,item-1,'@SUM(A1:A2),50.0,1", lines[1]);
+        assertEquals("'-5", OrderExportServiceImpl.appendCsvText(new StringBuilder(), "-5").toString());
+        assertEquals("'+91 98765", OrderExportServiceImpl.appendCsvText(new StringBuilder(), "+91 98765").toString());
+        assertEquals("Kunal", OrderExportServiceImpl.appendCsvText(new StringBuilder(), "Kunal").toString());
+    }
+
+    @Test
+    void testExportOrders_ShouldWriteOneJsonObjectPerOrder_WhenFormatIsNdjson() throws IOException {
+        // Arrange
+        givenRows(
+                row(1, "ORD-1", "Kunal", "item-1", 1),
+                row(1, "ORD-1", "Kunal", "item-2", 2),
+                row(2, "ORD-2", "Asha", null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderExportService.exportOrders(LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), OrderExportFormat.NDJSON, out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("ORD-1", first.get("orderId").asText());
+        assertEquals("2025-10-10T12:00:00", first.get("createdAt").asText());
+        assertEquals("COMPLETED", first.get("paymentDetails").get("status").asText());
+        assertEquals(2, first.get("items").size());
+        assertEquals(2, first.get("items").get(1).get("quantity").asInt());
+
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals("ORD-2", second.get("orderId").asText());
+        assertEquals(0, second.get("items").size());
+    }
+
+    @Test
+    void testExportOrders_ShouldRethrowIOException_WhenClientDisconnects() {
+        // Arrange
+        givenRows(row(1, "ORD-1", "Kunal", "item-1", 1));
+        OutputStream brokenPipe = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> orderExportService.exportOrders(
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31), OrderExportFormat.NDJSON, brokenPipe));
+    }
+}
@@ -0,0 +1,210 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.journal.OrderJournal;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.repository.OrderBatchJdbcRepository;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.util.OrderIdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Crash recovery of the write-behind checkout against the real tables: a service that is dropped without
+ * {@code stop()} stands in for a killed process, and a fresh one on the same journal directory is the restart.
+ */
+@DataJpaTest
+@Import(OrderBatchJdbcRepository.class)
+class OrderJournalServiceImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 10, 18, 12, 0);
+    private static final int JOURNAL_SEGMENT_SIZE = 1 << 20;
+
+    @Autowired
+    private OrderBatchJdbcRepository orderBatchJdbcRepository;
+
+    @Autowired
+    private OrderEntityRepository orderEntityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TempDir
+    Path directory;
+
+    private final DailySalesRollupService dailySalesRollupService = mock(DailySalesRollupService.class);
+    private final SalesAnalyticsService salesAnalyticsService = mock(SalesAnalyticsService.class);
+    private final DashboardStreamService dashboardStreamService = mock(DashboardStreamService.class);
+
+    @Test
+    void testFlush_ShouldInsertJournaledOrdersAfterRestart_WhenProcessCrashedBeforeFlushing() throws IOException {
+        // Arrange
+        OrderJournalServiceImpl crashed = newService(directory);
+        crashed.append(order(105.0));
+        crashed.append(order(210.0));
+
+        // Act
+        int replayed = newService(directory).flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(2, replayed);
+        List<OrderEntity> stored = orderEntityRepository.findAll();
+        assertEquals(2, stored.size());
+        stored.forEach(order -> {
+            assertNotNull(order.getOrderId());
+            assertEquals(2, order.getItems().size());
+            assertEquals(PaymentDetails.PaymentStatus.COMPLETED, order.getPaymentDetails().getStatus());
+        });
+        verify(dailySalesRollupService).recordSales(LocalDate.of(2025, 10, 18), 315.0, 2L);
+        verify(salesAnalyticsService).recordOrders(argThat(orders -> orders.size() == 2));
+    }
+
+    @Test
+    void testFlush_ShouldSkipStoredOrders_WhenCrashedBeforeMarkingTheJournalFlushed() throws IOException {
+        // Arrange
+        Path beforeFlush = Files.createDirectories(directory.resolve("before-flush"));
+        Path live = Files.createDirectories(directory.resolve("live"));
+        OrderJournalServiceImpl service = newService(live);
+        service.append(order(105.0));
+        service.append(order(210.0));
+        copyJournal(live, beforeFlush);
+        service.flush();
+
+        // Act: the journal as it was when the inserts committed but the flushed position was not yet written
+        int replayed = newService(beforeFlush).flush();
+
+        // Assert
+        assertEquals(2, replayed);
+        assertEquals(2, orderEntityRepository.count());
+        verify(dailySalesRollupService, times(1)).recordSales(any(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void testFlush_ShouldNotReplayOrders_WhenJournalWasFlushedBeforeCrash() throws IOException {
+        // Arrange
+        OrderJournalServiceImpl service = newService(directory);
+        service.append(order(105.0));
+        service.flush();
+
+        // Act
+        int replayed = newService(directory).flush();
+
+        // Assert
+        assertEquals(0, replayed);
+        assertEquals(1, orderEntityRepository.count());
+    }
+
+    @Test
+    void testFlush_ShouldMoveUnreadableEntryToDeadLetters_AndKeepFlushing() throws IOException {
+        // Arrange: a record the service cannot decode, ahead of a good one
+        OrderJournal journal = new OrderJournal(directory, JOURNAL_SEGMENT_SIZE, false);
+        journal.append("{not an order".getBytes(StandardCharsets.UTF_8));
+        journal.close();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderJournalServiceImpl service = newService(directory, meterRegistry);
+        service.append(order(105.0));
+
+        // Act
+        int processed = service.flush();
+
+        // Assert
+        assertEquals(2, processed);
+        assertEquals(1, orderEntityRepository.count());
+        assertEquals(1, deadLetterCount(directory));
+        assertEquals(1.0, meterRegistry.get("billing.orders.journal.quarantined").gauge().value());
+        assertEquals(0.0, meterRegistry.get("billing.orders.journal.unflushed").gauge().value());
+    }
+
+    @Test
+    void testFlush_ShouldMoveOrderRejectedByDatabaseToDeadLetters_AndInsertTheRestOfTheBatch() throws IOException {
+        // Arrange: longer than the customer_name column
+        OrderEntity rejected = order(50.0);
+        rejected.setCustomerName("x".repeat(300));
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderJournalServiceImpl service = newService(directory, meterRegistry);
+        service.append(order(105.0));
+        service.append(rejected);
+        service.append(order(210.0));
+        assertEquals(3.0, meterRegistry.get("billing.orders.journal.unflushed").gauge().value());
+
+        // Act
+        int processed = service.flush();
+
+        // Assert
+        assertEquals(3, processed);
+        assertEquals(2, orderEntityRepository.count());
+        assertEquals(1, deadLetterCount(directory));
+        assertEquals(1.0, meterRegistry.get("billing.orders.journal.quarantined").gauge().value());
+        assertEquals(0.0, meterRegistry.get("billing.orders.journal.unflushed").gauge().value());
+        assertEquals(0, newService(directory).flush());
+    }
+
+    private OrderJournalServiceImpl newService(Path journalDirectory) throws IOException {
+        return newService(journalDirectory, new SimpleMeterRegistry());
+    }
+
+    private OrderJournalServiceImpl newService(Path journalDirectory, MeterRegistry meterRegistry) throws IOException {
+        return new OrderJournalServiceImpl(new ObjectMapper().findAndRegisterModules(), orderBatchJdbcRepository,
+                dailySalesRollupService, salesAnalyticsService, dashboardStreamService, new OrderIdGenerator(0), transactionManager,
+                meterRegistry, journalDirectory.toString(), JOURNAL_SEGMENT_SIZE, false, 200, 500);
+    }
+
+    private static long deadLetterCount(Path journalDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory.resolve("dead-letter"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".json")).count();
+        }
+    }
+
+    private static OrderEntity order(double grandTotal) {
+        return OrderEntity.builder()
+                .customerName("Kunal Pawar")
+                .phoneNumber("9876543210")
+                .subtotal(grandTotal / 1.05)
+                .tax(grandTotal - grandTotal / 1.05)
+                .grandTotal(grandTotal)
+                .createdAt(CREATED_AT)
+                .paymentMethod(PaymentMethod.CASH)
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.COMPLETED).build())
+                .items(List.of(
+                        OrderItemEntity.builder().itemId("item-1").name("Tea").price(10.0).quantity(2).build(),
+                        OrderItemEntity.builder().itemId("item-2").name("Samosa").price(15.0).quantity(1).build()))
+                .build();
+    }
+
+    private static void copyJournal(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.OrderFilterRequest;
+import com.kunal.billingSoftware.io.OrderHistoryResponse;
+import com.kunal.billingSoftware.io.OrderResponse;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.PricingService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(OrderServiceImpl.class)
+class OrderServiceImplQueryCountTest {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private DailySalesRollupService dailySalesRollupService;
+
+    @MockitoBean
+    private DashboardStreamService dashboardStreamService;
+
+    @MockitoBean
+    private PricingService pricingService;
+
+    @MockitoBean
+    private SalesAnalyticsService salesAnalyticsService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void testGetLatestOrders_ShouldFetchItemsInTheListQuery_RegardlessOfOrderCount() {
+        persistOrders(3);
+        long withFewOrders = statementsFor(() -> orderService.getLatestOrders(), 3);
+        persistOrders(27);
+        long withManyOrders = statementsFor(() -> orderService.getLatestOrders(), 30);
+
+        assertEquals(1, withFewOrders);
+        assertEquals(1, withManyOrders);
+    }
+
+    @Test
+    void testGetFilteredOrder_ShouldFetchItemsInTheListQuery() {
+        persistOrders(20);
+        OrderFilterRequest filter = new OrderFilterRequest(null, PaymentMethod.CASH);
+
+        assertEquals(1, statementsFor(() -> orderService.getFilteredOrder(filter), 20));
+    }
+
+    @Test
+    void testFindRecentOrders_ShouldLoadItemsOfThePageInOneBatch() {
+        persistOrders(20);
+
+        assertEquals(2, statementsFor(() -> orderService.findRecentOrders(), 5)); // orders page + one item batch
+    }
+
+    @Test
+    void testGetOrderHistory_ShouldLoadItemsOfTheLargestPageInOneBatch() {
+        persistOrders(OrderServiceImpl.MAX_HISTORY_PAGE_SIZE + 10);
+
+        statistics.clear();
+        OrderHistoryResponse page = orderService.getOrderHistory(null, OrderServiceImpl.MAX_HISTORY_PAGE_SIZE);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(OrderServiceImpl.MAX_HISTORY_PAGE_SIZE, page.getOrders().size());
+        page.getOrders().forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(2, statements);
+    }
+
+    private long statementsFor(Supplier<List<OrderResponse>> read, int expectedOrders) {
+        statistics.clear();
+        List<OrderResponse> orders = read.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedOrders, orders.size());
+        orders.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        return statements;
+    }
+
+    private void persistOrders(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int o = 0; o < count; o++) {
+            List<OrderItemEntity> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                items.add(OrderItemEntity.builder()
+                        .itemId("item-" + i)
+                        .name("Item " + i)
+                        .price(10.0)
+                        .quantity(1)
+                        .build());
+            }
+            entityManager.persist(OrderEntity.builder()
+                    .customerName("Customer " + o)
+                    .grandTotal(30.0)
+                    .paymentMethod(PaymentMethod.CASH)
+                    .createdAt(now.minusMinutes(o))
+                    .items(items)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -4,15 +4,24 @@ import com.kunal.billingSoftware.entity.OrderEntity;
 import com.kunal.billingSoftware.entity.OrderItemEntity;
 import com.kunal.billingSoftware.io.*;
 import com.kunal.billingSoftware.repository.OrderEntityRepository;
-import com.stripe.model.PaymentIntent;
+import com.kunal.billingSoftware.service.DailySalesRollupService;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.service.OrderJournalService;
+import com.kunal.billingSoftware.service.PricingService;
+import com.kunal.billingSoftware.service.SalesAnalyticsService;
+import com.kunal.billingSoftware.util.OrderCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.awt.print.Pageable;
 import java.time.LocalDate;
@@ -35,13 +44,33 @@ class OrderServiceImplTest {
     @Mock
     private OrderEntityRepository orderEntityRepository;
 
+    @Mock
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Mock
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private ObjectProvider<OrderJournalService> orderJournalProvider;
+
+    @Mock
+    private OrderJournalService orderJournalService;
+
     private PaymentVerificationRequest paymentVerificationRequest;
     private OrderServiceImpl orderService;
     private OrderRequest.OrderItemRequest itemRequest;
 
     @BeforeEach
     void setup() {
-        orderService = new OrderServiceImpl(orderEntityRepository);
+        orderService = new OrderServiceImpl(orderEntityRepository, dailySalesRollupService, salesAnalyticsService,
+                dashboardStreamService, pricingService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), orderJournalProvider);
 
         order = OrderEntity.builder()
                 .orderId("order-123")
@@ -75,6 +104,7 @@ class OrderServiceImplTest {
     @Test
     void testCreateOrder_WhenPaymentMethodIsCash_ShouldSetPaymentStatusCompleted() {
         // Arrange
+        when(pricingService.quote(anyList())).thenReturn(quoteFor(itemRequest));
         when(orderEntityRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -97,6 +127,78 @@ class OrderServiceImplTest {
 
         // Verify repository interaction
         verify(orderEntityRepository, times(1)).save(any(OrderEntity.class));
+        verify(dailySalesRollupService, times(1)).recordOrder(any(OrderEntity.class));
+        verify(salesAnalyticsService, times(1)).recordOrder(any(OrderEntity.class));
+        verify(dashboardStreamService, times(1)).markChanged();
+    }
+
+    @Test
+    void testCreateOrder_ShouldBillCatalogPrices_WhenClientSendsOtherAmounts() {
+        // Arrange
+        itemRequest.setPrice(1.0);
+        request.setSubtotal(2.0);
+        request.setTax(0.1);
+        request.setGrandTotal(2.1);
+        when(pricingService.quote(anyList())).thenReturn(quoteFor(itemRequest));
+        when(orderEntityRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OrderResponse response = orderService.createOrder(request);
+
+        // Assert
+        assertEquals(100.0, response.getSubtotal());
+        assertEquals(10.0, response.getTax());
+        assertEquals(110.0, response.getGrandTotal());
+        assertEquals(50.0, response.getItems().get(0).getPrice());
+        verify(pricingService).quote(List.of(new QuoteRequest.QuoteItemRequest("item-123", 2)));
+    }
+
+    @Test
+    void testCreateOrder_ShouldJournalCashOrder_WithoutTouchingTheDatabase_WhenJournalEnabled() {
+        // Arrange
+        when(orderJournalProvider.getIfAvailable()).thenReturn(orderJournalService);
+        when(pricingService.quote(anyList())).thenReturn(quoteFor(itemRequest));
+
+        // Act
+        OrderResponse response = orderService.createOrder(request);
+
+        // Assert
+        assertEquals(110.0, response.getGrandTotal());
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, response.getPaymentDetails().getStatus());
+        verify(orderJournalService, times(1)).append(any(OrderEntity.class));
+        verifyNoInteractions(orderEntityRepository, dailySalesRollupService, salesAnalyticsService, dashboardStreamService);
+    }
+
+    @Test
+    void testCreateOrder_ShouldWriteUpiOrderThrough_WhenJournalEnabled() {
+        // Arrange
+        request.setPaymentMethod("UPI");
+        when(orderJournalProvider.getIfAvailable()).thenReturn(orderJournalService);
+        when(pricingService.quote(anyList())).thenReturn(quoteFor(itemRequest));
+        when(orderEntityRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderService.createOrder(request);
+
+        // Assert
+        verify(orderEntityRepository, times(1)).save(any(OrderEntity.class));
+        verify(orderJournalService, never()).append(any());
+    }
+
+    private static QuoteResponse quoteFor(OrderRequest.OrderItemRequest cartItem) {
+        return QuoteResponse.builder()
+                .catalogVersion("\"v1\"")
+                .items(List.of(QuoteResponse.QuoteItemResponse.builder()
+                        .itemId(cartItem.getItemId())
+                        .name("Demo Item")
+                        .price(50.0)
+                        .quantity(cartItem.getQuantity())
+                        .lineTotal(50.0 * cartItem.getQuantity())
+                        .build()))
+                .subtotal(100.0)
+                .tax(10.0)
+                .grandTotal(110.0)
+                .build();
     }
 
     @Test
@@ -109,6 +211,9 @@ class OrderServiceImplTest {
 
         // Verify
         verify(orderEntityRepository, times(1)).findByOrderId(anyString());
+        verify(dailySalesRollupService, times(1)).reverseOrder(order);
+        verify(salesAnalyticsService, times(1)).reverseOrder(order);
+        verify(dashboardStreamService, times(1)).markChanged();
         verify(orderEntityRepository, times(1)).delete(order);
     }
 
@@ -125,6 +230,7 @@ class OrderServiceImplTest {
         assertEquals("Order not found with id: " + missingId, exception.getMessage());
 
         verify(orderEntityRepository, times(1)).findByOrderId(missingId);
+        verify(dailySalesRollupService, never()).reverseOrder(any());
         verify(orderEntityRepository, never()).delete(order);
     }
 
@@ -160,6 +266,85 @@ class OrderServiceImplTest {
         verify(orderEntityRepository, times(1)).findAllByOrderByCreatedAtDesc();
     }
 
+    @Test
+    void testGetOrderHistory_ShouldReturnNextCursor_WhenMoreOrdersExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        OrderEntity newer = OrderEntity.builder()
+                .id(2L)
+                .orderId("order-2")
+                .createdAt(now)
+                .paymentDetails(new PaymentDetails())
+                .items(new ArrayList<>())
+                .build();
+        OrderEntity older = OrderEntity.builder()
+                .id(1L)
+                .orderId("order-1")
+                .createdAt(now.minusMinutes(1))
+                .paymentDetails(new PaymentDetails())
+                .items(new ArrayList<>())
+                .build();
+
+        when(orderEntityRepository.findHistoryFirstPage(PageRequest.of(0, 2)))
+                .thenReturn(List.of(newer, older));
+
+        // Act
+        OrderHistoryResponse response = orderService.getOrderHistory(null, 1);
+
+        // Assert
+        assertEquals(1, response.getOrders().size());
+        assertEquals("order-2", response.getOrders().get(0).getOrderId());
+        assertTrue(response.getHasMore());
+        assertNotNull(response.getNextCursor());
+
+        OrderCursor cursor = OrderCursor.decode(response.getNextCursor());
+        assertEquals(now, cursor.createdAt());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void testGetOrderHistory_ShouldSeekPastCursor_WhenCursorIsGiven() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 10, 10, 0);
+        String cursor = new OrderCursor(createdAt, 42L).encode();
+
+        when(orderEntityRepository.findHistoryPageAfter(createdAt, 42L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(OrderEntity.builder()
+                        .id(41L)
+                        .orderId("order-41")
+                        .createdAt(createdAt.minusMinutes(5))
+                        .paymentDetails(new PaymentDetails())
+                        .items(new ArrayList<>())
+                        .build()));
+
+        // Act
+        OrderHistoryResponse response = orderService.getOrderHistory(cursor, null);
+
+        // Assert
+        assertEquals(1, response.getOrders().size());
+        assertFalse(response.getHasMore());
+        assertNull(response.getNextCursor());
+
+        verify(orderEntityRepository, never()).findHistoryFirstPage(any());
+    }
+
+    @Test
+    void testGetOrderHistory_ShouldCapPageSize_WhenSizeIsTooLarge() {
+        when(orderEntityRepository.findHistoryFirstPage(any())).thenReturn(Collections.emptyList());
+
+        orderService.getOrderHistory(null, 10_000);
+
+        verify(orderEntityRepository).findHistoryFirstPage(PageRequest.of(0, OrderServiceImpl.MAX_HISTORY_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetOrderHistory_ShouldThrowBadRequest_WhenCursorIsMalformed() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> orderService.getOrderHistory("not-a-cursor", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
     @Test
     void testGetFilteredOrder_ShouldReturnFilteredOrders_WhenCriteriaMatch() {
         // Arrange
@@ -203,7 +388,35 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void testVerifyPayment_ShouldReturnSavedOrder_WhenPaymentIsSuccessful() throws Exception {
+    void testGetOrder_ShouldReturnStoredGrandTotal_WhenOrderIdExists() {
+        // Arrange
+        OrderEntity existingOrder = OrderEntity.builder()
+                .orderId("order-123")
+                .grandTotal(105.0)
+                .items(new ArrayList<>())
+                .build();
+        when(orderEntityRepository.findByOrderId("order-123")).thenReturn(Optional.of(existingOrder));
+
+        // Act
+        OrderResponse response = orderService.getOrder("order-123");
+
+        // Assert
+        assertEquals("order-123", response.getOrderId());
+        assertEquals(105.0, response.getGrandTotal());
+    }
+
+    @Test
+    void testGetOrder_ShouldThrowResourceNotFound_WhenOrderIdDoesNotExist() {
+        // Arrange
+        when(orderEntityRepository.findByOrderId("missing-order-id")).thenReturn(Optional.empty());
+
+        // Act + Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.getOrder("missing-order-id"));
+        assertEquals("Order not found with id: missing-order-id", exception.getMessage());
+    }
+
+    @Test
+    void testVerifyPayment_ShouldReturnRecordedStatus_WithoutCallingStripe() {
         // Arrange
         PaymentVerificationRequest request = new PaymentVerificationRequest(
                 "pi_123",  // paymentIntentId
@@ -211,7 +424,12 @@ class OrderServiceImplTest {
                 "order-123" // orderId
         );
 
-        PaymentDetails paymentDetails = new PaymentDetails();
+        // Already updated by the payment_intent.succeeded webhook
+        PaymentDetails paymentDetails = PaymentDetails.builder()
+                .stripePaymentIntentId("pi_123")
+                .stripePaymentMethodId("pm_123")
+                .status(PaymentDetails.PaymentStatus.COMPLETED)
+                .build();
         OrderEntity existingOrder = OrderEntity.builder()
                 .orderId("order-123")
                 .paymentDetails(paymentDetails)
@@ -221,32 +439,35 @@ class OrderServiceImplTest {
         when(orderEntityRepository.findByOrderId("order-123"))
                 .thenReturn(Optional.of(existingOrder));
 
-        // Mock static Stripe PaymentIntent call
-        try (MockedStatic<PaymentIntent> mockedStripe = mockStatic(PaymentIntent.class)) {
-            PaymentIntent mockPaymentIntent = mock(PaymentIntent.class);
-            when(mockPaymentIntent.getStatus()).thenReturn("succeeded");
-            when(mockPaymentIntent.getId()).thenReturn("pi_123");
+        // Act
+        OrderResponse response = orderService.verifyPayment(request);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals("order-123", response.getOrderId());
+        assertEquals(PaymentDetails.PaymentStatus.COMPLETED, response.getPaymentDetails().getStatus());
+        assertEquals("pi_123", response.getPaymentDetails().getStripePaymentIntentId());
+        assertEquals("pm_123", response.getPaymentDetails().getStripePaymentMethodId());
 
-            mockedStripe.when(() -> PaymentIntent.retrieve("pi_123"))
-                    .thenReturn(mockPaymentIntent);
+        // Verify repository calls
+        verify(orderEntityRepository, times(1)).findByOrderId("order-123");
+        verify(orderEntityRepository, never()).save(any(OrderEntity.class));
+    }
 
-            when(orderEntityRepository.save(any(OrderEntity.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void testVerifyPayment_ShouldReportPending_WhenWebhookHasNotArrivedYet() {
+        PaymentVerificationRequest request = new PaymentVerificationRequest("pi_123", "pm_123", "order-123");
+        OrderEntity pendingOrder = OrderEntity.builder()
+                .orderId("order-123")
+                .paymentDetails(PaymentDetails.builder().status(PaymentDetails.PaymentStatus.PENDING).build())
+                .items(new ArrayList<>())
+                .build();
 
-            // Act
-            OrderResponse response = orderService.verifyPayment(request);
+        when(orderEntityRepository.findByOrderId("order-123")).thenReturn(Optional.of(pendingOrder));
 
-            // Assert
-            assertNotNull(response);
-            assertEquals("order-123", response.getOrderId());
-            assertEquals(PaymentDetails.PaymentStatus.COMPLETED, response.getPaymentDetails().getStatus());
-            assertEquals("pi_123", response.getPaymentDetails().getStripePaymentIntentId());
-            assertEquals("pm_123", response.getPaymentDetails().getStripePaymentMethodId());
+        OrderResponse response = orderService.verifyPayment(request);
 
-            // Verify repository calls
-            verify(orderEntityRepository, times(1)).findByOrderId("order-123");
-            verify(orderEntityRepository, times(1)).save(any(OrderEntity.class));
-        }
+        assertEquals(PaymentDetails.PaymentStatus.PENDING, response.getPaymentDetails().getStatus());
     }
 
     @Test
@@ -254,7 +475,7 @@ class OrderServiceImplTest {
         // Arrange
         LocalDate date = LocalDate.now();
         Double sumSalesValue = 10.00;
-        when(orderEntityRepository.sumSalesByDate(date)).thenReturn(sumSalesValue);
+        when(dailySalesRollupService.getTotalSales(date)).thenReturn(sumSalesValue);
 
         // Act
         var response = orderService.sumSalesByDate(date);
@@ -264,43 +485,43 @@ class OrderServiceImplTest {
         assertEquals(sumSalesValue, response);
 
         // Verify
-        verify(orderEntityRepository, times(1)).sumSalesByDate(date);
+        verify(dailySalesRollupService, times(1)).getTotalSales(date);
     }
 
     @Test
     void testSumSalesByDate_ShouldReturnZero_WhenNoSalesExist() {
         LocalDate date = LocalDate.now();
-        when(orderEntityRepository.sumSalesByDate(date)).thenReturn(null);
+        when(dailySalesRollupService.getTotalSales(date)).thenReturn(null);
 
         Double response = orderService.sumSalesByDate(date);
 
         assertNull(response);
-        verify(orderEntityRepository, times(1)).sumSalesByDate(date);
+        verify(dailySalesRollupService, times(1)).getTotalSales(date);
     }
 
     @Test
     void testCountOrderByDate_ShouldReturnCount_WhenOrdersExistAtGivenDate() {
         LocalDate date = LocalDate.now();
         Long countOrder = 10L;
-        when(orderEntityRepository.countByOrderDate(date)).thenReturn(countOrder);
+        when(dailySalesRollupService.getOrderCount(date)).thenReturn(countOrder);
 
         var response = orderService.countByOrderDate(date);
 
         assertNotNull(response);
         assertEquals(countOrder, response);
 
-        verify(orderEntityRepository, times(1)).countByOrderDate(date);
+        verify(dailySalesRollupService, times(1)).getOrderCount(date);
     }
 
     @Test
     void testCountOrderByDate_ShouldReturnZero_WhenOrdersDoNotExist() {
         LocalDate date = LocalDate.now();
-        when(orderEntityRepository.countByOrderDate(date)).thenReturn(null);
+        when(dailySalesRollupService.getOrderCount(date)).thenReturn(null);
 
         Long response = orderService.countByOrderDate(date);
 
         assertNull(response);
-        verify(orderEntityRepository, times(1)).countByOrderDate(date);
+        verify(dailySalesRollupService, times(1)).getOrderCount(date);
     }
 
     @Test
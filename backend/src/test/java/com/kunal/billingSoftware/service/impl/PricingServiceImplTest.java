@@ -0,0 +1,92 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.QuoteRequest;
+import com.kunal.billingSoftware.io.QuoteResponse;
+import com.kunal.billingSoftware.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceImplTest {
+
+    @Mock
+    private ItemService itemService;
+
+    private PricingServiceImpl pricingService;
+
+    @BeforeEach
+    void setup() {
+        pricingService = new PricingServiceImpl(itemService, new BigDecimal("0.05"));
+        when(itemService.getCatalogSnapshot()).thenReturn(new CatalogSnapshotCache(new ObjectMapper()).rebuild(() -> List.of(
+                item("item-tea", "Tea", "12.50"),
+                item("item-cake", "Cake", "99.99"))));
+    }
+
+    @Test
+    void testQuote_ShouldPriceLinesFromCatalog_AndRoundTaxToPaise() {
+        // Act
+        QuoteResponse quote = pricingService.quote(List.of(
+                new QuoteRequest.QuoteItemRequest("item-tea", 3),
+                new QuoteRequest.QuoteItemRequest("item-cake", 1)));
+
+        // Assert
+        assertEquals(2, quote.getItems().size());
+        assertEquals("Tea", quote.getItems().get(0).getName());
+        assertEquals(12.5, quote.getItems().get(0).getPrice());
+        assertEquals(37.5, quote.getItems().get(0).getLineTotal());
+        assertEquals(137.49, quote.getSubtotal());
+        assertEquals(6.87, quote.getTax()); // 6.8745
+        assertEquals(144.36, quote.getGrandTotal());
+        assertNotNull(quote.getCatalogVersion());
+    }
+
+    @Test
+    void testQuote_ShouldRejectUnknownItem() {
+        // Act
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> pricingService.quote(List.of(new QuoteRequest.QuoteItemRequest("item-gone", 1))));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("Unknown item: item-gone", ex.getReason());
+    }
+
+    @Test
+    void testQuote_ShouldReadCatalogOnce_ForLargeCart() {
+        // Arrange
+        List<QuoteRequest.QuoteItemRequest> cart = IntStream.range(0, 200)
+                .mapToObj(i -> new QuoteRequest.QuoteItemRequest(i % 2 == 0 ? "item-tea" : "item-cake", 1))
+                .toList();
+
+        // Act
+        QuoteResponse quote = pricingService.quote(cart);
+
+        // Assert
+        assertEquals(200, quote.getItems().size());
+        assertEquals(11249.0, quote.getSubtotal()); // 100 x 12.50 + 100 x 99.99
+        verify(itemService, times(1)).getCatalogSnapshot();
+    }
+
+    private static ItemResponse item(String itemId, String name, String price) {
+        return ItemResponse.builder()
+                .itemId(itemId)
+                .name(name)
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
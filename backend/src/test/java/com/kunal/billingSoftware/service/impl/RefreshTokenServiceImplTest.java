@@ -0,0 +1,92 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.RefreshTokenEntity;
+import com.kunal.billingSoftware.repository.RefreshTokenRepository;
+import com.kunal.billingSoftware.util.JwtUtil;
+import com.kunal.billingSoftware.util.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long!!!!";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofMinutes(15), Duration.ofDays(7));
+    private final UserDetails cashier = new User("cashier@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setup() {
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, jwtUtil);
+    }
+
+    @Test
+    void testIssue_ShouldStoreTokenIdCarriedByTheToken() {
+        // Act
+        String token = refreshTokenService.issue(cashier);
+
+        // Assert
+        ArgumentCaptor<RefreshTokenEntity> stored = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+        verify(refreshTokenRepository).save(stored.capture());
+        TokenClaims claims = jwtUtil.parseToken(token);
+        assertTrue(claims.refreshToken());
+        assertEquals(claims.tokenId(), stored.getValue().getTokenId());
+        assertEquals("cashier@example.com", stored.getValue().getEmail());
+        assertTrue(stored.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusDays(6)));
+        verify(refreshTokenRepository).deleteExpired(eq("cashier@example.com"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRedeem_ShouldReturnSubject_WhenStoredTokenIsDeleted() {
+        String token = jwtUtil.generateRefreshToken(cashier, "token-1");
+        when(refreshTokenRepository.deleteActive(eq("token-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals("cashier@example.com", refreshTokenService.redeem(token));
+    }
+
+    @Test
+    void testRedeem_ShouldReturnUnauthorized_WhenTokenWasAlreadyUsedOrRevoked() {
+        String token = jwtUtil.generateRefreshToken(cashier, "token-1");
+        when(refreshTokenRepository.deleteActive(eq("token-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> refreshTokenService.redeem(token));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+    }
+
+    @Test
+    void testRedeem_ShouldReturnUnauthorized_WhenTokenIsAnAccessToken() {
+        String accessToken = jwtUtil.generateToken(cashier);
+
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.redeem(accessToken));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void testRevokeAll_ShouldDeleteEveryTokenOfTheUser() {
+        refreshTokenService.revokeAll("cashier@example.com");
+
+        verify(refreshTokenRepository).deleteByEmail("cashier@example.com");
+    }
+}
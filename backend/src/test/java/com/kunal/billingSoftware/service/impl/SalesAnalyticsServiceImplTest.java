@@ -0,0 +1,153 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.cache.CatalogSnapshotCache;
+import com.kunal.billingSoftware.entity.OrderEntity;
+import com.kunal.billingSoftware.entity.OrderItemEntity;
+import com.kunal.billingSoftware.io.ItemResponse;
+import com.kunal.billingSoftware.io.PaymentMethod;
+import com.kunal.billingSoftware.io.SalesMetric;
+import com.kunal.billingSoftware.io.SalesPeriod;
+import com.kunal.billingSoftware.io.SalesPeriodResponse;
+import com.kunal.billingSoftware.io.TopItemResponse;
+import com.kunal.billingSoftware.projection.OrderExportRow;
+import com.kunal.billingSoftware.repository.OrderExportJdbcRepository;
+import com.kunal.billingSoftware.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 18);
+
+    @Mock
+    private OrderExportJdbcRepository orderExportJdbcRepository;
+
+    @Mock
+    private ItemService itemService;
+
+    private SalesAnalyticsServiceImpl salesAnalyticsService;
+
+    @BeforeEach
+    void setup() {
+        salesAnalyticsService = new SalesAnalyticsServiceImpl(orderExportJdbcRepository, itemService);
+        when(itemService.getCatalogSnapshot()).thenReturn(new CatalogSnapshotCache(new ObjectMapper()).rebuild(() -> List.of(
+                item("item-tea", "Tea", "cat-drinks", "Drinks"),
+                item("item-samosa", "Samosa", "cat-snacks", "Snacks"))));
+    }
+
+    @Test
+    void testStart_ShouldLoadOrderHistoryIntoTheCube() {
+        // Arrange: two orders, the first with two items, the second with an item no longer in the catalog
+        LocalDateTime morning = DAY.atTime(9, 15);
+        doAnswer(invocation -> {
+            Consumer<OrderExportRow> consumer = invocation.getArgument(2);
+            consumer.accept(row(1L, morning, "CASH", "item-tea", "Tea", 10.0, 2));
+            consumer.accept(row(1L, morning, "CASH", "item-samosa", "Samosa", 15.0, 1));
+            consumer.accept(row(2L, morning.plusHours(1), "UPI", "item-gone", "Old Cake", 50.0, 1));
+            return null;
+        }).when(orderExportJdbcRepository).streamOrderRows(any(), any(), any());
+
+        // Act
+        salesAnalyticsService.start();
+
+        // Assert
+        List<SalesPeriodResponse> revenue = salesAnalyticsService.getRevenue(SalesPeriod.DAY, DAY, DAY, null, null);
+        assertTrue(salesAnalyticsService.isRunning());
+        assertEquals(1, revenue.size());
+        assertEquals(85.0, revenue.get(0).getRevenue());
+        assertEquals(2L, revenue.get(0).getOrders());
+
+        List<TopItemResponse> topItems = salesAnalyticsService.getTopItems(DAY, DAY, 10, SalesMetric.REVENUE, null, null);
+        assertEquals("item-gone", topItems.get(0).getItemId());
+        assertNull(topItems.get(0).getCategoryId());
+        assertEquals("Drinks", topItems.get(1).getCategoryName());
+    }
+
+    @Test
+    void testRecordOrder_ShouldFileItemsUnderTheirCatalogCategory() {
+        // Act
+        salesAnalyticsService.recordOrder(order(PaymentMethod.CASH, 3));
+
+        // Assert
+        List<SalesPeriodResponse> drinks = salesAnalyticsService.getRevenue(SalesPeriod.DAY, DAY, DAY, "cat-drinks", null);
+        assertEquals(30.0, drinks.get(0).getRevenue());
+        assertEquals(3L, drinks.get(0).getQuantity());
+        assertNull(drinks.get(0).getOrders());
+    }
+
+    @Test
+    void testRecordOrder_ShouldWaitForCommit_WhenCalledInsideATransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            salesAnalyticsService.recordOrder(order(PaymentMethod.UPI, 1));
+            double beforeCommit = salesAnalyticsService.getRevenue(SalesPeriod.DAY, DAY, DAY, null, null).get(0).getRevenue();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertEquals(0.0, beforeCommit);
+            assertEquals(10.0, salesAnalyticsService.getRevenue(SalesPeriod.DAY, DAY, DAY, null, null).get(0).getRevenue());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReverseOrder_ShouldRemoveADeletedOrder() {
+        // Arrange
+        OrderEntity order = order(PaymentMethod.CASH, 2);
+        salesAnalyticsService.recordOrder(order);
+
+        // Act
+        salesAnalyticsService.reverseOrder(order);
+
+        // Assert
+        SalesPeriodResponse day = salesAnalyticsService.getRevenue(SalesPeriod.DAY, DAY, DAY, null, null).get(0);
+        assertEquals(0.0, day.getRevenue());
+        assertEquals(0L, day.getOrders());
+        assertTrue(salesAnalyticsService.getTopItems(DAY, DAY, 10, SalesMetric.QUANTITY, null, null).isEmpty());
+    }
+
+    private static OrderEntity order(PaymentMethod paymentMethod, int teas) {
+        return OrderEntity.builder()
+                .orderId("ORD-ANALYTICS")
+                .grandTotal(10.0 * teas)
+                .createdAt(DAY.atTime(12, 0))
+                .paymentMethod(paymentMethod)
+                .items(List.of(OrderItemEntity.builder().itemId("item-tea").name("Tea").price(10.0).quantity(teas).build()))
+                .build();
+    }
+
+    private static OrderExportRow row(long id, LocalDateTime createdAt, String paymentMethod,
+                                      String itemId, String name, double price, int quantity) {
+        return new OrderExportRow(id, "ORD-" + id, "Customer", null, null, null, null, createdAt, paymentMethod,
+                null, null, itemId, name, price, quantity);
+    }
+
+    private static ItemResponse item(String itemId, String name, String categoryId, String categoryName) {
+        return ItemResponse.builder()
+                .itemId(itemId)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .categoryId(categoryId)
+                .categoryName(categoryName)
+                .build();
+    }
+}
@@ -1,12 +1,17 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -15,10 +20,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class StripeServiceImplTest {
     private StripeServiceImpl stripeService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        stripeService = new StripeServiceImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        stripeService = new StripeServiceImpl(meterRegistry, 100, 2000, "");
     }
 
     @Test
@@ -36,7 +43,7 @@ class StripeServiceImplTest {
                     .thenReturn(sessionMock);
 
             // Act
-            var response = stripeService.createCheckoutSession(amount, currency);
+            var response = stripeService.createCheckoutSession(amount, currency, "ORD0000000000000000042");
 
             // Assert
             assertNotNull(response);
@@ -45,7 +52,56 @@ class StripeServiceImplTest {
 
             // Verify
             sessionMockedStatic.verify(() -> Session.create(any(SessionCreateParams.class)), times(1));
+            assertEquals(1, stripeTimer("success", "none").count());
         }
     }
 
+    @Test
+    void testCreateCheckoutSession_ShouldRecordFailedStripeCall_ByException() {
+        // Arrange
+        try (MockedStatic<Session> sessionMockedStatic = mockStatic(Session.class)) {
+            sessionMockedStatic.when(() -> Session.create(any(SessionCreateParams.class)))
+                    .thenThrow(new ApiConnectionException("Stripe unreachable"));
+
+            // Act
+            assertThrows(ApiConnectionException.class,
+                    () -> stripeService.createCheckoutSession(100.0, "INR", "ORD0000000000000000042"));
+
+            // Assert
+            assertEquals(1, stripeTimer("error", "ApiConnectionException").count());
+        }
+    }
+
+    @Test
+    void testCreateCheckoutSession_ShouldReturn503_WhenStripeConcurrencyLimitIsReached() throws Exception {
+        // Arrange
+        StripeServiceImpl limitedService = new StripeServiceImpl(meterRegistry, 1, 0, "");
+        Session sessionMock = mock(Session.class);
+
+        try (MockedStatic<Session> sessionMockedStatic = mockStatic(Session.class)) {
+            // A second checkout while the only permit is held by the call in progress
+            sessionMockedStatic.when(() -> Session.create(any(SessionCreateParams.class))).thenAnswer(invocation -> {
+                ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                        () -> limitedService.createCheckoutSession(100.0, "INR", "ORD0000000000000000043"));
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+                return sessionMock;
+            });
+
+            // Act
+            limitedService.createCheckoutSession(100.0, "INR", "ORD0000000000000000042");
+            limitedService.createCheckoutSession(100.0, "INR", "ORD0000000000000000044");
+
+            // Assert
+            sessionMockedStatic.verify(() -> Session.create(any(SessionCreateParams.class)), times(2));
+        }
+    }
+
+    private Timer stripeTimer(String outcome, String exception) {
+        return meterRegistry.get("billing.stripe.requests")
+                .tag("operation", "checkout.sessions.create")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kunal.billingSoftware.io.PaymentDetails;
+import com.kunal.billingSoftware.repository.OrderEntityRepository;
+import com.kunal.billingSoftware.service.DashboardStreamService;
+import com.kunal.billingSoftware.util.StripeWebhookStub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripeWebhookServiceImplTest {
+
+    private static final String SECRET = "whsec_test_secret";
+
+    @Mock
+    private OrderEntityRepository orderEntityRepository;
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final StripeWebhookStub stripe = new StripeWebhookStub(SECRET);
+    private StripeWebhookServiceImpl webhookService;
+
+    @BeforeEach
+    void setup() {
+        webhookService = new StripeWebhookServiceImpl(orderEntityRepository, dashboardStreamService, new ObjectMapper(),
+                transactionManager, SECRET, 300);
+    }
+
+    @Test
+    void testHandleEvent_ShouldCompletePayment_WhenPaymentSucceeded() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD1", "pi_123", "pm_123");
+        when(orderEntityRepository.updatePaymentStatus("ORD1", PaymentDetails.PaymentStatus.COMPLETED, "pi_123", "pm_123"))
+                .thenReturn(1);
+
+        // Act
+        webhookService.handleEvent(payload, stripe.sign(payload));
+
+        // Assert
+        verify(orderEntityRepository, times(1))
+                .updatePaymentStatus("ORD1", PaymentDetails.PaymentStatus.COMPLETED, "pi_123", "pm_123");
+        verify(dashboardStreamService, times(1)).markChanged();
+    }
+
+    @Test
+    void testHandleEvent_ShouldFailPayment_WhenPaymentFailed() {
+        String payload = stripe.paymentIntentEvent("payment_intent.payment_failed", "ORD1", "pi_123", "pm_123");
+        when(orderEntityRepository.updatePaymentStatus("ORD1", PaymentDetails.PaymentStatus.FAILED, "pi_123", "pm_123"))
+                .thenReturn(1);
+
+        webhookService.handleEvent(payload, stripe.sign(payload));
+
+        verify(orderEntityRepository, times(1))
+                .updatePaymentStatus("ORD1", PaymentDetails.PaymentStatus.FAILED, "pi_123", "pm_123");
+    }
+
+    @Test
+    void testHandleEvent_ShouldReject_WhenSignatureDoesNotMatch() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD1", "pi_123", "pm_123");
+        String forged = new StripeWebhookStub("whsec_someone_else").sign(payload);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> webhookService.handleEvent(payload, forged));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(orderEntityRepository);
+    }
+
+    @Test
+    void testHandleEvent_ShouldReject_WhenPayloadWasAlteredAfterSigning() {
+        String payload = stripe.paymentIntentEvent("payment_intent.payment_failed", "ORD1", "pi_123", "pm_123");
+        String signature = stripe.sign(payload);
+        String altered = payload.replace("payment_intent.payment_failed", "payment_intent.succeeded");
+
+        assertThrows(ResponseStatusException.class, () -> webhookService.handleEvent(altered, signature));
+        verifyNoInteractions(orderEntityRepository);
+    }
+
+    @Test
+    void testHandleEvent_ShouldReject_WhenSignatureIsTooOld() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD1", "pi_123", "pm_123");
+        String replayed = stripe.sign(payload, Instant.now().minusSeconds(3600).getEpochSecond());
+
+        assertThrows(ResponseStatusException.class, () -> webhookService.handleEvent(payload, replayed));
+        verifyNoInteractions(orderEntityRepository);
+    }
+
+    @Test
+    void testHandleEvent_ShouldReject_WhenSignatureHeaderMissing() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD1", "pi_123", "pm_123");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> webhookService.handleEvent(payload, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void testHandleEvent_ShouldIgnore_WhenEventTypeIsNotHandled() {
+        String payload = stripe.paymentIntentEvent("payment_intent.created", "ORD1", "pi_123", "pm_123");
+
+        webhookService.handleEvent(payload, stripe.sign(payload));
+
+        verifyNoInteractions(orderEntityRepository);
+    }
+
+    @Test
+    void testHandleEvent_ShouldIgnore_WhenPaymentIntentHasNoOrderId() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", null, "pi_123", "pm_123");
+
+        webhookService.handleEvent(payload, stripe.sign(payload));
+
+        verifyNoInteractions(orderEntityRepository);
+    }
+
+    @Test
+    void testHandleEvent_ShouldAskStripeToRetry_WhenUpdateFails() {
+        String payload = stripe.paymentIntentEvent("payment_intent.succeeded", "ORD1", "pi_123", "pm_123");
+        when(orderEntityRepository.updatePaymentStatus(anyString(), any(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("database down"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> webhookService.handleEvent(payload, stripe.sign(payload)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        verifyNoInteractions(dashboardStreamService);
+    }
+}
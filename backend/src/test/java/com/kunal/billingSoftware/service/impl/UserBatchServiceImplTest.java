@@ -0,0 +1,169 @@
+package com.kunal.billingSoftware.service.impl;
+
+import com.kunal.billingSoftware.entity.UserEntity;
+import com.kunal.billingSoftware.io.UserBatchResponse;
+import com.kunal.billingSoftware.io.UserRequest;
+import com.kunal.billingSoftware.repository.UserBatchJdbcRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceImplTest {
+
+    @Mock
+    private UserBatchJdbcRepository userBatchJdbcRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    // Lowest cost factor, so the tests do not spend their time hashing
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private UserBatchServiceImpl userBatchService;
+
+    @BeforeEach
+    void setup() {
+        userBatchService = new UserBatchServiceImpl(validator, userBatchJdbcRepository, passwordEncoder,
+                transactionManager, Executors.newFixedThreadPool(2), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userBatchService.shutdown();
+    }
+
+    private static UserRequest user(String email, String role) {
+        return UserRequest.builder()
+                .name("Cashier " + email)
+                .email(email)
+                .password("secret123")
+                .role(role)
+                .build();
+    }
+
+    @Test
+    void testCreateUsers_ShouldHashPasswordsAndInsertInChunks() {
+        List<UserEntity> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(userBatchJdbcRepository).insertUsers(anyList());
+
+        // Act
+        UserBatchResponse response = userBatchService.createUsers(List.of(
+                user("a@kp.com", "USER"), user("b@kp.com", "ROLE_USER"), user("c@kp.com", "admin")));
+
+        // Assert
+        assertEquals(3, response.getAccepted());
+        assertEquals(0, response.getRejected());
+        verify(userBatchJdbcRepository, times(2)).insertUsers(anyList());
+        assertEquals(List.of("ROLE_USER", "ROLE_USER", "ROLE_ADMIN"), inserted.stream().map(UserEntity::getRole).toList());
+        inserted.forEach(user -> assertTrue(passwordEncoder.matches("secret123", user.getPassword())));
+        for (int i = 0; i < 3; i++) {
+            UserBatchResponse.UserBatchResult result = response.getResults().get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(UserBatchResponse.Status.CREATED, result.getStatus());
+            assertEquals(inserted.get(i).getUserId(), result.getUserId());
+        }
+    }
+
+    @Test
+    void testCreateUsers_ShouldReportInvalidRows_AndDuplicateOrRegisteredEmails() {
+        UserRequest shortPassword = user("short@kp.com", "USER");
+        shortPassword.setPassword("123");
+        when(userBatchJdbcRepository.findExistingEmails(List.of("new@kp.com", "taken@kp.com")))
+                .thenReturn(Set.of("taken@kp.com"));
+
+        // Act
+        UserBatchResponse response = userBatchService.createUsers(List.of(
+                shortPassword, user("new@kp.com", "USER"), user("new@kp.com", "USER"),
+                user("taken@kp.com", "USER"), user("role@kp.com", "MANAGER")));
+
+        // Assert
+        assertEquals(1, response.getAccepted());
+        assertEquals(4, response.getRejected());
+        List<UserBatchResponse.UserBatchResult> results = response.getResults();
+        assertEquals("Password must be at least 6 characters long", results.get(0).getErrors().get("password"));
+        assertEquals(UserBatchResponse.Status.CREATED, results.get(1).getStatus());
+        assertEquals("Email appears more than once in this batch", results.get(2).getErrors().get("email"));
+        assertEquals("Email is already registered", results.get(3).getErrors().get("email"));
+        assertEquals("Role must be one of USER or ADMIN", results.get(4).getErrors().get("role"));
+        verify(userBatchJdbcRepository, times(1)).insertUsers(argThat((List<UserEntity> users) -> users.size() == 1));
+    }
+
+    @Test
+    void testCreateUsers_ShouldFailOnlyTheBrokenChunk_WhenInsertThrows() {
+        doThrow(new DataIntegrityViolationException("Duplicate entry"))
+                .doNothing()
+                .when(userBatchJdbcRepository).insertUsers(anyList());
+
+        // Act
+        UserBatchResponse response = userBatchService.createUsers(List.of(
+                user("a@kp.com", "USER"), user("b@kp.com", "USER"), user("c@kp.com", "USER")));
+
+        // Assert
+        assertEquals(UserBatchResponse.Status.FAILED, response.getResults().get(0).getStatus());
+        assertEquals(UserBatchResponse.Status.FAILED, response.getResults().get(1).getStatus());
+        assertEquals(UserBatchResponse.Status.CREATED, response.getResults().get(2).getStatus());
+        assertEquals(1, response.getAccepted());
+    }
+
+    @Test
+    void testCreateUsersFromCsv_ShouldReadQuotedFields_InAnyColumnOrder() {
+        String csv = "\uFEFFEmail,Name,Role,Password\r\n" +
+                "a@kp.com,\"Pawar, Kunal\",USER,secret123\r\n" +
+                "\r\n" +
+                "b@kp.com,\"The \"\"Night\"\" Shift\",ADMIN,\"pass,word\"\n";
+        List<UserEntity> inserted = new ArrayList<>();
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(userBatchJdbcRepository).insertUsers(anyList());
+
+        // Act
+        UserBatchResponse response = userBatchService.createUsersFromCsv(csv);
+
+        // Assert
+        assertEquals(2, response.getAccepted());
+        assertEquals("Pawar, Kunal", inserted.get(0).getName());
+        assertEquals("The \"Night\" Shift", inserted.get(1).getName());
+        assertEquals("ROLE_ADMIN", inserted.get(1).getRole());
+        assertTrue(passwordEncoder.matches("pass,word", inserted.get(1).getPassword()));
+    }
+
+    @Test
+    void testCreateUsersFromCsv_ShouldReportMissingFieldsPerRow() {
+        // Act
+        UserBatchResponse response = userBatchService.createUsersFromCsv("name,email,password,role\nOnly Name\n");
+
+        // Assert
+        UserBatchResponse.UserBatchResult result = response.getResults().get(0);
+        assertEquals(UserBatchResponse.Status.INVALID, result.getStatus());
+        assertEquals("Email is required", result.getErrors().get("email"));
+        verify(userBatchJdbcRepository, never()).insertUsers(anyList());
+    }
+
+    @Test
+    void testCreateUsersFromCsv_ShouldThrowBadRequest_WhenHeaderLacksAColumn() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> userBatchService.createUsersFromCsv("name,email,password\nA,a@kp.com,secret123\n"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(userBatchJdbcRepository);
+    }
+}
@@ -1,10 +1,12 @@
 package com.kunal.billingSoftware.service.impl;
 
+import com.kunal.billingSoftware.cache.UserPrincipalCache;
 import com.kunal.billingSoftware.entity.UserEntity;
 import com.kunal.billingSoftware.exceptions.ResourceNotFoundException;
 import com.kunal.billingSoftware.io.UserRequest;
 import com.kunal.billingSoftware.io.UserResponse;
 import com.kunal.billingSoftware.repository.UserRepository;
+import com.kunal.billingSoftware.service.RefreshTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +36,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     private UserServiceImpl userService;
     private UserEntity userEntity;
     private UserResponse userResponse;
@@ -44,7 +52,7 @@ class UserServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         // Explicit constructor injection
-        userService = new UserServiceImpl(userRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, userPrincipalCache, refreshTokenService);
 
         fixedTime = Timestamp.valueOf(LocalDateTime.of(2025, 10, 10, 10, 0));
 
@@ -176,6 +184,8 @@ class UserServiceImplTest {
         // Assert
         verify(userRepository, times(1)).findByUserId(userEntity.getUserId());
         verify(userRepository, times(1)).delete(userEntity);
+        verify(userPrincipalCache, times(1)).evict(userEntity.getEmail());
+        verify(refreshTokenService, times(1)).revokeAll(userEntity.getEmail());
     }
 
     @Test
@@ -190,5 +200,6 @@ class UserServiceImplTest {
         // Verify
         assertEquals("User not found with id: " + userId, exception.getMessage());
         verify(userRepository, never()).delete(any());
+        verify(userPrincipalCache, never()).evict(any());
     }
 }
\ No newline at end of file
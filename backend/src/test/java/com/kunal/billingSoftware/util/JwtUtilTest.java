@@ -0,0 +1,106 @@
+package com.kunal.billingSoftware.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long!!!!";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = new JwtUtil(SECRET);
+        userDetails = new User("kp@gmail.com", "", List.of());
+    }
+
+    @Test
+    void parseToken_ReturnsClaims_WhenTokenIsValid() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        TokenClaims claims = jwtUtil.parseToken(token);
+
+        assertNotNull(claims);
+        assertEquals("kp@gmail.com", claims.subject());
+        assertFalse(claims.refreshToken());
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt()));
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    void parseToken_ReturnsNull_WhenSignatureIsTampered() {
+        String token = jwtUtil.generateToken(userDetails);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replacement + token.substring(signatureStart + 1);
+
+        assertNull(jwtUtil.parseToken(tampered));
+        assertFalse(jwtUtil.validateToken(tampered, userDetails));
+    }
+
+    @Test
+    void parseToken_ReturnsNull_WhenTokenIsExpired() {
+        String expired = Jwts.builder()
+                .setSubject("kp@gmail.com")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 20_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 10_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertNull(jwtUtil.parseToken(expired));
+        assertFalse(jwtUtil.validateToken(expired, userDetails));
+    }
+
+    @Test
+    void parseToken_ReturnsNull_WhenTokenIsGarbage() {
+        assertNull(jwtUtil.parseToken("not-a-jwt"));
+        assertNull(jwtUtil.parseToken(""));
+    }
+
+    @Test
+    void validateToken_ReturnsFalse_WhenSubjectDoesNotMatch() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertFalse(jwtUtil.validateToken(token, new User("someone@else.com", "", List.of())));
+    }
+
+    @Test
+    void generateToken_EmbedsRole_WhenUserHasAuthority() {
+        UserDetails admin = new User("admin@gmail.com", "", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        TokenClaims claims = jwtUtil.parseToken(jwtUtil.generateToken(admin));
+
+        assertNotNull(claims);
+        assertEquals("ROLE_ADMIN", claims.role());
+    }
+
+    @Test
+    void generateRefreshToken_IsFlagged_AndNotValidAsAccessToken() {
+        jwtUtil = new JwtUtil(SECRET, Duration.ofMinutes(15), Duration.ofDays(7));
+        String refreshToken = jwtUtil.generateRefreshToken(userDetails, "token-1");
+
+        TokenClaims claims = jwtUtil.parseToken(refreshToken);
+
+        assertNotNull(claims);
+        assertTrue(claims.refreshToken());
+        assertEquals("token-1", claims.tokenId());
+        assertNull(claims.role());
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt().plus(Duration.ofDays(6))));
+        assertFalse(jwtUtil.validateToken(refreshToken, userDetails));
+    }
+}
@@ -0,0 +1,152 @@
+package com.kunal.billingSoftware.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void nextId_IsUniqueAndMonotonicPerThread_UnderConcurrentLoad() throws Exception {
+        OrderIdGenerator generator = new OrderIdGenerator(7, Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            start.countDown();
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1], "Ids must increase within a thread");
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i], "Duplicate order id " + all[i]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nextId_BorrowsNextMillisecond_WhenSequenceIsExhausted() {
+        OrderIdGenerator generator = new OrderIdGenerator(1, new MutableClock());
+        int perMillisecond = (int) OrderIdGenerator.SEQUENCE_MASK + 1;
+
+        long previous = generator.nextId();
+        for (int i = 1; i < perMillisecond * 3; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+
+        long firstTimestamp = timestampOf(generator.nextId()) - 3;
+        assertEquals(MutableClock.START.toEpochMilli() - OrderIdGenerator.EPOCH_MILLIS, firstTimestamp);
+    }
+
+    @Test
+    void nextId_StaysMonotonic_WhenClockMovesBackwards() {
+        MutableClock clock = new MutableClock();
+        OrderIdGenerator generator = new OrderIdGenerator(1, clock);
+
+        long beforeStep = generator.nextId();
+        clock.now = clock.now.minusSeconds(5);
+        long afterStep = generator.nextId();
+
+        assertTrue(afterStep > beforeStep);
+        assertEquals(timestampOf(beforeStep), timestampOf(afterStep));
+    }
+
+    @Test
+    void nextId_DiffersAcrossNodes_InTheSameMillisecond() {
+        MutableClock clock = new MutableClock();
+        OrderIdGenerator nodeA = new OrderIdGenerator(1, clock);
+        OrderIdGenerator nodeB = new OrderIdGenerator(2, clock);
+
+        long a = nodeA.nextId();
+        long b = nodeB.nextId();
+
+        assertNotEquals(a, b);
+        assertEquals(timestampOf(a), timestampOf(b));
+    }
+
+    @Test
+    void nextOrderId_IsFixedWidth_SoStringOrderMatchesCreationOrder() {
+        MutableClock clock = new MutableClock();
+        OrderIdGenerator generator = new OrderIdGenerator(3, clock);
+
+        String first = generator.nextOrderId();
+        clock.now = clock.now.plusSeconds(60);
+        String second = generator.nextOrderId();
+
+        assertTrue(first.startsWith("ORD"));
+        assertEquals(22, first.length());
+        assertEquals(first.length(), second.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertEquals("ORD0000000000000000042", OrderIdGenerator.format(42));
+    }
+
+    @Test
+    void constructor_RejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(-1, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderIdGenerator(OrderIdGenerator.MAX_NODE_ID + 1, Clock.systemUTC()));
+    }
+
+    private static long timestampOf(long id) {
+        return id >>> (OrderIdGenerator.NODE_BITS + OrderIdGenerator.SEQUENCE_BITS);
+    }
+
+    private static class MutableClock extends Clock {
+        static final Instant START = Instant.parse("2025-10-10T10:00:00Z");
+        private Instant now = START;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kunal.billingSoftware.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Stripe API's {@code POST /v1/checkout/sessions}: answers every request with a new
+ * checkout session after a fixed {@code latency}, so load tests see Stripe's round trip without the network.
+ * Each request is served on its own virtual thread, so the stub is never what runs out of threads. Point the
+ * application at it with {@code stripe.api-base=}{@link #baseUrl()}.
+ */
+public class StripeApiStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+    private final AtomicLong sessionSequence = new AtomicLong();
+
+    public StripeApiStub(Duration latency) throws IOException {
+        this.latency = latency;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v1/checkout/sessions", this::createSession);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long sessionsCreated() {
+        return sessionSequence.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String id = "cs_test_" + sessionSequence.incrementAndGet();
+        byte[] session = ("{\"id\":\"" + id + "\"," +
+                "\"object\":\"checkout.session\"," +
+                "\"mode\":\"payment\"," +
+                "\"status\":\"open\"," +
+                "\"url\":\"https://checkout.stripe.com/c/pay/" + id + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Request-Id", "req_" + id);
+        exchange.sendResponseHeaders(200, session.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(session);
+        }
+    }
+}
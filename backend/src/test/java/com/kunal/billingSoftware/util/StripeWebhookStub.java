@@ -0,0 +1,71 @@
+package com.kunal.billingSoftware.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Stripe's webhook sender: builds payment_intent events and signs them the way Stripe
+ * does (HMAC-SHA256 over "timestamp.payload", sent as {@code Stripe-Signature: t=...,v1=...}).
+ */
+public class StripeWebhookStub {
+
+    public static final String SIGNATURE_HEADER = "Stripe-Signature";
+
+    private final String secret;
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    public StripeWebhookStub(String secret) {
+        this.secret = secret;
+    }
+
+    public String paymentIntentEvent(String type, String orderId, String paymentIntentId, String paymentMethodId) {
+        String metadata = orderId == null ? "{}" : "{\"orderId\":\"" + orderId + "\"}";
+        return "{\"id\":\"evt_" + eventSequence.incrementAndGet() + "\"," +
+                "\"object\":\"event\"," +
+                "\"type\":\"" + type + "\"," +
+                "\"created\":" + Instant.now().getEpochSecond() + "," +
+                "\"data\":{\"object\":{" +
+                "\"id\":\"" + paymentIntentId + "\"," +
+                "\"object\":\"payment_intent\"," +
+                "\"payment_method\":\"" + paymentMethodId + "\"," +
+                "\"metadata\":" + metadata + "}}}";
+    }
+
+    public String sign(String payload) {
+        return sign(payload, Instant.now().getEpochSecond());
+    }
+
+    public String sign(String payload, long timestampSeconds) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal((timestampSeconds + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestampSeconds + ",v1=" + HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Posts a signed event to a running instance, e.g. http://localhost:8080/api/v1.0/webhooks/stripe.
+     */
+    public int send(URI endpoint, String payload) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .header(SIGNATURE_HEADER, sign(payload))
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -93,9 +93,10 @@ const CartSummary = ({
           // 1. Ask backend to create Checkout Session
           // console.log("Requesting Stripe Checkout session from backend...");
 
+          // The backend charges the order's stored total; only the order id is needed
           const stripeResponse = await createStripeOrder({
-            amount: grandTotal,
             currency: "inr",
+            orderId: savedOrder.orderId,
           });
 
           // console.log("Stripe response received:", stripeResponse);
@@ -59,7 +59,7 @@ const CategoryList = () => {
               <div className="d-flex align-items-center">
                 <div style={{ marginRight: "15px" }}>
                   <img
-                    src={`public/${category.imageUrl}`}
+                    src={`public/${category.thumbnailUrl || category.imageUrl}`}
                     alt={category.name}
                     className="category-image"
                   />
@@ -35,7 +35,7 @@ const DisplayCategory = ({
         >
           <Category
             categoryName={category.name}
-            imageUrl={category.imageUrl}
+            imageUrl={category.thumbnailUrl || category.imageUrl}
             numberOfItems={category.items}
             bgColor={category.bgColor}
             isSelected={selectedCategory == category.categoryId}
@@ -1,21 +1,43 @@
-import React, { useContext, useState } from "react";
+import React, { useContext, useEffect, useState } from "react";
 import "./DisplayItems.css";
 import { AppContext } from "../../context/AppContext";
 import Item from "../Item/Item";
 import SearchBox from "../SearchBox/SearchBox";
+import { searchItems } from "../../service/ItemService";
+
+const SEARCH_DELAY_MS = 150;
 
 const DisplayItems = ({ selectedCategory }) => {
   const { items } = useContext(AppContext);
   const [searchTxt, setSearchTxt] = useState("");
+  const [searchResults, setSearchResults] = useState(null);
+
+  // Search runs on the server; wait for a pause in typing and ignore responses to outdated queries
+  useEffect(() => {
+    const query = searchTxt.trim();
+    if (!query) {
+      setSearchResults(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await searchItems(query);
+        if (!cancelled) setSearchResults(response.data);
+      } catch (error) {
+        console.error(error);
+      }
+    }, SEARCH_DELAY_MS);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTxt]);
 
-  const filteredItems = items
-    .filter((item) => {
-      if (!selectedCategory) return true;
-      return item.categoryId == selectedCategory;
-    })
-    .filter((item) =>
-      item.name.toLowerCase().includes(searchTxt.toLowerCase())
-    );
+  const filteredItems = (searchResults ?? items).filter((item) => {
+    if (!selectedCategory) return true;
+    return item.categoryId == selectedCategory;
+  });
 
   return (
     <div className="p-3">
@@ -31,7 +53,7 @@ const DisplayItems = ({ selectedCategory }) => {
             <Item
               itemName={item.name}
               itemPrice={item.price}
-              itemImage={item.imageUrl}
+              itemImage={item.thumbnailUrl || item.imageUrl}
               itemId={item.itemId}
             />
           </div>
@@ -54,7 +54,7 @@ const ItemsList = () => {
               <div className="d-flex align-items-center">
                 <div style={{ marginRight: "15px" }}>
                   <img
-                    src={`public/${item.imageUrl}`}
+                    src={`public/${item.thumbnailUrl || item.imageUrl}`}
                     alt={item.name}
                     className="item-image"
                   />
@@ -1,25 +1,29 @@
 import React, { useEffect, useState } from "react";
 import "./OrderHistory.css";
 import toast from "react-hot-toast";
-import { latestOrders } from "../../service/OrderService";
+import { orderHistory } from "../../service/OrderService";
 
 const OrderHistory = () => {
   const [orders, setOrders] = useState([]);
   const [loading, setLoading] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
+
+  const fetchOrders = async (cursor) => {
+    try {
+      setLoading(true);
+      const response = await orderHistory(cursor);
+      setOrders((prev) => (cursor ? [...prev, ...response.data.orders] : response.data.orders));
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      toast.error("Unable to fetch orders");
+      console.error(error);
+    } finally {
+      setLoading(false);
+    }
+  };
 
   useEffect(() => {
-    const fetchOrders = async () => {
-      try {
-        const response = await latestOrders();
-        setOrders(response.data);
-      } catch (error) {
-        toast.error();
-        console.error(error);
-      } finally {
-        setLoading(false);
-      }
-    };
-    fetchOrders();
+    fetchOrders(null);
   }, []);
 
   const formatItems = (items) => {
@@ -38,7 +42,7 @@ const OrderHistory = () => {
     return new Date(dateString).toLocaleDateString("en-US", options);
   };
 
-  if (loading) {
+  if (loading && orders.length === 0) {
     return <div className="text-center py-4">Loading orders...</div>;
   }
 
@@ -91,6 +95,18 @@ const OrderHistory = () => {
           </tbody>
         </table>
       </div>
+
+      {nextCursor && (
+        <div className="text-center">
+          <button
+            className="btn btn-warning"
+            disabled={loading}
+            onClick={() => fetchOrders(nextCursor)}
+          >
+            {loading ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
@@ -16,4 +16,10 @@ export const fetchItems = async () => {
     return await axios.get(`http://localhost:8080/api/v1.0/items`, {
         headers: { Authorization: `Bearer ${localStorage.getItem("token")}` }
     });
-}
\ No newline at end of file
+}
+export const searchItems = async (query, limit = 50) => {
+    return await axios.get(`http://localhost:8080/api/v1.0/items/search`, {
+        params: { q: query, limit },
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` }
+    });
+}
@@ -6,6 +6,13 @@ export const latestOrders = async () => {
     });
 }
 
+export const orderHistory = async (cursor, size = 20) => {
+    return await axios.get("http://localhost:8080/api/v1.0/orders/history", {
+        params: { cursor, size },
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` }
+    });
+}
+
 export const createOrder = async (order) => {
     return axios.post(
         "http://localhost:8080/api/v1.0/orders",